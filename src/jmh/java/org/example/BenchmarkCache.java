@@ -0,0 +1,73 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mensagem montada a cada chamada contra a mensagem vinda do cache, com pares repetidos
+ *
+ * {@code distintos} controla quantos pares (Beta hCG, DUM) diferentes circulam; com mais pares
+ * que a capacidade do cache, parte das consultas passa a ser falha.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class BenchmarkCache {
+
+    private static final int CAPACIDADE = 4096;
+
+    @Param({"256", "65536"})
+    public int distintos;
+
+    private final CalculadoraIdadeGestacional original = new CalculadoraIdadeGestacional();
+    private CalculadoraComCache comCache;
+    private final int hojeEpochDia = (int) LocalDate.now().toEpochDay();
+    private double[] valores;
+    private int[] dums;
+
+    @State(Scope.Thread)
+    public static class Posicao {
+        int indice;
+    }
+
+    @Setup
+    public void preparar() {
+        comCache = new CalculadoraComCache(CAPACIDADE);
+        java.util.Random aleatorio = new java.util.Random(42);
+        valores = new double[distintos];
+        dums = new int[distintos];
+        for (int i = 0; i < distintos; i++) {
+            valores[i] = 25 + aleatorio.nextInt(250_000);
+            dums[i] = hojeEpochDia - 21 - aleatorio.nextInt(100);
+        }
+    }
+
+    @Benchmark
+    public String semCache(Posicao posicao) {
+        int i = posicao.indice++ & (distintos - 1);
+        return original.calcularIdadeGestacional(valores[i], dums[i], hojeEpochDia);
+    }
+
+    @Benchmark
+    public String comCache(Posicao posicao) {
+        int i = posicao.indice++ & (distintos - 1);
+        return comCache.calcularIdadeGestacional(valores[i], dums[i], hojeEpochDia);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chamadas individuais da {@link CalculadoraIdadeGestacional}, uma medição por ramo do resultado
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkCalculadora {
+
+    /**
+     * Cenários de entrada: valor de Beta hCG e semanas desde a DUM
+     */
+    public enum Cenario {
+        NEGATIVO(10.0, 6),
+        FORA_DO_INTERVALO(100.0, 20),
+        COMPATIVEL(20000.0, 6),
+        ABAIXO_DO_ESPERADO(500.0, 6),
+        ACIMA_DO_ESPERADO(50000.0, 5);
+
+        final double betaHcg;
+        final int semanas;
+
+        Cenario(double betaHcg, int semanas) {
+            this.betaHcg = betaHcg;
+            this.semanas = semanas;
+        }
+    }
+
+    @Param
+    public Cenario cenario;
+
+    private final CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+    private final CalculadoraIdadeGestacional calculadoraDiaFixo =
+            new CalculadoraIdadeGestacional(ContextoAvaliacao.sistema().fixar());
+    private double betaHcg;
+    private Date ultimaMenstruacao;
+    private int dumEpochDia;
+
+    @Setup
+    public void preparar() {
+        betaHcg = cenario.betaHcg;
+        // Meio da semana, para que a idade gestacional não mude durante a medição
+        long dias = cenario.semanas * 7L + 3;
+        ultimaMenstruacao = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(dias));
+        dumEpochDia = calculadoraDiaFixo.contexto().hojeEpochDia() - (int) dias;
+    }
+
+    @Benchmark
+    public String calcularIdadeGestacional() {
+        return calculadora.calcularIdadeGestacional(betaHcg, ultimaMenstruacao);
+    }
+
+    @Benchmark
+    public ResultadoClassificacao classificar() {
+        return calculadora.classificar(betaHcg, ultimaMenstruacao);
+    }
+
+    @Benchmark
+    public ResultadoClassificacao classificarDiaFixo() {
+        return calculadoraDiaFixo.classificar(betaHcg, ultimaMenstruacao);
+    }
+
+    @Benchmark
+    public ResultadoClassificacao classificarEpochDiaFixo() {
+        return calculadoraDiaFixo.classificar(betaHcg, dumEpochDia);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a cadeia de desvios de {@code classificarCodigo} com o {@link ClassificadorCompilado}
+ *
+ * Os valores e as semanas são sorteados de modo que todas as classificações apareçam. O lote é
+ * grande o bastante para que o preditor de desvios do processador não memorize a sequência, o que
+ * aconteceria com alguns milhares de elementos repetidos a cada invocação.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkClassificadorCompilado {
+
+    private static final int QUANTIDADE = 1 << 16;
+
+    private final TabelaReferencia tabela = CalculadoraIdadeGestacional.TABELA_PADRAO;
+    private final ClassificadorCompilado compilado = ClassificadorCompilado.compilar(tabela);
+    private final CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+    private double[] valores;
+    private int[] dums;
+    private long[] semanasSorteadas;
+    private byte[] codigos;
+    private int[] semanas;
+    private int hojeEpochDia;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        hojeEpochDia = calculadora.contexto().hojeEpochDia();
+        valores = new double[QUANTIDADE];
+        dums = new int[QUANTIDADE];
+        semanasSorteadas = new long[QUANTIDADE];
+        codigos = new byte[QUANTIDADE];
+        semanas = new int[QUANTIDADE];
+        for (int i = 0; i < QUANTIDADE; i++) {
+            valores[i] = Math.pow(10, aleatorio.nextDouble() * 6);
+            semanasSorteadas[i] = 1 + aleatorio.nextInt(18);
+            dums[i] = hojeEpochDia - (int) semanasSorteadas[i] * 7 - aleatorio.nextInt(7);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public int codigoOriginal() {
+        int soma = 0;
+        for (int i = 0; i < QUANTIDADE; i++) {
+            soma += CalculadoraIdadeGestacional.classificarCodigo(tabela, valores[i], semanasSorteadas[i]);
+        }
+        return soma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public int codigoCompilado() {
+        int soma = 0;
+        for (int i = 0; i < QUANTIDADE; i++) {
+            soma += compilado.classificarCodigo(valores[i], semanasSorteadas[i]);
+        }
+        return soma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public byte[] loteOriginal() {
+        for (int i = 0; i < QUANTIDADE; i++) {
+            int dum = dums[i];
+            double valor = valores[i];
+            if (dum == CalculadoraIdadeGestacional.DUM_NAO_INFORMADA) {
+                codigos[i] = Classificacao.DUM_NAO_INFORMADA.codigo();
+                semanas[i] = CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS;
+            } else if (valor < 0) {
+                codigos[i] = Classificacao.VALOR_INVALIDO.codigo();
+                semanas[i] = CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS;
+            } else {
+                int semanasGestacionais = (int) (((long) hojeEpochDia - dum) / 7);
+                codigos[i] = CalculadoraIdadeGestacional.classificarCodigo(tabela, valor, semanasGestacionais);
+                semanas[i] = semanasGestacionais;
+            }
+        }
+        return codigos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public byte[] loteCompilado() {
+        compilado.classificarLote(valores, dums, 0, QUANTIDADE, hojeEpochDia, codigos, semanas);
+        return codigos;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta inversa valor → semanas: varredura de todas as faixas contra o {@link IndiceReversoFaixas}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkIndiceReverso {
+
+    private static final int QUANTIDADE = 1024;
+
+    /** 14 reproduz a tabela padrão; os demais tamanhos simulam tabelas personalizadas maiores */
+    @Param({"14", "1000"})
+    public int semanas;
+
+    private TabelaReferencia tabela;
+    private IndiceReversoFaixas indice;
+    private double[] valores;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        if (semanas == 14) {
+            tabela = CalculadoraIdadeGestacional.TABELA_PADRAO;
+        } else {
+            double[][] faixas = new double[semanas][];
+            for (int i = 0; i < semanas; i++) {
+                double minimo = aleatorio.nextInt(200000);
+                faixas[i] = new double[]{i, minimo, minimo + aleatorio.nextInt(100000)};
+            }
+            tabela = TabelaReferencia.compilar(faixas);
+        }
+        indice = IndiceReversoFaixas.construir(tabela);
+        valores = new double[QUANTIDADE];
+        for (int i = 0; i < QUANTIDADE; i++) {
+            valores[i] = aleatorio.nextDouble() * 300000;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public long varreduraLinear() {
+        long soma = 0;
+        for (double valor : valores) {
+            for (int semana = tabela.semanaInicial(); semana <= tabela.semanaFinal(); semana++) {
+                if (tabela.possuiFaixa(semana) && valor >= tabela.minimo(semana) && valor <= tabela.maximo(semana)) {
+                    soma += semana;
+                }
+            }
+        }
+        return soma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public long indiceReverso() {
+        long soma = 0;
+        for (double valor : valores) {
+            SemanasCompativeis compativeis = indice.consultar(valor);
+            soma += compativeis.intervalos().size();
+        }
+        return soma;
+    }
+}
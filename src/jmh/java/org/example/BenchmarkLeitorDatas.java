@@ -0,0 +1,99 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura de DUM em dd/MM/yyyy: {@link SimpleDateFormat} (como no Main), {@link DateTimeFormatter}
+ * (como no processamento em lote antes do {@link LeitorDatas}) e {@link LeitorDatas} sobre String e bytes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkLeitorDatas {
+
+    private static final int QUANTIDADE = 1024;
+    private static final int TAMANHO_DATA = 10;
+
+    /** SimpleDateFormat não é thread-safe: uma instância por thread de benchmark */
+    private final SimpleDateFormat formatoSimples = new SimpleDateFormat("dd/MM/yyyy");
+    private static final DateTimeFormatter FORMATO =
+            DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT);
+
+    private String[] datas;
+    private byte[] bytes;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        datas = new String[QUANTIDADE];
+        StringBuilder todas = new StringBuilder(QUANTIDADE * TAMANHO_DATA);
+        for (int i = 0; i < QUANTIDADE; i++) {
+            datas[i] = LocalDate.of(2024, 1, 1).plusDays(aleatorio.nextInt(1000)).format(formato);
+            todas.append(datas[i]);
+        }
+        bytes = todas.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public long simpleDateFormat() throws ParseException {
+        long soma = 0;
+        for (String data : datas) {
+            soma += formatoSimples.parse(data).getTime();
+        }
+        return soma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public long dateTimeFormatter() {
+        long soma = 0;
+        for (String data : datas) {
+            soma += LocalDate.parse(data, FORMATO).toEpochDay();
+        }
+        return soma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public long leitorDatasTexto() {
+        long soma = 0;
+        for (String data : datas) {
+            soma += LeitorDatas.lerEpochDia(data);
+        }
+        return soma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public long leitorDatasBytes() {
+        long soma = 0;
+        for (int inicio = 0; inicio < bytes.length; inicio += TAMANHO_DATA) {
+            soma += LeitorDatas.lerEpochDia(bytes, inicio, inicio + TAMANHO_DATA);
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * APIs de lote sobre uma mistura aleatória de todos os ramos; os resultados são por linha
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BenchmarkLote {
+
+    static final int QUANTIDADE = 4096;
+
+    private final CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+    private final int hojeEpochDia = (int) LocalDate.now().toEpochDay();
+    private final double[] valores = new double[QUANTIDADE];
+    private final int[] dums = new int[QUANTIDADE];
+    private final byte[] codigos = new byte[QUANTIDADE];
+    private final int[] semanas = new int[QUANTIDADE];
+    private final EstatisticasSemanais estatisticas = new EstatisticasSemanais();
+    private String csv;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        StringBuilder texto = new StringBuilder("paciente;betaHcg;dum\n");
+        for (int i = 0; i < QUANTIDADE; i++) {
+            valores[i] = aleatorio.nextDouble() * 300000;
+            dums[i] = hojeEpochDia - aleatorio.nextInt(20 * 7);
+            texto.append('p').append(i).append(';').append(valores[i]).append(';')
+                    .append(LocalDate.ofEpochDay(dums[i]).format(formato)).append('\n');
+        }
+        csv = texto.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public byte[] classificarLote() {
+        calculadora.classificarLote(valores, dums, hojeEpochDia, codigos, semanas);
+        return codigos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public byte[] classificarLoteVetorial() {
+        calculadora.classificarLoteVetorial(valores, dums, hojeEpochDia, codigos, semanas);
+        return codigos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public byte[] classificarLotePorDia() {
+        calculadora.classificarLotePorDia(valores, dums, 0, QUANTIDADE, hojeEpochDia, codigos, semanas);
+        return codigos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public EstatisticasSemanais classificarLoteComEstatisticas() {
+        calculadora.classificarLote(valores, dums, hojeEpochDia, codigos, semanas);
+        estatisticas.aceitar(0, valores, dums, codigos, semanas, QUANTIDADE);
+        return estatisticas;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public long processarCsv() throws IOException {
+        return new ProcessadorLoteCsv(calculadora).processar(new StringReader(csv), Writer.nullWriter());
+    }
+}
@@ -0,0 +1,49 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem da mensagem de um resultado compatível: String.format contra os modelos pré-definidos
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkMensagem {
+
+    private final ResultadoClassificacao resultado =
+            new CalculadoraIdadeGestacional().classificar(20000.4, 20000 - 45, 20000);
+    private final StringBuilder buffer = new StringBuilder(256);
+
+    @Benchmark
+    public String stringFormat() {
+        return "Resultado positivo compatível com a idade gestacional: o valor de hCG (" +
+                String.format("%.1f", resultado.betaHcg()) + " mUI/mL) está dentro do intervalo esperado para " +
+                resultado.semanasGestacionais() + " semanas de gestação (" +
+                String.format("%.0f", resultado.valorMinimo()) + "-" +
+                String.format("%.0f", resultado.valorMaximo()) + " mUI/mL).";
+    }
+
+    @Benchmark
+    public String modelo() {
+        return resultado.mensagem();
+    }
+
+    @Benchmark
+    public StringBuilder modeloBufferReaproveitado() {
+        buffer.setLength(0);
+        return resultado.anexarMensagem(buffer);
+    }
+}
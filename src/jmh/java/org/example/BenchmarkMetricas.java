@@ -0,0 +1,65 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da instrumentação: calculadora original contra a instrumentada com métricas desligadas e ligadas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkMetricas {
+
+    public enum Modo { ORIGINAL, DESLIGADA, LIGADA }
+
+    @Param
+    public Modo modo;
+
+    private CalculadoraIdadeGestacional calculadora;
+    private final int hojeEpochDia = (int) LocalDate.now().toEpochDay();
+    private final int dumEpochDia = hojeEpochDia - 45;
+    private final double[] valores = new double[BenchmarkLote.QUANTIDADE];
+    private final int[] dums = new int[BenchmarkLote.QUANTIDADE];
+    private final byte[] codigos = new byte[BenchmarkLote.QUANTIDADE];
+    private final int[] semanas = new int[BenchmarkLote.QUANTIDADE];
+
+    @Setup
+    public void preparar() {
+        if (modo == Modo.ORIGINAL) {
+            calculadora = new CalculadoraIdadeGestacional();
+        } else {
+            MetricasClassificacao metricas = new MetricasClassificacao();
+            metricas.setAtivo(modo == Modo.LIGADA);
+            calculadora = new CalculadoraInstrumentada(metricas);
+        }
+        java.util.Arrays.fill(valores, 20000.0);
+        java.util.Arrays.fill(dums, dumEpochDia);
+    }
+
+    @Benchmark
+    public ResultadoClassificacao classificar() {
+        return calculadora.classificar(20000.0, dumEpochDia, hojeEpochDia);
+    }
+
+    @Benchmark
+    public byte[] classificarLote() {
+        calculadora.classificarLote(valores, dums, hojeEpochDia, codigos, semanas);
+        return codigos;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a busca linear sobre as faixas em double[][] com a consulta direta da {@link TabelaReferencia}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkTabelaReferencia {
+
+    private static final int QUANTIDADE = 1024;
+
+    /** Cópia das faixas no formato original, percorridas como antes da tabela compilada */
+    private static final double[][] FAIXAS = {
+            {3, 5, 50}, {4, 5, 426}, {5, 18, 7340}, {6, 1080, 56500}, {7, 7650, 229000},
+            {8, 7650, 229000}, {9, 25700, 288000}, {10, 25700, 288000}, {11, 25700, 288000},
+            {12, 25700, 288000}, {13, 13300, 254000}, {14, 13300, 254000}, {15, 13300, 254000},
+            {16, 13300, 254000}
+    };
+
+    private final TabelaReferencia tabela = CalculadoraIdadeGestacional.TABELA_PADRAO;
+    private long[] semanas;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        semanas = new long[QUANTIDADE];
+        for (int i = 0; i < QUANTIDADE; i++) {
+            semanas[i] = 3 + aleatorio.nextInt(14);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public double buscaLinear() {
+        double soma = 0;
+        for (long semana : semanas) {
+            double[] faixaAtual = null;
+            for (double[] faixa : FAIXAS) {
+                if (faixa[0] == semana) {
+                    faixaAtual = faixa;
+                    break;
+                }
+            }
+            soma += faixaAtual[1] + faixaAtual[2];
+        }
+        return soma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public double consultaDireta() {
+        double soma = 0;
+        for (long semana : semanas) {
+            soma += tabela.minimo(semana) + tabela.maximo(semana);
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do benchmarks.jar
+ *
+ * Aceita as mesmas opções do JMH e sempre acrescenta o profiler de GC, de modo que todo
+ * relatório inclua a taxa de alocação ({@code gc.alloc.rate.norm}) ao lado de ops/s.
+ *
+ * Uso: {@code java -jar target/benchmarks.jar [opções do JMH] [regex dos benchmarks]}
+ */
+public class ExecutorBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linhaComando = new CommandLineOptions(args);
+        if (linhaComando.shouldHelp() || linhaComando.shouldList() || linhaComando.shouldListWithParams()
+                || linhaComando.shouldListProfilers() || linhaComando.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        Options opcoes = new OptionsBuilder()
+                .parent(linhaComando)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opcoes).run();
+    }
+}
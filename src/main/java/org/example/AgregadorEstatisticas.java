@@ -0,0 +1,54 @@
+package org.example;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * {@link ConsumidorLote} que pode ser chamado por várias threads ao mesmo tempo, com uma
+ * {@link EstatisticasSemanais} parcial por thread
+ *
+ * Cada thread registra apenas na própria parcial, sem locks nem escritas compartilhadas; as
+ * parciais são combinadas em {@link #consolidar()}. Pensado para os pools de classificação em
+ * lote, em que poucas threads processam muitos blocos. A consolidação deve ser chamada depois que
+ * o processamento terminou (após o {@code join} das tarefas), quando as parciais não mudam mais.
+ */
+public final class AgregadorEstatisticas implements ConsumidorLote {
+
+    private final Queue<EstatisticasSemanais> parciais = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<EstatisticasSemanais> parcialDaThread = ThreadLocal.withInitial(() -> {
+        EstatisticasSemanais parcial = new EstatisticasSemanais();
+        parciais.add(parcial);
+        return parcial;
+    });
+
+    /**
+     * @return parcial da thread atual, criada no primeiro uso
+     */
+    public EstatisticasSemanais parcial() {
+        return parcialDaThread.get();
+    }
+
+    @Override
+    public void aceitar(long primeiro, double[] betaHcg, int[] dumEpochDias, byte[] codigos, int[] semanas,
+                        int quantidade) {
+        parcialDaThread.get().aceitar(primeiro, betaHcg, dumEpochDias, codigos, semanas, quantidade);
+    }
+
+    /**
+     * @return nova estatística com a soma de todas as parciais
+     */
+    public EstatisticasSemanais consolidar() {
+        EstatisticasSemanais total = new EstatisticasSemanais();
+        for (EstatisticasSemanais parcial : parciais) {
+            total.mesclar(parcial);
+        }
+        return total;
+    }
+
+    /**
+     * @return quantidade de threads que já registraram resultados
+     */
+    public int quantidadeParciais() {
+        return parciais.size();
+    }
+}
@@ -0,0 +1,199 @@
+package org.example;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Análise seriada do Beta hCG: tempo de duplicação e aumento percentual por paciente, em uma única passada
+ *
+ * Cada coleta é comparada com a anterior da mesma paciente. O aumento mínimo esperado é de
+ * {@value #AUMENTO_MINIMO_48H_PERCENTUAL}% em 48 horas, ajustado exponencialmente para outros
+ * intervalos; aumentos menores e quedas são marcados como anormais. Além da comparação com a
+ * coleta anterior, mantém uma regressão log-linear incremental sobre todas as coletas da paciente,
+ * da qual sai o tempo de duplicação do histórico.
+ *
+ * O estado por paciente tem tamanho fixo (última coleta e somas da regressão), independentemente
+ * da quantidade de coletas. Pacientes sem coleta há mais de {@code inatividadeMaximaMillis}, medidos
+ * pelo relógio das próprias coletas, são descartados, assim como as menos recentes quando o número
+ * de pacientes ativas passa de {@code maximoPacientes}. Assim a análise roda sobre anos de
+ * dados com memória limitada, desde que as coletas cheguem aproximadamente em ordem de tempo.
+ *
+ * Não é thread-safe; para paralelizar, particione o fluxo por paciente.
+ */
+public class AnalisadorDuplicacao {
+
+    /** Aumento mínimo esperado em 48 horas no início da gestação, em % */
+    public static final double AUMENTO_MINIMO_48H_PERCENTUAL = 35;
+
+    private static final double MILLIS_POR_HORA = 3_600_000.0;
+    private static final double LOG_AUMENTO_MINIMO_POR_HORA = Math.log1p(AUMENTO_MINIMO_48H_PERCENTUAL / 100) / 48;
+    private static final double LN2 = Math.log(2);
+
+    /**
+     * Estado de tamanho fixo de uma paciente. Os tempos da regressão são horas desde a primeira coleta,
+     * para manter a precisão das somas.
+     */
+    private static final class Estado {
+        final long primeiroInstante;
+        long ultimoInstante;
+        double ultimoValor;
+        int coletas;
+        double somaT;
+        double somaY;
+        double somaTT;
+        double somaTY;
+
+        Estado(long instante) {
+            primeiroInstante = instante;
+        }
+
+        void acumular(long instante, double valor) {
+            double t = (instante - primeiroInstante) / MILLIS_POR_HORA;
+            double y = Math.log(valor);
+            coletas++;
+            somaT += t;
+            somaY += y;
+            somaTT += t * t;
+            somaTY += t * y;
+            ultimoInstante = instante;
+            ultimoValor = valor;
+        }
+
+        /**
+         * Tempo de duplicação pela inclinação da reta de ln(hCG) contra o tempo
+         */
+        double tempoDuplicacaoHistorico() {
+            double denominador = coletas * somaTT - somaT * somaT;
+            if (coletas < 2 || denominador <= 0) {
+                return Double.NaN;
+            }
+            double inclinacao = (coletas * somaTY - somaT * somaY) / denominador;
+            return inclinacao > 0 ? LN2 / inclinacao : Double.NaN;
+        }
+    }
+
+    private final int maximoPacientes;
+    private final long inatividadeMaximaMillis;
+    private final LinkedHashMap<Long, Estado> pacientes;
+    private long descartadas;
+
+    /**
+     * @param maximoPacientes quantidade máxima de pacientes mantidas em memória
+     * @param inatividadeMaximaMillis tempo sem coletas após o qual a paciente é descartada
+     */
+    public AnalisadorDuplicacao(int maximoPacientes, long inatividadeMaximaMillis) {
+        if (maximoPacientes <= 0) {
+            throw new IllegalArgumentException("Máximo de pacientes deve ser positivo: " + maximoPacientes);
+        }
+        if (inatividadeMaximaMillis <= 0) {
+            throw new IllegalArgumentException("Inatividade máxima deve ser positiva: " + inatividadeMaximaMillis);
+        }
+        this.maximoPacientes = maximoPacientes;
+        this.inatividadeMaximaMillis = inatividadeMaximaMillis;
+        // Ordem de inserção, com a paciente reinserida no fim a cada coleta aceita: a primeira entrada é
+        // a paciente sem coleta aceita há mais tempo. Consultas, coletas fora de ordem e valores inválidos
+        // não mudam a posição, senão uma paciente inativa ficaria atrás de ativas e escaparia do descarte.
+        this.pacientes = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Estado> maisAntiga) {
+                if (size() > AnalisadorDuplicacao.this.maximoPacientes) {
+                    descartadas++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Analisa uma coleta e atualiza o histórico da paciente
+     *
+     * @param pacienteId identificador da paciente
+     * @param instanteMillis instante da coleta em milissegundos desde 01/01/1970
+     * @param betaHcg valor do Beta hCG em mUI/ml
+     */
+    public AvaliacaoSerial avaliar(long pacienteId, long instanteMillis, double betaHcg) {
+        descartarInativas(instanteMillis);
+        Estado estado = pacientes.get(pacienteId);
+
+        if (!(betaHcg > 0) || Double.isInfinite(betaHcg)) {
+            return new AvaliacaoSerial(pacienteId, TendenciaHcg.VALOR_INVALIDO, Double.NaN, Double.NaN, Double.NaN,
+                    estado == null ? Double.NaN : estado.tempoDuplicacaoHistorico(),
+                    estado == null ? 0 : estado.coletas);
+        }
+
+        if (estado == null) {
+            estado = new Estado(instanteMillis);
+            estado.acumular(instanteMillis, betaHcg);
+            pacientes.put(pacienteId, estado);
+            return new AvaliacaoSerial(pacienteId, TendenciaHcg.PRIMEIRA_MEDICAO, Double.NaN, Double.NaN, Double.NaN,
+                    Double.NaN, 1);
+        }
+
+        if (instanteMillis <= estado.ultimoInstante) {
+            return new AvaliacaoSerial(pacienteId, TendenciaHcg.INTERVALO_INVALIDO, Double.NaN, Double.NaN,
+                    Double.NaN, estado.tempoDuplicacaoHistorico(), estado.coletas);
+        }
+
+        double horas = (instanteMillis - estado.ultimoInstante) / MILLIS_POR_HORA;
+        double logRazao = Math.log(betaHcg / estado.ultimoValor);
+        double aumentoPercentual = Math.expm1(logRazao) * 100;
+        double tempoDuplicacao = logRazao > 0 ? horas * LN2 / logRazao : Double.NaN;
+
+        TendenciaHcg tendencia;
+        if (logRazao < 0) {
+            tendencia = TendenciaHcg.QUEDA;
+        } else if (logRazao < LOG_AUMENTO_MINIMO_POR_HORA * horas) {
+            tendencia = TendenciaHcg.AUMENTO_ABAIXO_DO_ESPERADO;
+        } else {
+            tendencia = TendenciaHcg.AUMENTO_ESPERADO;
+        }
+
+        estado.acumular(instanteMillis, betaHcg);
+        pacientes.remove(pacienteId);
+        pacientes.put(pacienteId, estado);
+        return new AvaliacaoSerial(pacienteId, tendencia, horas, aumentoPercentual, tempoDuplicacao,
+                estado.tempoDuplicacaoHistorico(), estado.coletas);
+    }
+
+    public AvaliacaoSerial avaliar(MedicaoHcg medicao) {
+        return avaliar(medicao.pacienteId(), medicao.instanteMillis(), medicao.betaHcg());
+    }
+
+    /**
+     * Descarta as pacientes cuja última coleta é anterior a {@code agoraMillis - inatividadeMaximaMillis}
+     */
+    public void descartarInativas(long agoraMillis) {
+        Iterator<Estado> iterador = pacientes.values().iterator();
+        while (iterador.hasNext()) {
+            Estado maisAntiga = iterador.next();
+            if (agoraMillis - maisAntiga.ultimoInstante <= inatividadeMaximaMillis) {
+                return;
+            }
+            iterador.remove();
+            descartadas++;
+        }
+    }
+
+    /**
+     * Encerra o histórico de uma paciente, por exemplo após o desfecho da gestação
+     */
+    public void encerrar(long pacienteId) {
+        pacientes.remove(pacienteId);
+    }
+
+    /**
+     * @return pacientes com histórico em memória
+     */
+    public int pacientesAtivas() {
+        return pacientes.size();
+    }
+
+    /**
+     * @return pacientes descartadas por inatividade ou por falta de espaço desde a criação
+     */
+    public long pacientesDescartadas() {
+        return descartadas;
+    }
+}
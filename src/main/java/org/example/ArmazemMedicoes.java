@@ -0,0 +1,442 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Armazenamento local de coletas de Beta hCG: log de segmentos somente de acréscimo com índice por paciente
+ *
+ * As coletas são gravadas em registros de {@value #TAMANHO_REGISTRO} bytes (paciente, instante,
+ * Beta hCG, DUM e CRC32C), little-endian, em arquivos {@code segmento-NNNNNNNN.log} de
+ * {@code registrosPorSegmento} registros cada. Como os registros têm tamanho fixo, o número
+ * sequencial de um registro determina o segmento e a posição no arquivo.
+ *
+ * O índice fica em memória: para cada paciente, os instantes e os números dos registros em ordem
+ * de instante, o que permite ler um intervalo de tempo com busca binária. Ao abrir, o índice é
+ * reconstruído a partir do log; um registro incompleto ou com CRC inválido no fim do último
+ * segmento, deixado por uma queda durante a gravação, é descartado e o arquivo é truncado.
+ *
+ * As gravações passam por um buffer e só são duráveis após {@link #sincronizar()} ou
+ * {@link #close()}. Um segmento completo é forçado para o disco antes que o seguinte seja criado, e
+ * o diretório é sincronizado após a criação de cada segmento: assim, somente o último segmento pode
+ * ficar incompleto após uma queda. Os métodos são sincronizados, então a instância pode ser compartilhada.
+ */
+public final class ArmazemMedicoes implements AutoCloseable {
+
+    public static final int TAMANHO_REGISTRO = 32;
+
+    /** Registros por segmento quando não informado: 64 MB por arquivo */
+    public static final int REGISTROS_POR_SEGMENTO_PADRAO = 1 << 21;
+
+    private static final int REGISTROS_BUFFER = 2048;
+    private static final int TAMANHO_JANELA_VARREDURA = 8192;
+    private static final String PREFIXO = "segmento-";
+    private static final String EXTENSAO = ".log";
+
+    /** O Windows não permite abrir um diretório como FileChannel para sincronizá-lo */
+    private static final boolean SINCRONIZA_DIRETORIO = !System.getProperty("os.name", "").startsWith("Windows");
+
+    /**
+     * Instantes e números de registro de uma paciente, ordenados por instante
+     */
+    private static final class Historico {
+        long[] instantes = new long[4];
+        long[] registros = new long[4];
+        int quantidade;
+
+        void adicionar(long instante, long registro) {
+            if (quantidade == instantes.length) {
+                instantes = Arrays.copyOf(instantes, quantidade * 2);
+                registros = Arrays.copyOf(registros, quantidade * 2);
+            }
+            // Coletas chegam quase sempre em ordem: a inserção ordenada raramente desloca elementos
+            int posicao = quantidade;
+            while (posicao > 0 && instantes[posicao - 1] > instante) {
+                instantes[posicao] = instantes[posicao - 1];
+                registros[posicao] = registros[posicao - 1];
+                posicao--;
+            }
+            instantes[posicao] = instante;
+            registros[posicao] = registro;
+            quantidade++;
+        }
+
+        /**
+         * @return primeira posição com instante maior ou igual ao informado
+         */
+        int primeiraPosicao(long instante) {
+            int baixo = 0;
+            int alto = quantidade;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (instantes[meio] < instante) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+
+    private final Path diretorio;
+    private final int registrosPorSegmento;
+    private final Map<Long, Historico> indice = new HashMap<>();
+    private final List<FileChannel> segmentos = new ArrayList<>();
+    private final ByteBuffer bufferGravacao =
+            ByteBuffer.allocateDirect(REGISTROS_BUFFER * TAMANHO_REGISTRO).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer bufferLeitura = ByteBuffer.allocate(TAMANHO_REGISTRO).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+
+    /** Registros já gravados no arquivo; os demais, até {@link #totalRegistros}, estão no buffer */
+    private long registrosGravados;
+    private long totalRegistros;
+    private long registrosDescartados;
+
+    private ArmazemMedicoes(Path diretorio, int registrosPorSegmento) {
+        this.diretorio = diretorio;
+        this.registrosPorSegmento = registrosPorSegmento;
+    }
+
+    public static ArmazemMedicoes abrir(Path diretorio) throws IOException {
+        return abrir(diretorio, REGISTROS_POR_SEGMENTO_PADRAO);
+    }
+
+    /**
+     * Abre ou cria o armazenamento, reconstruindo o índice a partir do log
+     *
+     * @param registrosPorSegmento capacidade de cada segmento; deve ser a mesma usada na criação
+     * @throws IOException se um segmento que não é o último estiver incompleto ou corrompido
+     */
+    public static ArmazemMedicoes abrir(Path diretorio, int registrosPorSegmento) throws IOException {
+        if (registrosPorSegmento <= 0) {
+            throw new IllegalArgumentException("Registros por segmento deve ser positivo: " + registrosPorSegmento);
+        }
+        Files.createDirectories(diretorio);
+        ArmazemMedicoes armazem = new ArmazemMedicoes(diretorio, registrosPorSegmento);
+        try {
+            armazem.recuperar();
+        } catch (IOException | RuntimeException e) {
+            armazem.fecharCanais();
+            throw e;
+        }
+        return armazem;
+    }
+
+    private void recuperar() throws IOException {
+        List<Path> arquivos = new ArrayList<>();
+        try (DirectoryStream<Path> lista = Files.newDirectoryStream(diretorio, PREFIXO + "*" + EXTENSAO)) {
+            lista.forEach(arquivos::add);
+        }
+        arquivos.sort(null);
+        for (int i = 0; i < arquivos.size(); i++) {
+            if (!arquivos.get(i).equals(caminhoSegmento(i))) {
+                throw new IOException("Segmento ausente ou fora de sequência: " + caminhoSegmento(i));
+            }
+        }
+
+        ByteBuffer janela = ByteBuffer.allocate(TAMANHO_JANELA_VARREDURA * TAMANHO_REGISTRO)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (int numero = 0; numero < arquivos.size(); numero++) {
+            boolean ultimo = numero == arquivos.size() - 1;
+            FileChannel canal = FileChannel.open(arquivos.get(numero), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            segmentos.add(canal);
+
+            long validos = 0;
+            long registrosNoArquivo = canal.size() / TAMANHO_REGISTRO;
+            boolean caudaParcial = canal.size() % TAMANHO_REGISTRO != 0;
+            boolean corrompido = false;
+            while (validos < registrosNoArquivo && !corrompido) {
+                int aLer = (int) Math.min(TAMANHO_JANELA_VARREDURA, registrosNoArquivo - validos);
+                janela.clear().limit(aLer * TAMANHO_REGISTRO);
+                lerCompleto(canal, janela, validos * TAMANHO_REGISTRO);
+                for (int i = 0; i < aLer; i++) {
+                    int base = i * TAMANHO_REGISTRO;
+                    if (validos == registrosPorSegmento || !crcValido(janela, base)) {
+                        corrompido = true;
+                        break;
+                    }
+                    indexar(janela.getLong(base), janela.getLong(base + 8), totalRegistros++);
+                    validos++;
+                }
+            }
+
+            if (corrompido || caudaParcial) {
+                if (!ultimo) {
+                    throw new IOException("Segmento corrompido antes do fim do log: " + arquivos.get(numero));
+                }
+                registrosDescartados = registrosNoArquivo - validos + (caudaParcial ? 1 : 0);
+                canal.truncate(validos * TAMANHO_REGISTRO);
+                canal.force(true);
+            } else if (!ultimo && validos != registrosPorSegmento) {
+                throw new IOException("Segmento incompleto antes do fim do log: " + arquivos.get(numero));
+            }
+        }
+        registrosGravados = totalRegistros;
+    }
+
+    private static int lerCompleto(FileChannel canal, ByteBuffer buffer, long posicao) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int lidos = canal.read(buffer, posicao + total);
+            if (lidos < 0) {
+                break;
+            }
+            total += lidos;
+        }
+        return total;
+    }
+
+    private boolean crcValido(ByteBuffer buffer, int base) {
+        crc.reset();
+        crc.update(buffer.slice(base, TAMANHO_REGISTRO - Integer.BYTES));
+        return (int) crc.getValue() == buffer.getInt(base + TAMANHO_REGISTRO - Integer.BYTES);
+    }
+
+    private void indexar(long pacienteId, long instante, long registro) {
+        indice.computeIfAbsent(pacienteId, id -> new Historico()).adicionar(instante, registro);
+    }
+
+    private Path caminhoSegmento(int numero) {
+        return diretorio.resolve(String.format("%s%08d%s", PREFIXO, numero, EXTENSAO));
+    }
+
+    /**
+     * Acrescenta uma coleta ao log e ao índice
+     *
+     * @return número sequencial do registro
+     */
+    public synchronized long gravar(MedicaoHcg medicao) throws IOException {
+        int base = bufferGravacao.position();
+        bufferGravacao.putLong(medicao.pacienteId()).putLong(medicao.instanteMillis())
+                .putDouble(medicao.betaHcg()).putInt(medicao.dumEpochDia());
+        crc.reset();
+        crc.update(bufferGravacao.slice(base, TAMANHO_REGISTRO - Integer.BYTES));
+        bufferGravacao.putInt((int) crc.getValue());
+
+        // O número só é consumido e indexado depois que a gravação deu certo
+        long registro = totalRegistros;
+        // O buffer nunca atravessa o fim de um segmento
+        if (!bufferGravacao.hasRemaining() || (registro + 1) % registrosPorSegmento == 0) {
+            try {
+                descarregar(registro + 1);
+            } catch (IOException e) {
+                bufferGravacao.position(base);
+                throw e;
+            }
+        }
+        totalRegistros = registro + 1;
+        indexar(medicao.pacienteId(), medicao.instanteMillis(), registro);
+        return registro;
+    }
+
+    private void descarregar() throws IOException {
+        descarregar(totalRegistros);
+    }
+
+    /**
+     * Grava no arquivo os registros que estão no buffer, até o registro {@code ate} exclusive
+     *
+     * Se o último registro completa o segmento, o segmento é forçado para o disco. Em caso de erro,
+     * o buffer volta ao estado anterior e nada é considerado gravado.
+     */
+    private void descarregar(long ate) throws IOException {
+        if (registrosGravados == ate) {
+            return;
+        }
+        FileChannel canal = segmento((int) (registrosGravados / registrosPorSegmento));
+        long posicao = (registrosGravados % registrosPorSegmento) * TAMANHO_REGISTRO;
+        int fim = bufferGravacao.position();
+        bufferGravacao.flip();
+        try {
+            while (bufferGravacao.hasRemaining()) {
+                posicao += canal.write(bufferGravacao, posicao);
+            }
+            if (ate % registrosPorSegmento == 0) {
+                canal.force(false);
+            }
+        } catch (IOException e) {
+            bufferGravacao.limit(bufferGravacao.capacity()).position(fim);
+            throw e;
+        }
+        bufferGravacao.clear();
+        registrosGravados = ate;
+    }
+
+    private FileChannel segmento(int numero) throws IOException {
+        while (segmentos.size() <= numero) {
+            segmentos.add(FileChannel.open(caminhoSegmento(segmentos.size()), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE));
+            sincronizarDiretorio();
+        }
+        return segmentos.get(numero);
+    }
+
+    /**
+     * Torna durável a entrada do diretório de um segmento recém-criado
+     */
+    private void sincronizarDiretorio() throws IOException {
+        if (SINCRONIZA_DIRETORIO) {
+            try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+                canal.force(true);
+            }
+        }
+    }
+
+    /**
+     * Grava o buffer e força os dados do segmento atual para o disco
+     *
+     * Os segmentos anteriores já foram forçados ao serem completados.
+     */
+    public synchronized void sincronizar() throws IOException {
+        descarregar();
+        if (!segmentos.isEmpty()) {
+            segmentos.get(segmentos.size() - 1).force(false);
+        }
+    }
+
+    /**
+     * Coletas de uma paciente com instante em {@code [inicioMillis, fimMillis)}, em ordem de instante
+     */
+    public synchronized List<MedicaoHcg> ler(long pacienteId, long inicioMillis, long fimMillis) throws IOException {
+        Historico historico = indice.get(pacienteId);
+        if (historico == null) {
+            return List.of();
+        }
+        descarregar();
+        List<MedicaoHcg> medicoes = new ArrayList<>();
+        for (int i = historico.primeiraPosicao(inicioMillis);
+             i < historico.quantidade && historico.instantes[i] < fimMillis; i++) {
+            medicoes.add(lerRegistro(historico.registros[i]));
+        }
+        return medicoes;
+    }
+
+    /**
+     * Todas as coletas de uma paciente, em ordem de instante
+     */
+    public List<MedicaoHcg> ler(long pacienteId) throws IOException {
+        return ler(pacienteId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private MedicaoHcg lerRegistro(long registro) throws IOException {
+        FileChannel canal = segmentos.get((int) (registro / registrosPorSegmento));
+        bufferLeitura.clear();
+        if (lerCompleto(canal, bufferLeitura, (registro % registrosPorSegmento) * TAMANHO_REGISTRO)
+                != TAMANHO_REGISTRO) {
+            throw new IOException("Registro " + registro + " truncado");
+        }
+        return new MedicaoHcg(bufferLeitura.getLong(0), bufferLeitura.getLong(8), bufferLeitura.getDouble(16),
+                bufferLeitura.getInt(24));
+    }
+
+    /**
+     * Percorre todas as coletas na ordem de gravação
+     */
+    public synchronized void varrer(Consumer<MedicaoHcg> consumidor) throws IOException {
+        varrerJanelas((buffer, primeiro, quantidade) -> {
+            for (int i = 0; i < quantidade; i++) {
+                int base = i * TAMANHO_REGISTRO;
+                consumidor.accept(new MedicaoHcg(buffer.getLong(base), buffer.getLong(base + 8),
+                        buffer.getDouble(base + 16), buffer.getInt(base + 24)));
+            }
+        });
+    }
+
+    /**
+     * Classifica todas as coletas na ordem de gravação, em janelas colunares, sem objetos por registro
+     *
+     * O {@code primeiro} informado ao consumidor é o número sequencial do primeiro registro da janela.
+     */
+    public synchronized void classificarTudo(CalculadoraIdadeGestacional calculadora, int hojeEpochDia,
+                                             ConsumidorLote consumidor) throws IOException {
+        double[] valores = new double[TAMANHO_JANELA_VARREDURA];
+        int[] dums = new int[TAMANHO_JANELA_VARREDURA];
+        byte[] codigos = new byte[TAMANHO_JANELA_VARREDURA];
+        int[] semanas = new int[TAMANHO_JANELA_VARREDURA];
+        varrerJanelas((buffer, primeiro, quantidade) -> {
+            for (int i = 0; i < quantidade; i++) {
+                int base = i * TAMANHO_REGISTRO;
+                valores[i] = buffer.getDouble(base + 16);
+                dums[i] = buffer.getInt(base + 24);
+            }
+            calculadora.classificarLote(valores, dums, 0, quantidade, hojeEpochDia, codigos, semanas);
+            consumidor.aceitar(primeiro, valores, dums, codigos, semanas, quantidade);
+        });
+    }
+
+    @FunctionalInterface
+    private interface ConsumidorJanela {
+        void aceitar(ByteBuffer buffer, long primeiro, int quantidade) throws IOException;
+    }
+
+    private void varrerJanelas(ConsumidorJanela consumidor) throws IOException {
+        descarregar();
+        ByteBuffer janela = ByteBuffer.allocate(TAMANHO_JANELA_VARREDURA * TAMANHO_REGISTRO)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        long registro = 0;
+        while (registro < totalRegistros) {
+            int noSegmento = (int) (registro % registrosPorSegmento);
+            int quantidade = (int) Math.min(Math.min(TAMANHO_JANELA_VARREDURA, totalRegistros - registro),
+                    registrosPorSegmento - noSegmento);
+            janela.clear().limit(quantidade * TAMANHO_REGISTRO);
+            FileChannel canal = segmentos.get((int) (registro / registrosPorSegmento));
+            if (lerCompleto(canal, janela, (long) noSegmento * TAMANHO_REGISTRO) != quantidade * TAMANHO_REGISTRO) {
+                throw new IOException("Segmento truncado durante a varredura");
+            }
+            consumidor.aceitar(janela, registro, quantidade);
+            registro += quantidade;
+        }
+    }
+
+    /**
+     * @return quantidade de coletas armazenadas
+     */
+    public synchronized long quantidade() {
+        return totalRegistros;
+    }
+
+    /**
+     * @return quantidade de pacientes com ao menos uma coleta
+     */
+    public synchronized int pacientes() {
+        return indice.size();
+    }
+
+    /**
+     * @return registros descartados do fim do log na recuperação feita pela abertura
+     */
+    public long registrosDescartadosNaRecuperacao() {
+        return registrosDescartados;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sincronizar();
+        } finally {
+            fecharCanais();
+        }
+    }
+
+    private void fecharCanais() throws IOException {
+        for (FileChannel canal : segmentos) {
+            canal.close();
+        }
+        segmentos.clear();
+    }
+}
@@ -0,0 +1,249 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Formato binário de largura fixa para arquivos grandes de resultados, lido por mapeamento em memória
+ *
+ * O arquivo começa com um cabeçalho de {@value #TAMANHO_CABECALHO} bytes (número mágico, versão e
+ * quantidade de registros) seguido dos registros de {@value #TAMANHO_REGISTRO} bytes: o Beta hCG
+ * como double e a DUM como int em dias epoch ({@link CalculadoraIdadeGestacional#DUM_NAO_INFORMADA}
+ * quando ausente). Todos os campos são little-endian.
+ *
+ * A leitura mapeia o arquivo com {@link FileChannel#map} em regiões de até
+ * {@value #REGISTROS_POR_REGIAO} registros, copia cada janela para vetores primitivos reaproveitados
+ * e a entrega à classificação em lote, sem criar objetos por registro. Arquivos de vários gigabytes
+ * são processados em uma única passada.
+ */
+public final class ArquivoBinario {
+
+    /** "BHCG" em ASCII */
+    public static final int MAGICO = 0x42484347;
+    public static final int VERSAO = 1;
+    public static final int TAMANHO_CABECALHO = 16;
+    public static final int TAMANHO_REGISTRO = 12;
+
+    /** Tamanho padrão da janela de registros entregue ao {@link ConsumidorLote} */
+    public static final int TAMANHO_JANELA_PADRAO = 8192;
+
+    /** Registros por região mapeada; mantém cada região bem abaixo do limite de 2 GB do MappedByteBuffer */
+    static final int REGISTROS_POR_REGIAO = 1 << 26;
+
+    private ArquivoBinario() {
+    }
+
+    /**
+     * Resultado da conversão de um CSV
+     *
+     * @param registros registros gravados no arquivo binário
+     * @param linhasIgnoradas linhas de dados que não puderam ser lidas e ficaram de fora
+     */
+    public record ResumoConversao(long registros, long linhasIgnoradas) {
+    }
+
+    /**
+     * Converte um CSV no formato {@code paciente;betaHcg;dum} do {@link ProcessadorLoteCsv} para o formato binário
+     *
+     * A coluna do paciente não é gravada. Linhas com Beta hCG ou DUM inválidos são ignoradas e contadas.
+     *
+     * @param entrada CSV de entrada
+     * @param destino arquivo binário, criado ou sobrescrito
+     * @param possuiCabecalho se a primeira linha do CSV é um cabeçalho
+     */
+    public static ResumoConversao converterCsv(Reader entrada, Path destino, boolean possuiCabecalho)
+            throws IOException {
+        BufferedReader leitor = entrada instanceof BufferedReader
+                ? (BufferedReader) entrada : new BufferedReader(entrada, 1 << 16);
+        if (possuiCabecalho) {
+            leitor.readLine();
+        }
+
+        ProcessadorLoteCsv.Janela janela = new ProcessadorLoteCsv.Janela(TAMANHO_JANELA_PADRAO);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_JANELA_PADRAO * TAMANHO_REGISTRO)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        long registros = 0;
+        long ignoradas = 0;
+
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            canal.position(TAMANHO_CABECALHO);
+            do {
+                janela.preencher(leitor);
+                janela.interpretar();
+                buffer.clear();
+                for (int i = 0; i < janela.quantidade; i++) {
+                    if (janela.motivos[i] != null) {
+                        ignoradas++;
+                        continue;
+                    }
+                    buffer.putDouble(janela.valores[i]).putInt(janela.dums[i]);
+                    registros++;
+                }
+                gravarTudo(canal, buffer.flip());
+            } while (janela.quantidade == TAMANHO_JANELA_PADRAO);
+
+            // Quantidade só é conhecida no fim: o cabeçalho é gravado por último
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(MAGICO).putInt(VERSAO).putLong(registros).flip();
+            canal.position(0);
+            gravarTudo(canal, cabecalho);
+        }
+        return new ResumoConversao(registros, ignoradas);
+    }
+
+    private static void gravarTudo(FileChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    /**
+     * Classifica todos os registros do arquivo, em ordem, entregando uma janela de cada vez ao consumidor
+     *
+     * @param arquivo arquivo no formato binário
+     * @param calculadora calculadora usada na classificação em lote
+     * @param hojeEpochDia data de referência em dias epoch
+     * @param consumidor destino de cada janela classificada
+     * @return quantidade de registros processados
+     * @throws IOException se o arquivo não estiver no formato esperado ou não puder ser lido
+     */
+    public static long processar(Path arquivo, CalculadoraIdadeGestacional calculadora, int hojeEpochDia,
+                                 ConsumidorLote consumidor) throws IOException {
+        return processar(arquivo, calculadora, hojeEpochDia, TAMANHO_JANELA_PADRAO, consumidor);
+    }
+
+    public static long processar(Path arquivo, CalculadoraIdadeGestacional calculadora, int hojeEpochDia,
+                                 int tamanhoJanela, ConsumidorLote consumidor) throws IOException {
+        if (tamanhoJanela <= 0) {
+            throw new IllegalArgumentException("Tamanho da janela deve ser positivo: " + tamanhoJanela);
+        }
+        double[] valores = new double[tamanhoJanela];
+        int[] dums = new int[tamanhoJanela];
+        byte[] codigos = new byte[tamanhoJanela];
+        int[] semanas = new int[tamanhoJanela];
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long quantidade = lerCabecalho(canal);
+            long registro = 0;
+            while (registro < quantidade) {
+                int registrosRegiao = (int) Math.min(quantidade - registro, REGISTROS_POR_REGIAO);
+                MappedByteBuffer regiao = canal.map(FileChannel.MapMode.READ_ONLY,
+                        TAMANHO_CABECALHO + registro * TAMANHO_REGISTRO, (long) registrosRegiao * TAMANHO_REGISTRO);
+                regiao.order(ByteOrder.LITTLE_ENDIAN);
+
+                for (int inicio = 0; inicio < registrosRegiao; inicio += tamanhoJanela) {
+                    int n = Math.min(tamanhoJanela, registrosRegiao - inicio);
+                    int posicao = inicio * TAMANHO_REGISTRO;
+                    for (int i = 0; i < n; i++, posicao += TAMANHO_REGISTRO) {
+                        valores[i] = regiao.getDouble(posicao);
+                        dums[i] = regiao.getInt(posicao + Double.BYTES);
+                    }
+                    calculadora.classificarLote(valores, dums, 0, n, hojeEpochDia, codigos, semanas);
+                    consumidor.aceitar(registro + inicio, valores, dums, codigos, semanas, n);
+                }
+                registro += registrosRegiao;
+            }
+            return quantidade;
+        }
+    }
+
+    /**
+     * Valida o cabeçalho e o tamanho do arquivo
+     *
+     * @return quantidade de registros
+     */
+    private static long lerCabecalho(FileChannel canal) throws IOException {
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+        while (cabecalho.hasRemaining()) {
+            if (canal.read(cabecalho, cabecalho.position()) < 0) {
+                throw new IOException("Arquivo binário truncado: cabeçalho incompleto");
+            }
+        }
+        cabecalho.flip();
+        if (cabecalho.getInt() != MAGICO) {
+            throw new IOException("Arquivo não está no formato binário de resultados");
+        }
+        int versao = cabecalho.getInt();
+        if (versao != VERSAO) {
+            throw new IOException("Versão de arquivo binário não suportada: " + versao);
+        }
+        long quantidade = cabecalho.getLong();
+        if (quantidade < 0 || canal.size() != TAMANHO_CABECALHO + quantidade * TAMANHO_REGISTRO) {
+            throw new IOException("Tamanho do arquivo binário não corresponde a " + quantidade + " registros");
+        }
+        return quantidade;
+    }
+
+    /**
+     * Uso: {@code ArquivoBinario converter <entrada.csv> <saida.bin> [--sem-cabecalho]}
+     * ou {@code ArquivoBinario resumir <arquivo.bin>}
+     * ou {@code ArquivoBinario classificar <entrada.bin> <resultados.bin> [--mensagem]}
+     * ou {@code ArquivoBinario estatisticas <arquivo.bin>}
+     *
+     * {@code resumir} classifica todo o arquivo e informa a contagem por classificação e a vazão;
+     * {@code classificar} grava os resultados com o {@link EscritorResultadosBinario};
+     * {@code estatisticas} escreve a distribuição por semana das {@link EstatisticasSemanais}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("converter")) {
+            boolean possuiCabecalho = !(args.length > 3 && args[3].equals("--sem-cabecalho"));
+            long inicio = System.nanoTime();
+            ResumoConversao resumo;
+            try (Reader entrada = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+                resumo = converterCsv(entrada, Paths.get(args[2]), possuiCabecalho);
+            }
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            System.err.printf("%d registros gravados, %d linhas ignoradas em %.2f s%n",
+                    resumo.registros(), resumo.linhasIgnoradas(), segundos);
+        } else if (args.length == 2 && args[0].equals("resumir")) {
+            long[] contagens = new long[Classificacao.values().length];
+            long inicio = System.nanoTime();
+            CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+            long registros = processar(Paths.get(args[1]), calculadora, calculadora.contexto().hojeEpochDia(),
+                    (primeiro, betaHcg, dums, codigos, semanas, quantidade) -> {
+                        for (int i = 0; i < quantidade; i++) {
+                            contagens[codigos[i]]++;
+                        }
+                    });
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            for (Classificacao classificacao : Classificacao.values()) {
+                System.out.printf("%s;%d%n", classificacao.name(), contagens[classificacao.codigo()]);
+            }
+            System.err.printf("%d registros em %.2f s (%.0f registros/s)%n", registros, segundos, registros / segundos);
+        } else if (args.length >= 3 && args[0].equals("classificar")) {
+            boolean incluirMensagem = args.length > 3 && args[3].equals("--mensagem");
+            long inicio = System.nanoTime();
+            long registros;
+            try (EscritorResultadosBinario escritor =
+                         new EscritorResultadosBinario(Paths.get(args[2]), incluirMensagem)) {
+                CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+                registros = processar(Paths.get(args[1]), calculadora, calculadora.contexto().hojeEpochDia(),
+                        escritor);
+            }
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            System.err.printf("%d registros em %.2f s (%.0f registros/s)%n", registros, segundos, registros / segundos);
+        } else if (args.length == 2 && args[0].equals("estatisticas")) {
+            EstatisticasSemanais estatisticas = new EstatisticasSemanais();
+            CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+            processar(Paths.get(args[1]), calculadora, calculadora.contexto().hojeEpochDia(), estatisticas);
+            estatisticas.escreverCsv(System.out);
+        } else {
+            System.err.println("Uso: ArquivoBinario converter <entrada.csv> <saida.bin> [--sem-cabecalho]");
+            System.err.println("     ArquivoBinario resumir <arquivo.bin>");
+            System.err.println("     ArquivoBinario classificar <entrada.bin> <resultados.bin> [--mensagem]");
+            System.err.println("     ArquivoBinario estatisticas <arquivo.bin>");
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example;
+
+/**
+ * Resultado da análise de uma coleta em relação ao histórico da paciente
+ *
+ * @param pacienteId identificador da paciente
+ * @param tendencia interpretação da coleta
+ * @param intervaloHoras horas desde a coleta anterior, ou NaN se não houver comparação
+ * @param aumentoPercentual variação percentual desde a coleta anterior, ou NaN
+ * @param tempoDuplicacaoHoras tempo de duplicação entre as duas últimas coletas, ou NaN se o valor não subiu
+ * @param tempoDuplicacaoHistoricoHoras tempo de duplicação ajustado por regressão sobre todas as coletas
+ *                                      válidas da paciente, ou NaN com menos de duas coletas ou sem aumento
+ * @param coletas coletas válidas da paciente consideradas até aqui
+ */
+public record AvaliacaoSerial(long pacienteId, TendenciaHcg tendencia, double intervaloHoras,
+                              double aumentoPercentual, double tempoDuplicacaoHoras,
+                              double tempoDuplicacaoHistoricoHoras, int coletas) {
+
+    /**
+     * @return true se a trajetória precisa de avaliação médica
+     */
+    public boolean anormal() {
+        return tendencia.anormal();
+    }
+}
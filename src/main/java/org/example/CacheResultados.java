@@ -0,0 +1,131 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado de mensagens já montadas, indexado pelos bits do Beta hCG, pela DUM e pela data de referência
+ *
+ * É um cache associativo de duas vias: cada chave tem um par fixo de posições em um
+ * {@link AtomicReferenceArray} de tamanho fixo, e uma chave nova substitui uma das entradas do
+ * par. Não há lock nem lista de uso; leituras e gravações concorrentes são leituras e escritas
+ * voláteis de entradas imutáveis, e o tamanho nunca passa da capacidade. Duas threads que
+ * classificam a mesma chave ao mesmo tempo apenas montam a mesma mensagem duas vezes.
+ *
+ * Como a semana calculada depende de "hoje", a data de referência faz parte da chave: na virada
+ * do dia as entradas antigas deixam de coincidir e são substituídas conforme as novas chaves chegam.
+ */
+public final class CacheResultados {
+
+    /**
+     * Entrada imutável, publicada com segurança pelo {@link AtomicReferenceArray}
+     */
+    private record Entrada(long bitsBetaHcg, int dumEpochDia, int hojeEpochDia, String mensagem) {
+    }
+
+    private final AtomicReferenceArray<Entrada> entradas;
+    private final int mascara;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    /**
+     * @param capacidade quantidade máxima de entradas, arredondada para a potência de 2 seguinte (no mínimo 2)
+     */
+    public CacheResultados(int capacidade) {
+        if (capacidade <= 0 || capacidade > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacidade);
+        }
+        int tamanho = capacidade <= 2 ? 2 : Integer.highestOneBit(capacidade - 1) << 1;
+        this.entradas = new AtomicReferenceArray<>(tamanho);
+        this.mascara = tamanho - 1;
+    }
+
+    /**
+     * Devolve a mensagem em cache ou classifica com a calculadora e guarda o resultado
+     *
+     * @param dumEpochDia DUM em dias desde 01/01/1970, ou {@link CalculadoraIdadeGestacional#DUM_NAO_INFORMADA}
+     * @param hojeEpochDia data de referência em dias desde 01/01/1970
+     */
+    public String mensagem(CalculadoraIdadeGestacional calculadora, double betaHcg, int dumEpochDia,
+                           int hojeEpochDia) {
+        long bits = Double.doubleToLongBits(betaHcg);
+        long h = bits * 0x9E3779B97F4A7C15L + dumEpochDia * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 31;
+        int posicao = (int) h & mascara & ~1;
+
+        Entrada primeira = entradas.get(posicao);
+        if (coincide(primeira, bits, dumEpochDia, hojeEpochDia)) {
+            acertos.increment();
+            return primeira.mensagem();
+        }
+        Entrada segunda = entradas.get(posicao + 1);
+        if (coincide(segunda, bits, dumEpochDia, hojeEpochDia)) {
+            acertos.increment();
+            return segunda.mensagem();
+        }
+
+        falhas.increment();
+        String mensagem = calculadora.classificar(betaHcg, dumEpochDia, hojeEpochDia).mensagem();
+        // Ocupa a posição livre ou de outro dia; com as duas em uso, um bit do hash escolhe a substituída
+        int destino;
+        if (vencida(primeira, hojeEpochDia)) {
+            destino = posicao;
+        } else if (vencida(segunda, hojeEpochDia)) {
+            destino = posicao + 1;
+        } else {
+            destino = posicao + (int) (h >>> 63);
+        }
+        entradas.set(destino, new Entrada(bits, dumEpochDia, hojeEpochDia, mensagem));
+        return mensagem;
+    }
+
+    private static boolean coincide(Entrada entrada, long bits, int dumEpochDia, int hojeEpochDia) {
+        return entrada != null && entrada.bitsBetaHcg() == bits && entrada.dumEpochDia() == dumEpochDia
+                && entrada.hojeEpochDia() == hojeEpochDia;
+    }
+
+    private static boolean vencida(Entrada entrada, int hojeEpochDia) {
+        return entrada == null || entrada.hojeEpochDia() != hojeEpochDia;
+    }
+
+    /**
+     * @return quantidade máxima de entradas
+     */
+    public int capacidade() {
+        return mascara + 1;
+    }
+
+    /**
+     * @return consultas atendidas pelo cache
+     */
+    public long acertos() {
+        return acertos.sum();
+    }
+
+    /**
+     * @return consultas que precisaram classificar
+     */
+    public long falhas() {
+        return falhas.sum();
+    }
+
+    /**
+     * @return fração de acertos entre 0 e 1, ou 0 sem consultas
+     */
+    public double taxaAcerto() {
+        long acertos = acertos();
+        long total = acertos + falhas();
+        return total == 0 ? 0 : (double) acertos / total;
+    }
+
+    /**
+     * Remove todas as entradas e zera as estatísticas
+     */
+    public void limpar() {
+        for (int i = 0; i < entradas.length(); i++) {
+            entradas.set(i, null);
+        }
+        acertos.reset();
+        falhas.reset();
+    }
+}
@@ -0,0 +1,53 @@
+package org.example;
+
+import java.util.Date;
+
+/**
+ * {@link CalculadoraIdadeGestacional} que guarda as mensagens já montadas em um {@link CacheResultados}
+ *
+ * Pensada para o front end e para as novas tentativas de integração, que repetem os mesmos pares
+ * (Beta hCG, DUM) ao longo do dia. Apenas {@code calcularIdadeGestacional} passa pelo cache; as
+ * classificações estruturadas e os lotes delegam direto para a implementação original.
+ *
+ * Na versão com {@link Date}, a DUM e o dia atual são convertidos para dias de calendário no fuso
+ * do {@link ContextoAvaliacao}, a mesma contagem das APIs com dias desde 01/01/1970. Com relógio, a
+ * implementação original conta dias completos pela diferença em milissegundos, que fica um dia abaixo
+ * quando a hora da DUM é posterior à hora atual ou quando há mudança de horário de verão no intervalo.
+ * Se as duas contagens levarem a semanas diferentes, a chamada não passa pelo cache, de modo que
+ * ligar o cache nunca altera o resultado.
+ */
+public class CalculadoraComCache extends CalculadoraIdadeGestacional {
+
+    private final CacheResultados cache;
+
+    public CalculadoraComCache(int capacidade) {
+        this(new CacheResultados(capacidade), ContextoAvaliacao.sistema());
+    }
+
+    public CalculadoraComCache(CacheResultados cache, ContextoAvaliacao contexto) {
+        super(contexto);
+        this.cache = cache;
+    }
+
+    public CacheResultados cache() {
+        return cache;
+    }
+
+    @Override
+    public String calcularIdadeGestacional(double betaHcg, Date ultimaMenstruacao) {
+        int hojeEpochDia = contexto().hojeEpochDia();
+        if (ultimaMenstruacao == null) {
+            return cache.mensagem(this, betaHcg, DUM_NAO_INFORMADA, hojeEpochDia);
+        }
+        int dumEpochDia = contexto().epochDia(ultimaMenstruacao);
+        if (((long) hojeEpochDia - dumEpochDia) / 7 != contexto().diasDesde(ultimaMenstruacao) / 7) {
+            return super.calcularIdadeGestacional(betaHcg, ultimaMenstruacao);
+        }
+        return cache.mensagem(this, betaHcg, dumEpochDia, hojeEpochDia);
+    }
+
+    @Override
+    public String calcularIdadeGestacional(double betaHcg, int dumEpochDia, int hojeEpochDia) {
+        return cache.mensagem(this, betaHcg, dumEpochDia, hojeEpochDia);
+    }
+}
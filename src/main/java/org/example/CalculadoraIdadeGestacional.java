@@ -1,7 +1,7 @@
 package org.example;
 
 import java.util.Date;
-import java.util.concurrent.TimeUnit;
+import java.util.Objects;
 
 /**
  * Classe para calcular a idade gestacional baseada nos valores de Beta hCG
@@ -30,6 +30,60 @@ public class CalculadoraIdadeGestacional {
             {16, 13300, 254000}  // 16 semanas
     };
 
+    /** Faixas de {@link #FAIXAS_BETA_HCG} compiladas para consulta direta por semana */
+    static final TabelaReferencia TABELA_PADRAO = TabelaReferencia.compilar(FAIXAS_BETA_HCG);
+
+    /** Faixas de {@link #TABELA_PADRAO} interpoladas por dia de gestação, usadas no modo diário */
+    static final TabelaReferenciaDiaria TABELA_DIARIA_PADRAO = TabelaReferenciaDiaria.interpolar(TABELA_PADRAO);
+
+    /** Índice inverso de {@link #TABELA_PADRAO}, do valor de Beta hCG para as semanas compatíveis */
+    static final IndiceReversoFaixas INDICE_REVERSO_PADRAO = IndiceReversoFaixas.construir(TABELA_PADRAO);
+
+    /** Classificador de {@link #TABELA_PADRAO} compilado, usado pelas classificações semanais */
+    static final ClassificadorCompilado CLASSIFICADOR_PADRAO = ClassificadorCompilado.compilar(TABELA_PADRAO);
+
+    /** Valor de Beta hCG abaixo do qual o resultado é considerado negativo (mUI/mL) */
+    static final double LIMITE_NEGATIVO = 25;
+
+    /** Primeira semana do intervalo de interpretação */
+    static final int SEMANA_MINIMA = 3;
+
+    /** Última semana do intervalo de interpretação */
+    static final int SEMANA_MAXIMA = 16;
+
+    /** Indica se o módulo da Vector API foi carregado (--add-modules jdk.incubator.vector) */
+    private static final boolean VECTOR_API_DISPONIVEL =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /** Marca, nas APIs de lote, a DUM não informada */
+    public static final int DUM_NAO_INFORMADA = Integer.MIN_VALUE;
+
+    /** Marca, nas APIs de lote, as linhas em que a idade gestacional não chegou a ser calculada */
+    public static final int SEMANAS_NAO_CALCULADAS = Integer.MIN_VALUE;
+
+    private final ContextoAvaliacao contexto;
+
+    /**
+     * Calculadora que usa o relógio do sistema como referência de "hoje"
+     */
+    public CalculadoraIdadeGestacional() {
+        this(ContextoAvaliacao.sistema());
+    }
+
+    /**
+     * @param contexto referência de "hoje" para os métodos que não recebem a data explicitamente
+     */
+    public CalculadoraIdadeGestacional(ContextoAvaliacao contexto) {
+        this.contexto = Objects.requireNonNull(contexto, "contexto");
+    }
+
+    /**
+     * @return referência de "hoje" desta calculadora
+     */
+    public ContextoAvaliacao contexto() {
+        return contexto;
+    }
+
     /**
      * Calcula a idade gestacional com base no valor de Beta hCG e data da última menstruação
      *
@@ -38,65 +92,396 @@ public class CalculadoraIdadeGestacional {
      * @return String indicando a interpretação do resultado
      */
     public String calcularIdadeGestacional(double betaHcg, Date ultimaMenstruacao) {
+        return classificar(betaHcg, ultimaMenstruacao).mensagem();
+    }
+
+    /**
+     * Calcula a idade gestacional com datas em dias desde 01/01/1970, sem criar objetos Date
+     *
+     * @param betaHcg Valor do Beta hCG em mUI/ml
+     * @param dumEpochDia DUM em dias desde 01/01/1970, ou {@link #DUM_NAO_INFORMADA}
+     * @param hojeEpochDia data de referência em dias desde 01/01/1970
+     * @return String indicando a interpretação do resultado
+     */
+    public String calcularIdadeGestacional(double betaHcg, int dumEpochDia, int hojeEpochDia) {
+        return classificar(betaHcg, dumEpochDia, hojeEpochDia).mensagem();
+    }
+
+    /**
+     * Classifica o valor de Beta hCG sem montar o texto explicativo
+     *
+     * @param betaHcg Valor do Beta hCG em mUI/ml
+     * @param ultimaMenstruacao Data da última menstruação
+     * @return resultado estruturado; a mensagem é montada apenas sob demanda
+     */
+    public ResultadoClassificacao classificar(double betaHcg, Date ultimaMenstruacao) {
         if (ultimaMenstruacao == null) {
-            return "Data da última menstruação não informada";
+            return new ResultadoClassificacao(Classificacao.DUM_NAO_INFORMADA, betaHcg,
+                    ResultadoClassificacao.SEMANAS_NAO_CALCULADAS, Double.NaN, Double.NaN);
+        }
+
+        if (betaHcg < 0) {
+            return new ResultadoClassificacao(Classificacao.VALOR_INVALIDO, betaHcg,
+                    ResultadoClassificacao.SEMANAS_NAO_CALCULADAS, Double.NaN, Double.NaN);
+        }
+
+        long semanasGestacionais = contexto.diasDesde(ultimaMenstruacao) / 7;
+
+        return classificar(betaHcg, semanasGestacionais);
+    }
+
+    /**
+     * Classifica o valor de Beta hCG com datas em dias desde 01/01/1970, sem criar objetos Date
+     *
+     * @param betaHcg Valor do Beta hCG em mUI/ml
+     * @param dumEpochDia DUM em dias desde 01/01/1970, ou {@link #DUM_NAO_INFORMADA}
+     * @param hojeEpochDia data de referência em dias desde 01/01/1970
+     * @return resultado estruturado; a mensagem é montada apenas sob demanda
+     */
+    public ResultadoClassificacao classificar(double betaHcg, int dumEpochDia, int hojeEpochDia) {
+        if (dumEpochDia == DUM_NAO_INFORMADA) {
+            return new ResultadoClassificacao(Classificacao.DUM_NAO_INFORMADA, betaHcg,
+                    ResultadoClassificacao.SEMANAS_NAO_CALCULADAS, Double.NaN, Double.NaN);
+        }
+
+        if (betaHcg < 0) {
+            return new ResultadoClassificacao(Classificacao.VALOR_INVALIDO, betaHcg,
+                    ResultadoClassificacao.SEMANAS_NAO_CALCULADAS, Double.NaN, Double.NaN);
+        }
+
+        return classificar(betaHcg, ((long) hojeEpochDia - dumEpochDia) / 7);
+    }
+
+    /**
+     * Classifica o valor de Beta hCG com a DUM em dias desde 01/01/1970 e a data de referência do {@link #contexto()}
+     */
+    public ResultadoClassificacao classificar(double betaHcg, int dumEpochDia) {
+        return classificar(betaHcg, dumEpochDia, contexto.hojeEpochDia());
+    }
+
+    /**
+     * Classifica o valor de Beta hCG no modo diário, com a faixa de referência interpolada para o dia de gestação
+     *
+     * As classificações são as mesmas do modo semanal, mas 6 semanas e 0 dias e 6 semanas e 6 dias
+     * passam a ter faixas diferentes. O resultado informa as semanas completas e a faixa do dia.
+     *
+     * @param betaHcg Valor do Beta hCG em mUI/ml
+     * @param dumEpochDia DUM em dias desde 01/01/1970, ou {@link #DUM_NAO_INFORMADA}
+     * @param hojeEpochDia data de referência em dias desde 01/01/1970
+     * @return resultado estruturado; a mensagem é montada apenas sob demanda
+     */
+    public ResultadoClassificacao classificarPorDia(double betaHcg, int dumEpochDia, int hojeEpochDia) {
+        if (dumEpochDia == DUM_NAO_INFORMADA) {
+            return new ResultadoClassificacao(Classificacao.DUM_NAO_INFORMADA, betaHcg,
+                    ResultadoClassificacao.SEMANAS_NAO_CALCULADAS, Double.NaN, Double.NaN);
+        }
+
+        if (betaHcg < 0) {
+            return new ResultadoClassificacao(Classificacao.VALOR_INVALIDO, betaHcg,
+                    ResultadoClassificacao.SEMANAS_NAO_CALCULADAS, Double.NaN, Double.NaN);
+        }
+
+        long dias = (long) hojeEpochDia - dumEpochDia;
+        return resultadoPorDia(classificarCodigoPorDia(betaHcg, dias), betaHcg, dias);
+    }
+
+    /**
+     * Estima as semanas gestacionais compatíveis apenas com o valor de Beta hCG, sem usar a DUM
+     *
+     * Útil quando a DUM não é confiável. Retorna todas as semanas cuja faixa de referência contém
+     * o valor; o resultado pode ter lacunas, porque as faixas não crescem de forma monotônica.
+     *
+     * @param betaHcg Valor do Beta hCG em mUI/ml
+     * @return semanas compatíveis, vazio se nenhuma faixa contém o valor
+     */
+    public SemanasCompativeis estimarSemanas(double betaHcg) {
+        return INDICE_REVERSO_PADRAO.consultar(betaHcg);
+    }
+
+    /**
+     * Versão de {@link #classificar(double, int, int)} com as faixas de um perfil de referência
+     *
+     * O perfil é lido uma única vez no início da chamada; uma recarga concorrente pelo
+     * {@link RepositorioPerfis} não afeta a classificação em andamento.
+     *
+     * @param perfil perfil de referência do laboratório ou ensaio
+     */
+    public ResultadoClassificacao classificar(PerfilReferencia perfil, double betaHcg, int dumEpochDia,
+                                              int hojeEpochDia) {
+        if (dumEpochDia == DUM_NAO_INFORMADA) {
+            return new ResultadoClassificacao(Classificacao.DUM_NAO_INFORMADA, betaHcg,
+                    ResultadoClassificacao.SEMANAS_NAO_CALCULADAS, Double.NaN, Double.NaN);
+        }
+
+        if (betaHcg < 0) {
+            return new ResultadoClassificacao(Classificacao.VALOR_INVALIDO, betaHcg,
+                    ResultadoClassificacao.SEMANAS_NAO_CALCULADAS, Double.NaN, Double.NaN);
+        }
+
+        TabelaReferencia tabela = perfil.tabela();
+        long semanasGestacionais = ((long) hojeEpochDia - dumEpochDia) / 7;
+        return resultado(tabela, perfil.classificador().classificarCodigo(betaHcg, semanasGestacionais), betaHcg,
+                semanasGestacionais);
+    }
+
+    /**
+     * Versão de {@link #classificarPorDia(double, int, int)} com as faixas de um perfil de referência
+     */
+    public ResultadoClassificacao classificarPorDia(PerfilReferencia perfil, double betaHcg, int dumEpochDia,
+                                                    int hojeEpochDia) {
+        if (dumEpochDia == DUM_NAO_INFORMADA) {
+            return new ResultadoClassificacao(Classificacao.DUM_NAO_INFORMADA, betaHcg,
+                    ResultadoClassificacao.SEMANAS_NAO_CALCULADAS, Double.NaN, Double.NaN);
         }
 
         if (betaHcg < 0) {
-            return "Valor de Beta hCG inválido";
+            return new ResultadoClassificacao(Classificacao.VALOR_INVALIDO, betaHcg,
+                    ResultadoClassificacao.SEMANAS_NAO_CALCULADAS, Double.NaN, Double.NaN);
         }
 
-        Date hoje = new Date();
-        long diferencaMs = hoje.getTime() - ultimaMenstruacao.getTime();
-        long semanasGestacionais = TimeUnit.MILLISECONDS.toDays(diferencaMs) / 7;
+        TabelaReferenciaDiaria tabela = perfil.tabelaDiaria();
+        long dias = (long) hojeEpochDia - dumEpochDia;
+        return resultadoPorDia(tabela, classificarCodigoPorDia(tabela, betaHcg, dias), betaHcg, dias);
+    }
+
+    /**
+     * Versão de {@link #estimarSemanas(double)} com as faixas de um perfil de referência
+     */
+    public SemanasCompativeis estimarSemanas(PerfilReferencia perfil, double betaHcg) {
+        return perfil.indiceReverso().consultar(betaHcg);
+    }
+
+    /**
+     * Versão de {@link #classificarLote(double[], int[], int, int, int, byte[], int[])} com as faixas
+     * de um perfil de referência; todo o lote usa a mesma versão do perfil
+     */
+    public void classificarLote(PerfilReferencia perfil, double[] betaHcg, int[] dumEpochDias, int inicio,
+                                int quantidade, int hojeEpochDia, byte[] codigos, int[] semanas) {
+        verificarLote(betaHcg, dumEpochDias, inicio, quantidade, codigos, semanas);
+        perfil.classificador().classificarIntervalo(betaHcg, dumEpochDias, inicio, inicio + quantidade, hojeEpochDia,
+                codigos, semanas);
+    }
 
-        if (betaHcg < 25) {
-            if (semanasGestacionais < 4) {
-                return "Resultado negativo (<25 mUI/mL): indica que, provavelmente, não há gestação em curso. " +
-                        "Como a DUM é recente (menos de 4 semanas), existe possibilidade de falso negativo, " +
-                        "sendo recomendado repetir o exame em 1 semana.";
+    /**
+     * Classifica um lote de resultados em formato colunar, sem alocar objetos por elemento
+     *
+     * @param betaHcg valores de Beta hCG em mUI/ml
+     * @param dumEpochDias DUM de cada linha em dias desde 01/01/1970, ou {@link #DUM_NAO_INFORMADA}
+     * @param hojeEpochDia data de referência única para todo o lote, em dias desde 01/01/1970
+     * @param codigos recebe o {@link Classificacao#codigo()} de cada linha
+     * @param semanas recebe as semanas gestacionais de cada linha, ou {@link #SEMANAS_NAO_CALCULADAS}
+     */
+    public void classificarLote(double[] betaHcg, int[] dumEpochDias, int hojeEpochDia,
+                                byte[] codigos, int[] semanas) {
+        classificarLote(betaHcg, dumEpochDias, 0, betaHcg.length, hojeEpochDia, codigos, semanas);
+    }
+
+    /**
+     * Classifica as posições {@code [inicio, inicio + quantidade)} de um lote em formato colunar,
+     * gravando os resultados nas mesmas posições de {@code codigos} e {@code semanas}
+     *
+     * @see #classificarLote(double[], int[], int, byte[], int[])
+     */
+    public void classificarLote(double[] betaHcg, int[] dumEpochDias, int inicio, int quantidade,
+                                int hojeEpochDia, byte[] codigos, int[] semanas) {
+        verificarLote(betaHcg, dumEpochDias, inicio, quantidade, codigos, semanas);
+        classificarLoteEscalar(betaHcg, dumEpochDias, inicio, inicio + quantidade, hojeEpochDia, codigos, semanas);
+    }
+
+    /**
+     * Classifica um lote em formato colunar usando instruções SIMD da Vector API
+     *
+     * Produz exatamente os mesmos códigos e semanas de
+     * {@link #classificarLote(double[], int[], int, byte[], int[])}. Quando a JVM não foi iniciada
+     * com {@code --add-modules jdk.incubator.vector}, usa a implementação escalar.
+     *
+     * @see #classificarLote(double[], int[], int, byte[], int[])
+     */
+    public void classificarLoteVetorial(double[] betaHcg, int[] dumEpochDias, int hojeEpochDia,
+                                        byte[] codigos, int[] semanas) {
+        classificarLoteVetorial(betaHcg, dumEpochDias, 0, betaHcg.length, hojeEpochDia, codigos, semanas);
+    }
+
+    /**
+     * Versão vetorial de {@link #classificarLote(double[], int[], int, int, int, byte[], int[])}
+     */
+    public void classificarLoteVetorial(double[] betaHcg, int[] dumEpochDias, int inicio, int quantidade,
+                                        int hojeEpochDia, byte[] codigos, int[] semanas) {
+        verificarLote(betaHcg, dumEpochDias, inicio, quantidade, codigos, semanas);
+        if (VECTOR_API_DISPONIVEL) {
+            ClassificadorVetorial.classificar(betaHcg, dumEpochDias, inicio, inicio + quantidade, hojeEpochDia,
+                    codigos, semanas);
+        } else {
+            classificarLoteEscalar(betaHcg, dumEpochDias, inicio, inicio + quantidade, hojeEpochDia,
+                    codigos, semanas);
+        }
+    }
+
+    /**
+     * Versão em modo diário de {@link #classificarLote(double[], int[], int, int, int, byte[], int[])}
+     *
+     * @param dias recebe os dias de gestação de cada linha, ou {@link #SEMANAS_NAO_CALCULADAS}
+     * @see #classificarPorDia(double, int, int)
+     */
+    public void classificarLotePorDia(double[] betaHcg, int[] dumEpochDias, int inicio, int quantidade,
+                                      int hojeEpochDia, byte[] codigos, int[] dias) {
+        verificarLote(betaHcg, dumEpochDias, inicio, quantidade, codigos, dias);
+        for (int i = inicio, fim = inicio + quantidade; i < fim; i++) {
+            int dum = dumEpochDias[i];
+            double valor = betaHcg[i];
+            if (dum == DUM_NAO_INFORMADA) {
+                codigos[i] = Classificacao.DUM_NAO_INFORMADA.codigo();
+                dias[i] = SEMANAS_NAO_CALCULADAS;
+            } else if (valor < 0) {
+                codigos[i] = Classificacao.VALOR_INVALIDO.codigo();
+                dias[i] = SEMANAS_NAO_CALCULADAS;
             } else {
-                return "Resultado negativo (<25 mUI/mL): indica que, provavelmente, não há gestação em curso.";
+                int diasGestacionais = (int) ((long) hojeEpochDia - dum);
+                codigos[i] = classificarCodigoPorDia(valor, diasGestacionais);
+                dias[i] = diasGestacionais;
             }
         }
+    }
+
+    static void verificarLote(double[] betaHcg, int[] dumEpochDias, int inicio, int quantidade,
+                              byte[] codigos, int[] semanas) {
+        Objects.checkFromIndexSize(inicio, quantidade, betaHcg.length);
+        Objects.checkFromIndexSize(inicio, quantidade, dumEpochDias.length);
+        Objects.checkFromIndexSize(inicio, quantidade, codigos.length);
+        Objects.checkFromIndexSize(inicio, quantidade, semanas.length);
+    }
 
-        if (semanasGestacionais < 3 || semanasGestacionais > 16) {
-            return "Idade gestacional estimada (" + semanasGestacionais + " semanas) está fora do intervalo " +
-                    "de interpretação desta calculadora (3-16 semanas). É necessária avaliação médica.";
+    /**
+     * Laço escalar das APIs de lote, sobre as posições {@code [inicio, fim)} já verificadas
+     */
+    static void classificarLoteEscalar(double[] betaHcg, int[] dumEpochDias, int inicio, int fim,
+                                       int hojeEpochDia, byte[] codigos, int[] semanas) {
+        CLASSIFICADOR_PADRAO.classificarIntervalo(betaHcg, dumEpochDias, inicio, fim, hojeEpochDia, codigos, semanas);
+    }
+
+    /**
+     * Classifica um valor de Beta hCG não negativo, retornando apenas o código da classificação
+     */
+    static byte classificarCodigo(double betaHcg, long semanasGestacionais) {
+        return CLASSIFICADOR_PADRAO.classificarCodigo(betaHcg, semanasGestacionais);
+    }
+
+    /**
+     * Implementação de referência de {@link #classificarCodigo(double, long)}, com as faixas de uma tabela qualquer
+     *
+     * As classificações usam o {@link ClassificadorCompilado} equivalente, que produz os mesmos
+     * códigos sem desvios dependentes do valor; este método fica como especificação e para conferência.
+     * O intervalo de interpretação continua sendo {@link #SEMANA_MINIMA}-{@link #SEMANA_MAXIMA};
+     * semanas dentro dele sem faixa na tabela resultam em {@link Classificacao#SEM_FAIXA_REFERENCIA}.
+     */
+    static byte classificarCodigo(TabelaReferencia tabela, double betaHcg, long semanasGestacionais) {
+        if (betaHcg < LIMITE_NEGATIVO) {
+            return Classificacao.NEGATIVO.codigo();
         }
 
-        double[] faixaAtual = null;
-        for (double[] faixa : FAIXAS_BETA_HCG) {
-            if (faixa[0] == semanasGestacionais) {
-                faixaAtual = faixa;
-                break;
-            }
+        if (semanasGestacionais < SEMANA_MINIMA || semanasGestacionais > SEMANA_MAXIMA) {
+            return Classificacao.FORA_DO_INTERVALO.codigo();
+        }
+
+        if (!tabela.possuiFaixa(semanasGestacionais)) {
+            return Classificacao.SEM_FAIXA_REFERENCIA.codigo();
+        }
+
+        double valorMinimo = tabela.minimo(semanasGestacionais);
+        double valorMaximo = tabela.maximo(semanasGestacionais);
+        if (betaHcg >= valorMinimo && betaHcg <= valorMaximo) {
+            return Classificacao.COMPATIVEL.codigo();
+        } else if (betaHcg < valorMinimo) {
+            return Classificacao.ABAIXO_DO_ESPERADO.codigo();
+        } else {
+            return Classificacao.ACIMA_DO_ESPERADO.codigo();
         }
+    }
 
-        if (faixaAtual == null) {
-            return "Não foi possível determinar a faixa de referência para " + semanasGestacionais + " semanas.";
+    /**
+     * Versão em modo diário de {@link #classificarCodigo(double, long)}, com a faixa da {@link #TABELA_DIARIA_PADRAO}
+     */
+    static byte classificarCodigoPorDia(double betaHcg, long diasGestacionais) {
+        return classificarCodigoPorDia(TABELA_DIARIA_PADRAO, betaHcg, diasGestacionais);
+    }
+
+    private static byte classificarCodigoPorDia(TabelaReferenciaDiaria tabela, double betaHcg,
+                                                long diasGestacionais) {
+        if (betaHcg < LIMITE_NEGATIVO) {
+            return Classificacao.NEGATIVO.codigo();
         }
 
-        double valorMinimo = faixaAtual[1];
-        double valorMaximo = faixaAtual[2];
+        long semanasGestacionais = diasGestacionais / 7;
+        if (semanasGestacionais < SEMANA_MINIMA || semanasGestacionais > SEMANA_MAXIMA) {
+            return Classificacao.FORA_DO_INTERVALO.codigo();
+        }
+
+        if (!tabela.possuiFaixa(diasGestacionais)) {
+            return Classificacao.SEM_FAIXA_REFERENCIA.codigo();
+        }
 
+        double valorMinimo = tabela.minimo(diasGestacionais);
+        double valorMaximo = tabela.maximo(diasGestacionais);
         if (betaHcg >= valorMinimo && betaHcg <= valorMaximo) {
-            return "Resultado positivo compatível com a idade gestacional: o valor de hCG (" +
-                    String.format("%.1f", betaHcg) + " mUI/mL) está dentro do intervalo esperado para " +
-                    semanasGestacionais + " semanas de gestação (" +
-                    String.format("%.0f", valorMinimo) + "-" + String.format("%.0f", valorMaximo) + " mUI/mL).";
+            return Classificacao.COMPATIVEL.codigo();
         } else if (betaHcg < valorMinimo) {
-            return "Resultado positivo abaixo do esperado: o valor de hCG (" +
-                    String.format("%.1f", betaHcg) + " mUI/mL) está abaixo do intervalo esperado para " +
-                    semanasGestacionais + " semanas (" + String.format("%.0f", valorMinimo) + "-" +
-                    String.format("%.0f", valorMaximo) + " mUI/mL). Pode indicar problemas na evolução da " +
-                    "gravidez ou datação incorreta; é necessário acompanhamento médico.";
+            return Classificacao.ABAIXO_DO_ESPERADO.codigo();
         } else {
-            return "Resultado positivo acima do esperado: o valor de hCG (" +
-                    String.format("%.1f", betaHcg) + " mUI/mL) está acima do intervalo esperado para " +
-                    semanasGestacionais + " semanas (" + String.format("%.0f", valorMinimo) + "-" +
-                    String.format("%.0f", valorMaximo) + " mUI/mL). Pode sugerir uma gestação gemelar ou " +
-                    "erro de datação; também deve ser avaliado por um profissional de saúde.";
+            return Classificacao.ACIMA_DO_ESPERADO.codigo();
+        }
+    }
+
+    /**
+     * Classifica um valor de Beta hCG não negativo para a idade gestacional já calculada
+     */
+    ResultadoClassificacao classificar(double betaHcg, long semanasGestacionais) {
+        return resultado(classificarCodigo(betaHcg, semanasGestacionais), betaHcg, semanasGestacionais);
+    }
+
+    /**
+     * Monta o resultado estruturado correspondente a um código já calculado pelas APIs de lote
+     */
+    static ResultadoClassificacao resultado(byte codigo, double betaHcg, long semanasGestacionais) {
+        return resultado(TABELA_PADRAO, codigo, betaHcg, semanasGestacionais);
+    }
+
+    /**
+     * Versão de {@link #resultado(byte, double, long)} com as faixas de uma tabela qualquer
+     */
+    static ResultadoClassificacao resultado(TabelaReferencia tabela, byte codigo, double betaHcg,
+                                            long semanasGestacionais) {
+        Classificacao classificacao = Classificacao.deCodigo(codigo);
+        double valorMinimo = Double.NaN;
+        double valorMaximo = Double.NaN;
+        if (classificacao.usaFaixaReferencia()) {
+            valorMinimo = tabela.minimo(semanasGestacionais);
+            valorMaximo = tabela.maximo(semanasGestacionais);
+        }
+        return new ResultadoClassificacao(classificacao, betaHcg, semanasGestacionais, valorMinimo, valorMaximo);
+    }
+
+    /**
+     * Monta o resultado estruturado de um código calculado no modo diário
+     *
+     * @param diasGestacionais dias de gestação, ou {@link #SEMANAS_NAO_CALCULADAS}
+     */
+    static ResultadoClassificacao resultadoPorDia(byte codigo, double betaHcg, long diasGestacionais) {
+        return resultadoPorDia(TABELA_DIARIA_PADRAO, codigo, betaHcg, diasGestacionais);
+    }
+
+    private static ResultadoClassificacao resultadoPorDia(TabelaReferenciaDiaria tabela, byte codigo,
+                                                          double betaHcg, long diasGestacionais) {
+        Classificacao classificacao = Classificacao.deCodigo(codigo);
+        if (diasGestacionais == SEMANAS_NAO_CALCULADAS) {
+            return new ResultadoClassificacao(classificacao, betaHcg, ResultadoClassificacao.SEMANAS_NAO_CALCULADAS,
+                    Double.NaN, Double.NaN);
+        }
+        double valorMinimo = Double.NaN;
+        double valorMaximo = Double.NaN;
+        if (classificacao.usaFaixaReferencia()) {
+            valorMinimo = tabela.minimo(diasGestacionais);
+            valorMaximo = tabela.maximo(diasGestacionais);
         }
+        return new ResultadoClassificacao(classificacao, betaHcg, diasGestacionais / 7, valorMinimo, valorMaximo);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package org.example;
+
+import java.util.Date;
+
+/**
+ * {@link CalculadoraIdadeGestacional} que registra contadores por classificação e latências
+ * em uma instância de {@link MetricasClassificacao}
+ *
+ * Pode substituir a calculadora em qualquer ponto (lote CSV, servidor HTTP). Com as métricas
+ * desligadas, cada chamada apenas consulta a flag e delega para a implementação original.
+ */
+public class CalculadoraInstrumentada extends CalculadoraIdadeGestacional {
+
+    private final MetricasClassificacao metricas;
+
+    public CalculadoraInstrumentada(MetricasClassificacao metricas) {
+        this(metricas, ContextoAvaliacao.sistema());
+    }
+
+    public CalculadoraInstrumentada(MetricasClassificacao metricas, ContextoAvaliacao contexto) {
+        super(contexto);
+        this.metricas = metricas;
+    }
+
+    public MetricasClassificacao metricas() {
+        return metricas;
+    }
+
+    @Override
+    public ResultadoClassificacao classificar(double betaHcg, Date ultimaMenstruacao) {
+        if (!metricas.isAtivo()) {
+            return super.classificar(betaHcg, ultimaMenstruacao);
+        }
+        long inicio = System.nanoTime();
+        ResultadoClassificacao resultado = super.classificar(betaHcg, ultimaMenstruacao);
+        metricas.registrar(resultado.classificacao(), System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    @Override
+    public ResultadoClassificacao classificar(double betaHcg, int dumEpochDia, int hojeEpochDia) {
+        if (!metricas.isAtivo()) {
+            return super.classificar(betaHcg, dumEpochDia, hojeEpochDia);
+        }
+        long inicio = System.nanoTime();
+        ResultadoClassificacao resultado = super.classificar(betaHcg, dumEpochDia, hojeEpochDia);
+        metricas.registrar(resultado.classificacao(), System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    @Override
+    public void classificarLote(double[] betaHcg, int[] dumEpochDias, int inicio, int quantidade,
+                                int hojeEpochDia, byte[] codigos, int[] semanas) {
+        if (!metricas.isAtivo()) {
+            super.classificarLote(betaHcg, dumEpochDias, inicio, quantidade, hojeEpochDia, codigos, semanas);
+            return;
+        }
+        long comeco = System.nanoTime();
+        super.classificarLote(betaHcg, dumEpochDias, inicio, quantidade, hojeEpochDia, codigos, semanas);
+        metricas.registrarLote(codigos, inicio, inicio + quantidade, System.nanoTime() - comeco);
+    }
+
+    @Override
+    public void classificarLoteVetorial(double[] betaHcg, int[] dumEpochDias, int inicio, int quantidade,
+                                        int hojeEpochDia, byte[] codigos, int[] semanas) {
+        if (!metricas.isAtivo()) {
+            super.classificarLoteVetorial(betaHcg, dumEpochDias, inicio, quantidade, hojeEpochDia, codigos, semanas);
+            return;
+        }
+        long comeco = System.nanoTime();
+        super.classificarLoteVetorial(betaHcg, dumEpochDias, inicio, quantidade, hojeEpochDia, codigos, semanas);
+        metricas.registrarLote(codigos, inicio, inicio + quantidade, System.nanoTime() - comeco);
+    }
+
+    @Override
+    public ResultadoClassificacao classificarPorDia(double betaHcg, int dumEpochDia, int hojeEpochDia) {
+        if (!metricas.isAtivo()) {
+            return super.classificarPorDia(betaHcg, dumEpochDia, hojeEpochDia);
+        }
+        long inicio = System.nanoTime();
+        ResultadoClassificacao resultado = super.classificarPorDia(betaHcg, dumEpochDia, hojeEpochDia);
+        metricas.registrar(resultado.classificacao(), System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    @Override
+    public ResultadoClassificacao classificar(PerfilReferencia perfil, double betaHcg, int dumEpochDia,
+                                              int hojeEpochDia) {
+        if (!metricas.isAtivo()) {
+            return super.classificar(perfil, betaHcg, dumEpochDia, hojeEpochDia);
+        }
+        long inicio = System.nanoTime();
+        ResultadoClassificacao resultado = super.classificar(perfil, betaHcg, dumEpochDia, hojeEpochDia);
+        metricas.registrar(resultado.classificacao(), System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    @Override
+    public ResultadoClassificacao classificarPorDia(PerfilReferencia perfil, double betaHcg, int dumEpochDia,
+                                                    int hojeEpochDia) {
+        if (!metricas.isAtivo()) {
+            return super.classificarPorDia(perfil, betaHcg, dumEpochDia, hojeEpochDia);
+        }
+        long inicio = System.nanoTime();
+        ResultadoClassificacao resultado = super.classificarPorDia(perfil, betaHcg, dumEpochDia, hojeEpochDia);
+        metricas.registrar(resultado.classificacao(), System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    @Override
+    public void classificarLote(PerfilReferencia perfil, double[] betaHcg, int[] dumEpochDias, int inicio,
+                                int quantidade, int hojeEpochDia, byte[] codigos, int[] semanas) {
+        if (!metricas.isAtivo()) {
+            super.classificarLote(perfil, betaHcg, dumEpochDias, inicio, quantidade, hojeEpochDia, codigos, semanas);
+            return;
+        }
+        long comeco = System.nanoTime();
+        super.classificarLote(perfil, betaHcg, dumEpochDias, inicio, quantidade, hojeEpochDia, codigos, semanas);
+        metricas.registrarLote(codigos, inicio, inicio + quantidade, System.nanoTime() - comeco);
+    }
+
+    @Override
+    public SemanasCompativeis estimarSemanas(double betaHcg) {
+        if (metricas.isAtivo()) {
+            metricas.registrarEstimativa();
+        }
+        return super.estimarSemanas(betaHcg);
+    }
+
+    @Override
+    public SemanasCompativeis estimarSemanas(PerfilReferencia perfil, double betaHcg) {
+        if (metricas.isAtivo()) {
+            metricas.registrarEstimativa();
+        }
+        return super.estimarSemanas(perfil, betaHcg);
+    }
+
+    @Override
+    public void classificarLotePorDia(double[] betaHcg, int[] dumEpochDias, int inicio, int quantidade,
+                                      int hojeEpochDia, byte[] codigos, int[] dias) {
+        if (!metricas.isAtivo()) {
+            super.classificarLotePorDia(betaHcg, dumEpochDias, inicio, quantidade, hojeEpochDia, codigos, dias);
+            return;
+        }
+        long comeco = System.nanoTime();
+        super.classificarLotePorDia(betaHcg, dumEpochDias, inicio, quantidade, hojeEpochDia, codigos, dias);
+        metricas.registrarLote(codigos, inicio, inicio + quantidade, System.nanoTime() - comeco);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example;
+
+/**
+ * Categorias de interpretação do resultado de Beta hCG
+ *
+ * Cada categoria possui um código estável de um byte, usado pelas APIs de lote
+ * para representar o resultado sem alocar objetos.
+ */
+public enum Classificacao {
+
+    /** Data da última menstruação ausente */
+    DUM_NAO_INFORMADA(0),
+
+    /** Valor de Beta hCG negativo */
+    VALOR_INVALIDO(1),
+
+    /** Beta hCG abaixo de 25 mUI/mL */
+    NEGATIVO(2),
+
+    /** Idade gestacional fora do intervalo de interpretação */
+    FORA_DO_INTERVALO(3),
+
+    /** Não há faixa de referência para a semana calculada */
+    SEM_FAIXA_REFERENCIA(4),
+
+    /** Valor dentro da faixa esperada para a semana */
+    COMPATIVEL(5),
+
+    /** Valor abaixo da faixa esperada para a semana */
+    ABAIXO_DO_ESPERADO(6),
+
+    /** Valor acima da faixa esperada para a semana */
+    ACIMA_DO_ESPERADO(7);
+
+    private static final Classificacao[] POR_CODIGO = values();
+
+    private final byte codigo;
+
+    Classificacao(int codigo) {
+        this.codigo = (byte) codigo;
+    }
+
+    /**
+     * @return código de um byte que identifica a categoria
+     */
+    public byte codigo() {
+        return codigo;
+    }
+
+    /**
+     * @return true se a categoria foi obtida comparando o valor com uma faixa de referência
+     */
+    public boolean usaFaixaReferencia() {
+        return this == COMPATIVEL || this == ABAIXO_DO_ESPERADO || this == ACIMA_DO_ESPERADO;
+    }
+
+    /**
+     * Obtém a categoria correspondente a um código
+     *
+     * @param codigo código retornado por {@link #codigo()}
+     * @return categoria correspondente
+     */
+    public static Classificacao deCodigo(byte codigo) {
+        if (codigo < 0 || codigo >= POR_CODIGO.length) {
+            throw new IllegalArgumentException("Código de classificação desconhecido: " + codigo);
+        }
+        return POR_CODIGO[codigo];
+    }
+}
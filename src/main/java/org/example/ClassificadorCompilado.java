@@ -0,0 +1,150 @@
+package org.example;
+
+/**
+ * Classificador semanal especializado para uma {@link TabelaReferencia}, sem a cadeia de desvios
+ * de {@link CalculadoraIdadeGestacional#classificarCodigo(TabelaReferencia, double, long)}
+ *
+ * A compilação resolve antecipadamente tudo o que depende apenas da tabela. Cada semana do intervalo
+ * de interpretação vira uma posição de um único vetor, com o limite inferior, o limite superior e os
+ * quatro códigos possíveis empacotados; as semanas fora do intervalo e as sem faixa viram posições
+ * cujos códigos são todos {@link Classificacao#FORA_DO_INTERVALO} ou
+ * {@link Classificacao#SEM_FAIXA_REFERENCIA}. Os limites são ajustados de modo que as três comparações
+ * do valor (limite negativo, mínimo e máximo) sejam monótonas, e a quantidade de comparações
+ * satisfeitas escolhe o código. As comparações são subtrações sobre os bits do double, sem desvios
+ * dependentes do valor ou da semana, de modo que dados variados não causam erros de previsão.
+ *
+ * Produz exatamente os mesmos códigos do método original, inclusive para NaN e infinito. É imutável
+ * e pode ser usado por várias threads ao mesmo tempo.
+ */
+public final class ClassificadorCompilado {
+
+    private static final double LIMITE_NEGATIVO = CalculadoraIdadeGestacional.LIMITE_NEGATIVO;
+
+    private static final long BITS_LIMITE_NEGATIVO = Double.doubleToLongBits(LIMITE_NEGATIVO);
+
+    /** Quantidade de semanas do intervalo de interpretação */
+    private static final int SEMANAS = CalculadoraIdadeGestacional.SEMANA_MAXIMA
+            - CalculadoraIdadeGestacional.SEMANA_MINIMA + 1;
+
+    /** Posição das semanas antes do intervalo; a semana mínima fica na posição 1 */
+    private static final int POSICAO_ANTES = 0;
+
+    /** Posição das semanas depois do intervalo */
+    private static final int POSICAO_DEPOIS = SEMANAS + 1;
+
+    /** Quantidade de longs por posição */
+    private static final int TAMANHO_POSICAO = 3;
+
+    private final TabelaReferencia tabela;
+
+    /**
+     * Por posição: bits do limite inferior, bits do sucessor do limite superior e os códigos negativo,
+     * abaixo, compatível e acima, um por byte. Para doubles não negativos, a ordem dos bits lidos como
+     * long é a mesma ordem numérica.
+     */
+    private final long[] posicoes;
+
+    private ClassificadorCompilado(TabelaReferencia tabela, long[] posicoes) {
+        this.tabela = tabela;
+        this.posicoes = posicoes;
+    }
+
+    /**
+     * Compila o classificador para as faixas de uma tabela
+     *
+     * @param tabela faixas de referência; semanas fora de {@code 3-16} são ignoradas, como no método original
+     * @return classificador pronto para uso
+     */
+    public static ClassificadorCompilado compilar(TabelaReferencia tabela) {
+        long[] posicoes = new long[(SEMANAS + 2) * TAMANHO_POSICAO];
+        preencherConstante(posicoes, POSICAO_ANTES, Classificacao.FORA_DO_INTERVALO);
+        preencherConstante(posicoes, POSICAO_DEPOIS, Classificacao.FORA_DO_INTERVALO);
+
+        for (int posicao = 1; posicao <= SEMANAS; posicao++) {
+            long semana = CalculadoraIdadeGestacional.SEMANA_MINIMA + posicao - 1;
+            if (!tabela.possuiFaixa(semana)) {
+                preencherConstante(posicoes, posicao, Classificacao.SEM_FAIXA_REFERENCIA);
+                continue;
+            }
+            // Para valores a partir do limite negativo, "valor >= mínimo" e "valor > máximo" não mudam
+            // com o ajuste; abaixo dele, as duas comparações passam a ser sempre falsas
+            double minimo = Math.max(tabela.minimo(semana), LIMITE_NEGATIVO);
+            double maximo = Math.max(tabela.maximo(semana), Math.nextDown(LIMITE_NEGATIVO));
+            preencher(posicoes, posicao, Double.doubleToLongBits(minimo), Double.doubleToLongBits(Math.nextUp(maximo)),
+                    Classificacao.ABAIXO_DO_ESPERADO, Classificacao.COMPATIVEL, Classificacao.ACIMA_DO_ESPERADO);
+        }
+        return new ClassificadorCompilado(tabela, posicoes);
+    }
+
+    private static void preencherConstante(long[] posicoes, int posicao, Classificacao codigo) {
+        preencher(posicoes, posicao, BITS_LIMITE_NEGATIVO, BITS_LIMITE_NEGATIVO, codigo, codigo, codigo);
+    }
+
+    private static void preencher(long[] posicoes, int posicao, long minimo, long sucessorMaximo,
+                                  Classificacao abaixo, Classificacao compativel, Classificacao acima) {
+        int base = posicao * TAMANHO_POSICAO;
+        posicoes[base] = minimo;
+        posicoes[base + 1] = sucessorMaximo;
+        posicoes[base + 2] = (Classificacao.NEGATIVO.codigo() & 0xFF) | (abaixo.codigo() & 0xFF) << 8
+                | (compativel.codigo() & 0xFF) << 16 | (acima.codigo() & 0xFF) << 24;
+    }
+
+    /**
+     * @return tabela a partir da qual o classificador foi compilado
+     */
+    public TabelaReferencia tabela() {
+        return tabela;
+    }
+
+    /**
+     * Classifica um valor de Beta hCG não negativo para a idade gestacional já calculada
+     *
+     * @return o {@link Classificacao#codigo()} do resultado
+     */
+    public byte classificarCodigo(double betaHcg, long semanasGestacionais) {
+        int posicao = (int) Math.min(Math.max(semanasGestacionais - CalculadoraIdadeGestacional.SEMANA_MINIMA + 1,
+                POSICAO_ANTES), POSICAO_DEPOIS);
+        int base = posicao * TAMANHO_POSICAO;
+        long[] posicoes = this.posicoes;
+
+        // Negativos, inclusive -0.0, passam a 0 e caem em "negativo"; NaN tem bits acima de qualquer
+        // limite finito e cai em "acima" ou no código constante da posição, como no método original
+        long bits = Math.max(Double.doubleToLongBits(betaHcg), 0);
+        long selecao = 3 - ((bits - BITS_LIMITE_NEGATIVO) >>> 63)
+                - ((bits - posicoes[base]) >>> 63)
+                - ((bits - posicoes[base + 1]) >>> 63);
+        return (byte) (posicoes[base + 2] >>> (selecao << 3));
+    }
+
+    /**
+     * Versão de {@link CalculadoraIdadeGestacional#classificarLote(double[], int[], int, int, int, byte[], int[])}
+     * com este classificador
+     */
+    public void classificarLote(double[] betaHcg, int[] dumEpochDias, int inicio, int quantidade,
+                                int hojeEpochDia, byte[] codigos, int[] semanas) {
+        CalculadoraIdadeGestacional.verificarLote(betaHcg, dumEpochDias, inicio, quantidade, codigos, semanas);
+        classificarIntervalo(betaHcg, dumEpochDias, inicio, inicio + quantidade, hojeEpochDia, codigos, semanas);
+    }
+
+    /**
+     * Laço de {@link #classificarLote}, sobre as posições {@code [inicio, fim)} já verificadas
+     */
+    void classificarIntervalo(double[] betaHcg, int[] dumEpochDias, int inicio, int fim, int hojeEpochDia,
+                              byte[] codigos, int[] semanas) {
+        for (int i = inicio; i < fim; i++) {
+            int dum = dumEpochDias[i];
+            double valor = betaHcg[i];
+            if (dum == CalculadoraIdadeGestacional.DUM_NAO_INFORMADA) {
+                codigos[i] = Classificacao.DUM_NAO_INFORMADA.codigo();
+                semanas[i] = CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS;
+            } else if (valor < 0) {
+                codigos[i] = Classificacao.VALOR_INVALIDO.codigo();
+                semanas[i] = CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS;
+            } else {
+                int semanasGestacionais = (int) (((long) hojeEpochDia - dum) / 7);
+                codigos[i] = classificarCodigo(valor, semanasGestacionais);
+                semanas[i] = semanasGestacionais;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.example;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Classificação em lote com a Vector API (jdk.incubator.vector)
+ *
+ * Cada iteração compara uma pista inteira de valores de Beta hCG com os mínimos e máximos
+ * das semanas correspondentes, lidos da {@link TabelaReferencia} por gather. Os códigos são
+ * combinados por blend na ordem inversa de prioridade dos ramos da
+ * {@link CalculadoraIdadeGestacional}, de modo que o resultado é idêntico ao do laço escalar,
+ * inclusive para NaN. As posições que não completam uma pista são tratadas pelo laço escalar.
+ *
+ * Só deve ser carregada quando o módulo jdk.incubator.vector estiver presente.
+ */
+final class ClassificadorVetorial {
+
+    /** Forma preferida da plataforma, com no mínimo 128 bits para que exista a espécie de int correspondente */
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED.vectorBitSize() >= 128
+            ? DoubleVector.SPECIES_PREFERRED : DoubleVector.SPECIES_128;
+    private static final VectorSpecies<Integer> ESPECIE_INT =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(ESPECIE.vectorBitSize() / 2));
+    private static final int PISTAS = ESPECIE.length();
+    /** Menor espécie de byte com ao menos {@link #PISTAS} pistas; com 4 pistas de double, sobram 4 de byte */
+    private static final VectorSpecies<Byte> ESPECIE_BYTE =
+            VectorSpecies.of(byte.class, VectorShape.forBitSize(Math.max(64, PISTAS * Byte.SIZE)));
+    /** Restringe a gravação dos códigos às {@link #PISTAS} primeiras pistas */
+    private static final VectorMask<Byte> PISTAS_BYTE = ESPECIE_BYTE.indexInRange(0, PISTAS);
+
+    private static final double[] MINIMOS;
+    private static final double[] MAXIMOS;
+    private static final int SEMANA_INICIAL_TABELA;
+
+    static {
+        TabelaReferencia tabela = CalculadoraIdadeGestacional.TABELA_PADRAO;
+        SEMANA_INICIAL_TABELA = tabela.semanaInicial();
+        int semanas = tabela.semanaFinal() - tabela.semanaInicial() + 1;
+        MINIMOS = new double[semanas];
+        MAXIMOS = new double[semanas];
+        for (int i = 0; i < semanas; i++) {
+            int semana = SEMANA_INICIAL_TABELA + i;
+            MINIMOS[i] = tabela.possuiFaixa(semana) ? tabela.minimo(semana) : Double.NaN;
+            MAXIMOS[i] = tabela.possuiFaixa(semana) ? tabela.maximo(semana) : Double.NaN;
+        }
+    }
+
+    private ClassificadorVetorial() {
+    }
+
+    /**
+     * Classifica as posições {@code [inicio, fim)}, já verificadas pelo chamador
+     */
+    static void classificar(double[] betaHcg, int[] dumEpochDias, int inicio, int fim, int hojeEpochDia,
+                            byte[] codigos, int[] semanas) {
+        DoubleVector hoje = DoubleVector.broadcast(ESPECIE, hojeEpochDia);
+        int ultimaPosicaoTabela = MINIMOS.length - 1;
+
+        int i = inicio;
+        for (; i + PISTAS <= fim; i += PISTAS) {
+            DoubleVector valor = DoubleVector.fromArray(ESPECIE, betaHcg, i);
+            IntVector dum = IntVector.fromArray(ESPECIE_INT, dumEpochDias, i);
+
+            // Diferença calculada em double: exata e sem estouro mesmo para DUM_NAO_INFORMADA
+            DoubleVector dias = hoje.sub((DoubleVector) dum.convertShape(VectorOperators.I2D, ESPECIE, 0));
+            IntVector semana = (IntVector) dias.div(7.0).convertShape(VectorOperators.D2I, ESPECIE_INT, 0);
+
+            IntVector indice = semana.sub(SEMANA_INICIAL_TABELA);
+            VectorMask<Integer> foraDaTabela = indice.compare(VectorOperators.UNSIGNED_GT, ultimaPosicaoTabela);
+            // O gather exige os índices em um int[]: o trecho de semanas desta pista serve de rascunho,
+            // sem alocação, e é sobrescrito com as semanas no fim da iteração
+            indice.blend(0, foraDaTabela).intoArray(semanas, i);
+            DoubleVector minimo = DoubleVector.fromArray(ESPECIE, MINIMOS, 0, semanas, i);
+            DoubleVector maximo = DoubleVector.fromArray(ESPECIE, MAXIMOS, 0, semanas, i);
+
+            VectorMask<Integer> semDum =
+                    dum.compare(VectorOperators.EQ, CalculadoraIdadeGestacional.DUM_NAO_INFORMADA);
+            VectorMask<Integer> invalido = valor.compare(VectorOperators.LT, 0).cast(ESPECIE_INT);
+            VectorMask<Integer> semFaixa = foraDaTabela.or(minimo.test(VectorOperators.IS_NAN).cast(ESPECIE_INT));
+            VectorMask<Integer> foraDoIntervalo =
+                    semana.compare(VectorOperators.LT, CalculadoraIdadeGestacional.SEMANA_MINIMA)
+                            .or(semana.compare(VectorOperators.GT, CalculadoraIdadeGestacional.SEMANA_MAXIMA));
+
+            IntVector codigo = IntVector.broadcast(ESPECIE_INT, Classificacao.ACIMA_DO_ESPERADO.codigo())
+                    .blend(Classificacao.ABAIXO_DO_ESPERADO.codigo(),
+                            valor.compare(VectorOperators.LT, minimo).cast(ESPECIE_INT))
+                    .blend(Classificacao.COMPATIVEL.codigo(),
+                            valor.compare(VectorOperators.GE, minimo)
+                                    .and(valor.compare(VectorOperators.LE, maximo)).cast(ESPECIE_INT))
+                    .blend(Classificacao.SEM_FAIXA_REFERENCIA.codigo(), semFaixa)
+                    .blend(Classificacao.FORA_DO_INTERVALO.codigo(), foraDoIntervalo)
+                    .blend(Classificacao.NEGATIVO.codigo(),
+                            valor.compare(VectorOperators.LT, CalculadoraIdadeGestacional.LIMITE_NEGATIVO)
+                                    .cast(ESPECIE_INT))
+                    .blend(Classificacao.VALOR_INVALIDO.codigo(), invalido)
+                    .blend(Classificacao.DUM_NAO_INFORMADA.codigo(), semDum);
+
+            ((ByteVector) codigo.convertShape(VectorOperators.I2B, ESPECIE_BYTE, 0))
+                    .intoArray(codigos, i, PISTAS_BYTE);
+            semana.blend(CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS, semDum.or(invalido))
+                    .intoArray(semanas, i);
+        }
+
+        CalculadoraIdadeGestacional.classificarLoteEscalar(betaHcg, dumEpochDias, i, fim, hojeEpochDia,
+                codigos, semanas);
+    }
+}
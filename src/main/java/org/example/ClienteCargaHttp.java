@@ -0,0 +1,87 @@
+package org.example;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de carga local para o {@link ServidorHttp}
+ *
+ * Dispara requisições de classificação individual a partir de várias virtual threads e informa
+ * a vazão (requisições/s) e as latências p50, p99 e máxima.
+ *
+ * Uso: {@code ClienteCargaHttp [url base] [concorrência] [requisições por cliente]}
+ */
+public class ClienteCargaHttp {
+
+    public static void main(String[] args) throws Exception {
+        String urlBase = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concorrencia = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int requisicoesPorCliente = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+        String dum = LocalDate.now().minusWeeks(6).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        URI uri = URI.create(urlBase + "/classificar?betaHcg=20000&dum=" + dum);
+
+        // Aquecimento, fora da medição
+        executar(uri, concorrencia, Math.max(1, requisicoesPorCliente / 10), null);
+
+        long[] latencias = new long[concorrencia * requisicoesPorCliente];
+        long inicio = System.nanoTime();
+        long falhas = executar(uri, concorrencia, requisicoesPorCliente, latencias);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        Arrays.sort(latencias);
+        System.out.printf("Requisições: %d (%d falhas) em %.2f s%n", latencias.length, falhas, segundos);
+        System.out.printf("Vazão: %.0f requisições/s%n", latencias.length / segundos);
+        System.out.printf("Latência p50: %.3f ms, p99: %.3f ms, máxima: %.3f ms%n",
+                percentil(latencias, 0.50) / 1e6, percentil(latencias, 0.99) / 1e6,
+                latencias[latencias.length - 1] / 1e6);
+    }
+
+    /**
+     * Executa as requisições, gravando a latência de cada uma (em ns) se {@code latencias} não for null
+     *
+     * @return quantidade de respostas com status diferente de 200 ou com erro de rede
+     */
+    private static long executar(URI uri, int concorrencia, int requisicoesPorCliente, long[] latencias)
+            throws InterruptedException {
+        AtomicLong falhas = new AtomicLong();
+        HttpRequest requisicao = HttpRequest.newBuilder(uri).GET().build();
+        try (HttpClient cliente = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concorrencia; c++) {
+                int deslocamento = c * requisicoesPorCliente;
+                executor.submit(() -> {
+                    for (int i = 0; i < requisicoesPorCliente; i++) {
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta =
+                                    cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() != 200) {
+                                falhas.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            falhas.incrementAndGet();
+                        }
+                        if (latencias != null) {
+                            latencias[deslocamento + i] = System.nanoTime() - inicio;
+                        }
+                    }
+                });
+            }
+        }
+        return falhas.get();
+    }
+
+    private static long percentil(long[] ordenados, double fracao) {
+        int indice = (int) Math.ceil(fracao * ordenados.length) - 1;
+        return ordenados[Math.max(0, indice)];
+    }
+}
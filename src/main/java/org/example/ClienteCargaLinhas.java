@@ -0,0 +1,174 @@
+package org.example;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de carga local para o {@link ServidorLinhas}
+ *
+ * Abre conexões ociosas, que ficam apenas ocupando o servidor, e conexões ativas, cada uma em
+ * uma virtual thread. Cada conexão ativa envia rajadas de linhas sem esperar as respostas e só
+ * então lê todas as respostas da rajada. Informa a vazão (linhas/s) e as latências p50, p99 e
+ * máxima por rajada, calculadas apenas sobre as rajadas concluídas: as que uma conexão com falha
+ * não chegou a completar ficam fora da medição.
+ *
+ * Uso: {@code ClienteCargaLinhas [host] [porta] [conexões ativas] [linhas por rajada] [rajadas por conexão]
+ * [conexões ociosas]}
+ */
+public class ClienteCargaLinhas {
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int porta = args.length > 1 ? Integer.parseInt(args[1]) : 9090;
+        int ativas = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+        int linhasPorRajada = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+        int rajadas = args.length > 4 ? Integer.parseInt(args[4]) : 2000;
+        int ociosas = args.length > 5 ? Integer.parseInt(args[5]) : 2000;
+
+        InetSocketAddress endereco = new InetSocketAddress(host, porta);
+        byte[] rajada = montarRajada(linhasPorRajada);
+
+        List<SocketChannel> conexoesOciosas = new ArrayList<>(ociosas);
+        try {
+            for (int i = 0; i < ociosas; i++) {
+                conexoesOciosas.add(SocketChannel.open(endereco));
+            }
+            System.out.printf("%d conexões ociosas abertas%n", ociosas);
+
+            // Aquecimento, fora da medição
+            executar(endereco, rajada, linhasPorRajada, ativas, Math.max(1, rajadas / 10), null, null);
+
+            long[] latencias = new long[ativas * rajadas];
+            int[] concluidas = new int[ativas];
+            long inicio = System.nanoTime();
+            long falhas = executar(endereco, rajada, linhasPorRajada, ativas, rajadas, latencias, concluidas);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            latencias = medidas(latencias, rajadas, concluidas);
+            long linhas = (long) latencias.length * linhasPorRajada;
+            System.out.printf("Linhas: %d (%d conexões com falha) em %.2f s%n", linhas, falhas, segundos);
+            if (latencias.length == 0) {
+                System.out.println("Nenhuma rajada concluída");
+                return;
+            }
+            Arrays.sort(latencias);
+            System.out.printf("Vazão: %.0f linhas/s%n", linhas / segundos);
+            System.out.printf("Latência por rajada de %d linhas p50: %.3f ms, p99: %.3f ms, máxima: %.3f ms%n",
+                    linhasPorRajada, percentil(latencias, 0.50) / 1e6, percentil(latencias, 0.99) / 1e6,
+                    latencias[latencias.length - 1] / 1e6);
+        } finally {
+            for (SocketChannel conexao : conexoesOciosas) {
+                conexao.close();
+            }
+        }
+    }
+
+    /**
+     * Latências das rajadas concluídas, sem as posições que as conexões com falha deixaram vazias
+     *
+     * @param concluidas rajadas concluídas por conexão; as de cada conexão ocupam o início da sua faixa
+     */
+    private static long[] medidas(long[] latencias, int rajadas, int[] concluidas) {
+        int total = 0;
+        for (int quantidade : concluidas) {
+            total += quantidade;
+        }
+        long[] medidas = new long[total];
+        int posicao = 0;
+        for (int c = 0; c < concluidas.length; c++) {
+            System.arraycopy(latencias, c * rajadas, medidas, posicao, concluidas[c]);
+            posicao += concluidas[c];
+        }
+        return medidas;
+    }
+
+    /**
+     * Linhas variadas, com DUMs de 3 a 17 semanas atrás, uma sem DUM e uma inválida a cada 100
+     */
+    private static byte[] montarRajada(int linhas) {
+        StringBuilder texto = new StringBuilder(linhas * 20);
+        LocalDate hoje = LocalDate.now();
+        for (int i = 0; i < linhas; i++) {
+            if (i % 100 == 98) {
+                texto.append(i * 211 % 300_000).append(";\n");
+            } else if (i % 100 == 99) {
+                texto.append("abc;01/01/2024\n");
+            } else {
+                texto.append(25 + i * 977 % 300_000).append(';').append(hoje.minusDays(21 + i % 100)).append('\n');
+            }
+        }
+        return texto.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Executa as rajadas, gravando a latência de cada uma (em ns) se {@code latencias} não for null
+     *
+     * @param concluidas recebe, por conexão, quantas rajadas foram concluídas; pode ser null
+     * @return quantidade de conexões ativas encerradas por erro
+     */
+    private static long executar(InetSocketAddress endereco, byte[] rajada, int linhasPorRajada, int ativas,
+                                 int rajadas, long[] latencias, int[] concluidas) throws InterruptedException {
+        AtomicLong falhas = new AtomicLong();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < ativas; c++) {
+                int conexao = c;
+                int deslocamento = c * rajadas;
+                executor.submit(() -> {
+                    ByteBuffer envio = ByteBuffer.wrap(rajada);
+                    ByteBuffer resposta = ByteBuffer.allocate(64 * 1024);
+                    try (SocketChannel canal = SocketChannel.open(endereco)) {
+                        for (int r = 0; r < rajadas; r++) {
+                            long inicio = System.nanoTime();
+                            envio.clear();
+                            while (envio.hasRemaining()) {
+                                canal.write(envio);
+                            }
+                            lerRespostas(canal, resposta, linhasPorRajada);
+                            if (latencias != null) {
+                                latencias[deslocamento + r] = System.nanoTime() - inicio;
+                            }
+                            if (concluidas != null) {
+                                // Lido só depois que o executor termina, o que garante a visibilidade
+                                concluidas[conexao] = r + 1;
+                            }
+                        }
+                    } catch (IOException e) {
+                        falhas.incrementAndGet();
+                    }
+                });
+            }
+        }
+        return falhas.get();
+    }
+
+    private static void lerRespostas(SocketChannel canal, ByteBuffer buffer, int linhas) throws IOException {
+        int recebidas = 0;
+        while (recebidas < linhas) {
+            buffer.clear();
+            if (canal.read(buffer) < 0) {
+                throw new IOException("Conexão encerrada pelo servidor");
+            }
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < buffer.position(); i++) {
+                if (bytes[i] == '\n') {
+                    recebidas++;
+                }
+            }
+        }
+    }
+
+    private static long percentil(long[] ordenados, double fracao) {
+        int indice = (int) Math.ceil(fracao * ordenados.length) - 1;
+        return ordenados[Math.max(0, indice)];
+    }
+}
@@ -0,0 +1,24 @@
+package org.example;
+
+import java.io.IOException;
+
+/**
+ * Recebe cada janela de registros já classificada por um leitor em lote
+ *
+ * Os vetores pertencem ao leitor e são reaproveitados na janela seguinte: só as posições
+ * {@code [0, quantidade)} são válidas, e o conteúdo não deve ser guardado após o retorno.
+ */
+@FunctionalInterface
+public interface ConsumidorLote {
+
+    /**
+     * @param primeiro número do primeiro registro da janela no arquivo, a partir de 0
+     * @param betaHcg valores de Beta hCG
+     * @param dumEpochDias DUM de cada registro em dias epoch
+     * @param codigos códigos de {@link Classificacao}
+     * @param semanas semanas gestacionais calculadas
+     * @param quantidade quantidade de registros válidos na janela
+     */
+    void aceitar(long primeiro, double[] betaHcg, int[] dumEpochDias, byte[] codigos, int[] semanas,
+                 int quantidade) throws IOException;
+}
@@ -0,0 +1,131 @@
+package org.example;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Define o "hoje" usado para calcular a idade gestacional
+ *
+ * Pode seguir um {@link Clock} (o relógio do sistema, por padrão, ou um relógio de teste) ou
+ * ficar preso a um dia fixo. O dia fixo serve para lotes que leem a data uma única vez e para
+ * reprocessamentos que classificam cada coleta na data em que foi feita. Imutável e seguro
+ * para uso por várias threads.
+ */
+public final class ContextoAvaliacao {
+
+    private static final ContextoAvaliacao SISTEMA = new ContextoAvaliacao(Clock.systemDefaultZone(), 0);
+
+    /** Relógio consultado a cada avaliação, ou null quando o dia é fixo */
+    private final Clock relogio;
+    private final ZoneId zona;
+    private final int diaFixo;
+
+    private ContextoAvaliacao(Clock relogio, int diaFixo) {
+        this.relogio = relogio;
+        this.zona = relogio.getZone();
+        this.diaFixo = diaFixo;
+    }
+
+    private ContextoAvaliacao(ZoneId zona, int diaFixo) {
+        this.relogio = null;
+        this.zona = zona;
+        this.diaFixo = diaFixo;
+    }
+
+    /**
+     * @return contexto que segue o relógio e o fuso padrão do sistema
+     */
+    public static ContextoAvaliacao sistema() {
+        return SISTEMA;
+    }
+
+    /**
+     * @return contexto que consulta o relógio a cada avaliação, com os dias contados no fuso dele
+     */
+    public static ContextoAvaliacao comRelogio(Clock relogio) {
+        return new ContextoAvaliacao(Objects.requireNonNull(relogio, "relogio"), 0);
+    }
+
+    /**
+     * @param epochDia data de referência em dias desde 01/01/1970
+     * @return contexto preso à data informada, com as datas convertidas no fuso padrão do sistema
+     */
+    public static ContextoAvaliacao emDia(int epochDia) {
+        return new ContextoAvaliacao(ZoneId.systemDefault(), epochDia);
+    }
+
+    /**
+     * @return contexto preso à data informada, com as datas convertidas no fuso padrão do sistema
+     */
+    public static ContextoAvaliacao emData(LocalDate data) {
+        return emDia(Math.toIntExact(data.toEpochDay()));
+    }
+
+    /**
+     * Lê o relógio uma única vez e devolve um contexto preso ao dia lido
+     *
+     * @return este contexto, se já tiver dia fixo
+     */
+    public ContextoAvaliacao fixar() {
+        return relogio == null ? this : new ContextoAvaliacao(zona, hojeEpochDia());
+    }
+
+    /**
+     * @return true se o dia de referência não depende do relógio
+     */
+    public boolean fixo() {
+        return relogio == null;
+    }
+
+    /**
+     * @return fuso em que instantes e objetos {@link Date} são convertidos em dias
+     */
+    public ZoneId zona() {
+        return zona;
+    }
+
+    /**
+     * @return data de referência em dias desde 01/01/1970
+     */
+    public int hojeEpochDia() {
+        return relogio == null ? diaFixo : epochDia(relogio.millis());
+    }
+
+    /**
+     * @return dia, no fuso do contexto, de um instante em milissegundos desde 01/01/1970
+     */
+    public int epochDia(long instanteMillis) {
+        return (int) LocalDate.ofInstant(Instant.ofEpochMilli(instanteMillis), zona).toEpochDay();
+    }
+
+    /**
+     * @return dia, no fuso do contexto, de uma data da API antiga
+     */
+    public int epochDia(Date data) {
+        return epochDia(data.getTime());
+    }
+
+    /**
+     * Dias completos entre a data informada e a referência
+     *
+     * Com relógio, mantém a conta original da calculadora: a diferença em milissegundos até o
+     * instante atual, truncada em dias. Com dia fixo, é a diferença entre os dias de calendário.
+     */
+    long diasDesde(Date data) {
+        if (relogio == null) {
+            return (long) diaFixo - epochDia(data);
+        }
+        return TimeUnit.MILLISECONDS.toDays(relogio.millis() - data.getTime());
+    }
+
+    @Override
+    public String toString() {
+        return relogio == null ? "ContextoAvaliacao[dia " + LocalDate.ofEpochDay(diaFixo) + "]"
+                : "ContextoAvaliacao[" + relogio + "]";
+    }
+}
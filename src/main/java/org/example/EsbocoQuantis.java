@@ -0,0 +1,138 @@
+package org.example;
+
+/**
+ * Esboço de quantis de Beta hCG com memória fixa e erro relativo limitado
+ *
+ * Os valores entre {@link #VALOR_MINIMO} e {@link #VALOR_MAXIMO} caem em faixas logarítmicas
+ * de razão {@code (1 + α) / (1 - α)}, com α = {@link #PRECISAO_RELATIVA}; cada faixa guarda
+ * apenas uma contagem. Qualquer quantil é estimado com erro relativo de no máximo α, com o mesmo
+ * número de faixas independentemente da quantidade de valores. Valores abaixo do mínimo e acima
+ * do máximo ficam em faixas próprias e são estimados pelos extremos observados.
+ *
+ * Dois esboços se combinam somando as contagens, de modo que parciais de várias threads podem
+ * ser mesclados ao final. Não é seguro para uso simultâneo por várias threads.
+ */
+public final class EsbocoQuantis {
+
+    /** Erro relativo máximo dos quantis estimados */
+    public static final double PRECISAO_RELATIVA = 0.01;
+
+    /** Limite inferior das faixas logarítmicas (mUI/mL) */
+    public static final double VALOR_MINIMO = 1;
+
+    /** Limite superior das faixas logarítmicas (mUI/mL) */
+    public static final double VALOR_MAXIMO = 1e7;
+
+    private static final double GAMA = (1 + PRECISAO_RELATIVA) / (1 - PRECISAO_RELATIVA);
+    private static final double LOG_GAMA = Math.log(GAMA);
+
+    /** Faixa 0 para valores abaixo do mínimo, faixas logarítmicas e a última para valores acima do máximo */
+    private static final int FAIXAS = (int) Math.ceil(Math.log(VALOR_MAXIMO / VALOR_MINIMO) / LOG_GAMA) + 3;
+
+    private final long[] contagens = new long[FAIXAS];
+    private long quantidade;
+    private double soma;
+    private double minimo = Double.POSITIVE_INFINITY;
+    private double maximo = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Registra um valor; NaN e negativos são ignorados
+     */
+    public void adicionar(double valor) {
+        if (!(valor >= 0)) {
+            return;
+        }
+        contagens[faixa(valor)]++;
+        quantidade++;
+        soma += valor;
+        minimo = Math.min(minimo, valor);
+        maximo = Math.max(maximo, valor);
+    }
+
+    /**
+     * Soma as contagens de outro esboço a este
+     */
+    public void mesclar(EsbocoQuantis outro) {
+        for (int i = 0; i < FAIXAS; i++) {
+            contagens[i] += outro.contagens[i];
+        }
+        quantidade += outro.quantidade;
+        soma += outro.soma;
+        minimo = Math.min(minimo, outro.minimo);
+        maximo = Math.max(maximo, outro.maximo);
+    }
+
+    public long quantidade() {
+        return quantidade;
+    }
+
+    /**
+     * @return média exata dos valores, ou NaN sem valores
+     */
+    public double media() {
+        return quantidade == 0 ? Double.NaN : soma / quantidade;
+    }
+
+    /**
+     * @return menor valor registrado, ou NaN sem valores
+     */
+    public double minimo() {
+        return quantidade == 0 ? Double.NaN : minimo;
+    }
+
+    /**
+     * @return maior valor registrado, ou NaN sem valores
+     */
+    public double maximo() {
+        return quantidade == 0 ? Double.NaN : maximo;
+    }
+
+    /**
+     * @param fracao quantil desejado, entre 0 e 1
+     * @return estimativa do quantil com erro relativo de no máximo {@link #PRECISAO_RELATIVA}
+     *         dentro das faixas logarítmicas, ou NaN sem valores
+     */
+    public double quantil(double fracao) {
+        if (fracao < 0 || fracao > 1) {
+            throw new IllegalArgumentException("Quantil deve estar entre 0 e 1: " + fracao);
+        }
+        if (quantidade == 0) {
+            return Double.NaN;
+        }
+        long posicao = (long) (fracao * (quantidade - 1));
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += contagens[i];
+            if (acumulado > posicao) {
+                return Math.max(minimo, Math.min(maximo, representante(i)));
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * A faixa {@code k + 1} guarda os valores em {@code (VALOR_MINIMO * γ^(k-1), VALOR_MINIMO * γ^k]}
+     */
+    private static int faixa(double valor) {
+        if (valor < VALOR_MINIMO) {
+            return 0;
+        }
+        if (valor > VALOR_MAXIMO) {
+            return FAIXAS - 1;
+        }
+        return (int) Math.ceil(Math.log(valor / VALOR_MINIMO) / LOG_GAMA) + 1;
+    }
+
+    /**
+     * Valor com erro relativo de no máximo α para qualquer valor da faixa; os extremos usam o mínimo e o máximo
+     */
+    private double representante(int faixa) {
+        if (faixa == 0) {
+            return minimo;
+        }
+        if (faixa == FAIXAS - 1) {
+            return maximo;
+        }
+        return VALOR_MINIMO * 2 * Math.pow(GAMA, faixa - 1) / (GAMA + 1);
+    }
+}
@@ -0,0 +1,162 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grava resultados classificados em formato binário colunar, com buffers diretos e escrita por gathering
+ *
+ * O arquivo começa com um cabeçalho de {@value #TAMANHO_CABECALHO} bytes (número mágico, versão,
+ * flags e um campo reservado) seguido de blocos. Cada bloco tem {@code primeiro} (long) e
+ * {@code quantidade} (int), depois a coluna de códigos de {@link Classificacao} (um byte por
+ * registro), a coluna de semanas (int) e, se {@link #FLAG_MENSAGEM} estiver ligada, a coluna
+ * com o identificador do modelo de mensagem (short). Todos os campos são little-endian.
+ *
+ * O identificador de mensagem é o código da classificação, exceto para o resultado negativo com
+ * menos de 4 semanas, que usa outro modelo e recebe {@link #MENSAGEM_NEGATIVO_DUM_RECENTE}.
+ *
+ * Janelas consecutivas são acumuladas nos buffers diretos até completar a capacidade e então
+ * gravadas com uma única chamada de {@link FileChannel#write(ByteBuffer[])}, sem passar por
+ * buffers intermediários no heap. Não é thread-safe.
+ */
+public final class EscritorResultadosBinario implements ConsumidorLote, AutoCloseable {
+
+    /** "RHCG" em ASCII */
+    public static final int MAGICO = 0x52484347;
+    public static final int VERSAO = 2;
+    public static final int TAMANHO_CABECALHO = 16;
+    public static final int TAMANHO_CABECALHO_BLOCO = 12;
+
+    /** Indica a presença da coluna de identificadores de mensagem */
+    public static final int FLAG_MENSAGEM = 1;
+
+    /** Identificador do modelo de resultado negativo com DUM recente, que sugere repetir o exame */
+    public static final short MENSAGEM_NEGATIVO_DUM_RECENTE = 8;
+
+    /** Registros acumulados por bloco quando não informado */
+    public static final int CAPACIDADE_PADRAO = 1 << 16;
+
+    private final FileChannel canal;
+    private final boolean incluirMensagem;
+    private final int capacidade;
+    private final ByteBuffer cabecalhoBloco;
+    private final ByteBuffer codigos;
+    private final ByteBuffer semanas;
+    private final ByteBuffer mensagens;
+    private final ByteBuffer[] blocos;
+    private long primeiro = -1;
+    private int quantidade;
+
+    public EscritorResultadosBinario(Path destino, boolean incluirMensagem) throws IOException {
+        this(destino, incluirMensagem, CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * Cria ou sobrescreve o arquivo de destino e grava o cabeçalho
+     *
+     * @param capacidade registros acumulados antes de cada gravação
+     */
+    public EscritorResultadosBinario(Path destino, boolean incluirMensagem, int capacidade) throws IOException {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva: " + capacidade);
+        }
+        this.incluirMensagem = incluirMensagem;
+        this.capacidade = capacidade;
+        cabecalhoBloco = ByteBuffer.allocateDirect(TAMANHO_CABECALHO_BLOCO).order(ByteOrder.LITTLE_ENDIAN);
+        codigos = ByteBuffer.allocateDirect(capacidade);
+        semanas = ByteBuffer.allocateDirect(capacidade * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        mensagens = ByteBuffer.allocateDirect(incluirMensagem ? capacidade * Short.BYTES : 0)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        blocos = incluirMensagem
+                ? new ByteBuffer[]{cabecalhoBloco, codigos, semanas, mensagens}
+                : new ByteBuffer[]{cabecalhoBloco, codigos, semanas};
+
+        canal = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGICO).putInt(VERSAO).putInt(incluirMensagem ? FLAG_MENSAGEM : 0).putInt(0).flip();
+        try {
+            while (cabecalho.hasRemaining()) {
+                canal.write(cabecalho);
+            }
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Identificador do modelo de mensagem, com a mesma escolha de {@link ResultadoClassificacao#mensagem()}
+     */
+    static short identificadorMensagem(byte codigo, int semanas) {
+        if (codigo == Classificacao.NEGATIVO.codigo() && semanas < ResultadoClassificacao.SEMANAS_DUM_RECENTE) {
+            return MENSAGEM_NEGATIVO_DUM_RECENTE;
+        }
+        return codigo;
+    }
+
+    @Override
+    public void aceitar(long primeiro, double[] betaHcg, int[] dumEpochDias, byte[] codigos, int[] semanas,
+                        int quantidade) throws IOException {
+        int deslocamento = 0;
+        while (deslocamento < quantidade) {
+            long registro = primeiro + deslocamento;
+            // Bloco só cobre registros contíguos
+            if (this.quantidade == capacidade || (this.quantidade > 0 && registro != this.primeiro + this.quantidade)) {
+                descarregar();
+            }
+            if (this.quantidade == 0) {
+                this.primeiro = registro;
+            }
+            int n = Math.min(quantidade - deslocamento, capacidade - this.quantidade);
+            this.codigos.put(codigos, deslocamento, n);
+            this.semanas.asIntBuffer().position(this.quantidade).put(semanas, deslocamento, n);
+            if (incluirMensagem) {
+                for (int i = 0; i < n; i++) {
+                    mensagens.putShort((this.quantidade + i) * Short.BYTES,
+                            identificadorMensagem(codigos[deslocamento + i], semanas[deslocamento + i]));
+                }
+            }
+            this.quantidade += n;
+            deslocamento += n;
+        }
+    }
+
+    /**
+     * Grava o bloco acumulado, se houver
+     */
+    public void descarregar() throws IOException {
+        if (quantidade == 0) {
+            return;
+        }
+        cabecalhoBloco.clear();
+        cabecalhoBloco.putLong(primeiro).putInt(quantidade).flip();
+        codigos.flip();
+        semanas.position(0).limit(quantidade * Integer.BYTES);
+        mensagens.position(0).limit(incluirMensagem ? quantidade * Short.BYTES : 0);
+
+        long restante = TAMANHO_CABECALHO_BLOCO + (long) quantidade
+                * (1 + Integer.BYTES + (incluirMensagem ? Short.BYTES : 0));
+        while (restante > 0) {
+            restante -= canal.write(blocos);
+        }
+
+        codigos.clear();
+        semanas.clear();
+        mensagens.clear();
+        quantidade = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            descarregar();
+        } finally {
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.example;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Distribuição dos resultados por semana gestacional: contagens em relação às faixas de referência
+ * e esboço de quantis dos valores de Beta hCG
+ *
+ * Considera cada resultado com idade gestacional calculada dentro do intervalo de interpretação
+ * ({@link CalculadoraIdadeGestacional#SEMANA_MINIMA} a {@link CalculadoraIdadeGestacional#SEMANA_MAXIMA}):
+ * conta se ficou abaixo, dentro ou acima da faixa (ou negativo) e registra o valor no
+ * {@link EsbocoQuantis} da semana. Todas as classificações, dentro ou fora do intervalo, também
+ * são contadas no total por {@link Classificacao}. A memória é fixa, independente da quantidade
+ * de resultados.
+ *
+ * É uma parcial de uma única thread: para várias threads, cada uma usa a sua e as parciais são
+ * combinadas com {@link #mesclar}, como faz o {@link AgregadorEstatisticas}.
+ */
+public final class EstatisticasSemanais implements ConsumidorLote {
+
+    private static final int SEMANAS =
+            CalculadoraIdadeGestacional.SEMANA_MAXIMA - CalculadoraIdadeGestacional.SEMANA_MINIMA + 1;
+
+    private final long[] porClassificacao = new long[Classificacao.values().length];
+    private final long[] negativos = new long[SEMANAS];
+    private final long[] abaixo = new long[SEMANAS];
+    private final long[] dentro = new long[SEMANAS];
+    private final long[] acima = new long[SEMANAS];
+    private final EsbocoQuantis[] esbocos = new EsbocoQuantis[SEMANAS];
+
+    public EstatisticasSemanais() {
+        for (int i = 0; i < SEMANAS; i++) {
+            esbocos[i] = new EsbocoQuantis();
+        }
+    }
+
+    /**
+     * Registra um resultado já classificado
+     *
+     * @param codigo {@link Classificacao#codigo()}; códigos negativos (linhas inválidas) são ignorados
+     * @param semana semanas gestacionais, ou {@link CalculadoraIdadeGestacional#SEMANAS_NAO_CALCULADAS}
+     */
+    public void registrar(double betaHcg, byte codigo, int semana) {
+        if (codigo < 0) {
+            return;
+        }
+        porClassificacao[codigo]++;
+        int i = semana - CalculadoraIdadeGestacional.SEMANA_MINIMA;
+        if (i < 0 || i >= SEMANAS) {
+            return;
+        }
+        switch (Classificacao.deCodigo(codigo)) {
+            case NEGATIVO -> negativos[i]++;
+            case ABAIXO_DO_ESPERADO -> abaixo[i]++;
+            case COMPATIVEL -> dentro[i]++;
+            case ACIMA_DO_ESPERADO -> acima[i]++;
+            default -> {
+                return;
+            }
+        }
+        esbocos[i].adicionar(betaHcg);
+    }
+
+    @Override
+    public void aceitar(long primeiro, double[] betaHcg, int[] dumEpochDias, byte[] codigos, int[] semanas,
+                        int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            registrar(betaHcg[i], codigos[i], semanas[i]);
+        }
+    }
+
+    /**
+     * Soma as contagens e os esboços de outra parcial a esta
+     */
+    public void mesclar(EstatisticasSemanais outra) {
+        for (int i = 0; i < porClassificacao.length; i++) {
+            porClassificacao[i] += outra.porClassificacao[i];
+        }
+        for (int i = 0; i < SEMANAS; i++) {
+            negativos[i] += outra.negativos[i];
+            abaixo[i] += outra.abaixo[i];
+            dentro[i] += outra.dentro[i];
+            acima[i] += outra.acima[i];
+            esbocos[i].mesclar(outra.esbocos[i]);
+        }
+    }
+
+    /**
+     * @return resultados registrados com a classificação informada, em qualquer semana
+     */
+    public long contagem(Classificacao classificacao) {
+        return porClassificacao[classificacao.codigo()];
+    }
+
+    public long negativos(int semana) {
+        return negativos[indice(semana)];
+    }
+
+    public long abaixo(int semana) {
+        return abaixo[indice(semana)];
+    }
+
+    public long dentro(int semana) {
+        return dentro[indice(semana)];
+    }
+
+    public long acima(int semana) {
+        return acima[indice(semana)];
+    }
+
+    /**
+     * @return resultados da semana com o valor registrado no esboço
+     */
+    public long total(int semana) {
+        return esbocos[indice(semana)].quantidade();
+    }
+
+    /**
+     * @param fracao quantil desejado, entre 0 e 1
+     * @return estimativa do quantil de Beta hCG da semana, ou NaN sem resultados
+     */
+    public double quantil(int semana, double fracao) {
+        return esbocos[indice(semana)].quantil(fracao);
+    }
+
+    private static int indice(int semana) {
+        int i = semana - CalculadoraIdadeGestacional.SEMANA_MINIMA;
+        if (i < 0 || i >= SEMANAS) {
+            throw new IllegalArgumentException("Semana fora do intervalo de interpretação: " + semana);
+        }
+        return i;
+    }
+
+    /**
+     * Escreve uma linha CSV por semana: {@code semana;total;negativos;abaixo;dentro;acima;p10;p50;p90}
+     */
+    public void escreverCsv(Appendable destino) throws IOException {
+        destino.append("semana;total;negativos;abaixo;dentro;acima;p10;p50;p90\n");
+        for (int semana = CalculadoraIdadeGestacional.SEMANA_MINIMA;
+             semana <= CalculadoraIdadeGestacional.SEMANA_MAXIMA; semana++) {
+            int i = indice(semana);
+            destino.append(String.valueOf(semana)).append(';')
+                    .append(String.valueOf(esbocos[i].quantidade())).append(';')
+                    .append(String.valueOf(negativos[i])).append(';')
+                    .append(String.valueOf(abaixo[i])).append(';')
+                    .append(String.valueOf(dentro[i])).append(';')
+                    .append(String.valueOf(acima[i])).append(';')
+                    .append(quantilTexto(esbocos[i], 0.10)).append(';')
+                    .append(quantilTexto(esbocos[i], 0.50)).append(';')
+                    .append(quantilTexto(esbocos[i], 0.90)).append('\n');
+        }
+    }
+
+    private static String quantilTexto(EsbocoQuantis esboco, double fracao) {
+        return esboco.quantidade() == 0 ? "" : String.format(Locale.ROOT, "%.0f", esboco.quantil(fracao));
+    }
+}
@@ -0,0 +1,83 @@
+package org.example;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formatação de números com zero ou uma casa decimal, com o mesmo resultado de {@code String.format("%.1f")}
+ * e {@code String.format("%.0f")}
+ *
+ * O {@link java.util.Formatter} arredonda com HALF_UP a representação decimal mais curta do double
+ * e usa o separador decimal da localidade de formatação padrão. Aqui o arredondamento é feito
+ * em aritmética de double para valores não negativos abaixo de {@link #LIMITE_RAPIDO}, onde o erro
+ * da multiplicação por 10 fica muito abaixo da tolerância usada. Valores próximos de um empate
+ * (como 12,25 com uma casa), negativos, NaN, infinitos, muito grandes ou localidades com dígitos
+ * diferentes de 0-9 continuam indo para o {@code String.format}.
+ */
+final class FormatadorDecimal {
+
+    /** Acima deste valor o erro de arredondamento de {@code valor * 10} deixa de ser desprezível */
+    private static final double LIMITE_RAPIDO = 1e9;
+
+    /** Distância mínima, em unidades da última casa, entre a parte descartada e 0,5 */
+    private static final double TOLERANCIA_EMPATE = 1e-4;
+
+    /**
+     * Símbolos da última localidade usada; trocados se a localidade padrão mudar
+     */
+    private record Simbolos(Locale localidade, char separadorDecimal, boolean digitosAscii) {
+        static Simbolos de(Locale localidade) {
+            DecimalFormatSymbols simbolos = DecimalFormatSymbols.getInstance(localidade);
+            return new Simbolos(localidade, simbolos.getDecimalSeparator(), simbolos.getZeroDigit() == '0');
+        }
+    }
+
+    private static volatile Simbolos simbolos = Simbolos.de(Locale.getDefault(Locale.Category.FORMAT));
+
+    private FormatadorDecimal() {
+    }
+
+    /**
+     * Anexa o valor com uma casa decimal, como {@code String.format("%.1f", valor)}
+     */
+    static void anexarUmaCasa(StringBuilder destino, double valor) {
+        anexar(destino, valor, 10, "%.1f");
+    }
+
+    /**
+     * Anexa o valor sem casas decimais, como {@code String.format("%.0f", valor)}
+     */
+    static void anexarSemCasas(StringBuilder destino, double valor) {
+        anexar(destino, valor, 1, "%.0f");
+    }
+
+    private static void anexar(StringBuilder destino, double valor, int escala, String formato) {
+        Simbolos atuais = simbolosAtuais();
+        // Bit de sinal zerado exclui negativos e -0.0; a comparação exclui NaN e infinitos
+        if (Double.doubleToRawLongBits(valor) >= 0 && valor < LIMITE_RAPIDO && atuais.digitosAscii()) {
+            double escalado = valor * escala;
+            double piso = Math.floor(escalado);
+            double descartado = escalado - piso;
+            if (Math.abs(descartado - 0.5) > TOLERANCIA_EMPATE) {
+                long arredondado = (long) piso + (descartado > 0.5 ? 1 : 0);
+                if (escala == 1) {
+                    destino.append(arredondado);
+                } else {
+                    destino.append(arredondado / escala).append(atuais.separadorDecimal()).append(arredondado % escala);
+                }
+                return;
+            }
+        }
+        destino.append(String.format(atuais.localidade(), formato, valor));
+    }
+
+    private static Simbolos simbolosAtuais() {
+        Locale localidade = Locale.getDefault(Locale.Category.FORMAT);
+        Simbolos atuais = simbolos;
+        if (!atuais.localidade().equals(localidade)) {
+            atuais = Simbolos.de(localidade);
+            simbolos = atuais;
+        }
+        return atuais;
+    }
+}
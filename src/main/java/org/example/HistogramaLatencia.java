@@ -0,0 +1,85 @@
+package org.example;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em nanossegundos com faixas em potências de 2
+ *
+ * Cada registro custa um incremento em {@link LongAdder}, sem locks; os percentis são
+ * aproximados pelo limite superior da faixa, com erro de no máximo 2x.
+ */
+public final class HistogramaLatencia {
+
+    private static final int FAIXAS = 64;
+
+    private final LongAdder[] contagens = new LongAdder[FAIXAS];
+    private final LongAdder soma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    public HistogramaLatencia() {
+        for (int i = 0; i < FAIXAS; i++) {
+            contagens[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra uma medição; a faixa {@code i} guarda latências em {@code [2^(i-1), 2^i)}
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        contagens[FAIXAS - Long.numberOfLeadingZeros(valor)].increment();
+        soma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    public long quantidade() {
+        long total = 0;
+        for (LongAdder contagem : contagens) {
+            total += contagem.sum();
+        }
+        return total;
+    }
+
+    public double media() {
+        long quantidade = quantidade();
+        return quantidade == 0 ? 0 : (double) soma.sum() / quantidade;
+    }
+
+    public long maximo() {
+        return maximo.get();
+    }
+
+    /**
+     * @param fracao percentil desejado, entre 0 e 1
+     * @return limite superior da faixa que contém o percentil, em nanossegundos
+     */
+    public long percentil(double fracao) {
+        long[] instantaneo = new long[FAIXAS];
+        long total = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            instantaneo[i] = contagens[i].sum();
+            total += instantaneo[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = (long) Math.ceil(fracao * total);
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += instantaneo[i];
+            if (acumulado >= Math.max(1, alvo)) {
+                return i == 0 ? 0 : Math.min(maximo(), (1L << i) - 1);
+            }
+        }
+        return maximo();
+    }
+
+    public void zerar() {
+        for (LongAdder contagem : contagens) {
+            contagem.reset();
+        }
+        soma.reset();
+        maximo.reset();
+    }
+}
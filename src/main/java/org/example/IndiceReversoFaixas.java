@@ -0,0 +1,143 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consulta inversa das faixas de referência: dado um valor de Beta hCG, quais semanas o aceitam
+ *
+ * Os limites de todas as faixas formam pontos de corte ordenados. Entre dois pontos de corte
+ * consecutivos, e em cada ponto de corte, o conjunto de semanas compatíveis não muda; esses
+ * conjuntos são calculados na construção. A consulta é uma busca binária sobre os pontos de
+ * corte seguida de um acesso por índice, O(log n) mesmo para tabelas com muitas semanas.
+ */
+public final class IndiceReversoFaixas {
+
+    /** Limites distintos de todas as faixas, em ordem crescente */
+    private final double[] pontosDeCorte;
+
+    /**
+     * Resposta de cada segmento: o segmento 2i é o intervalo aberto antes de {@code pontosDeCorte[i]},
+     * o segmento 2i + 1 é o próprio ponto de corte e o último segmento fica acima de todos
+     */
+    private final SemanasCompativeis[] respostas;
+
+    private IndiceReversoFaixas(double[] pontosDeCorte, SemanasCompativeis[] respostas) {
+        this.pontosDeCorte = pontosDeCorte;
+        this.respostas = respostas;
+    }
+
+    /**
+     * Constrói o índice a partir de uma tabela compilada
+     *
+     * Uma única varredura percorre os pontos de corte em ordem, abrindo cada semana no seu mínimo e
+     * fechando-a depois do seu máximo, em O(n log n) para n semanas. Cada segmento recebe o conjunto
+     * de semanas abertas, reaproveitando a resposta anterior quando nada mudou.
+     */
+    public static IndiceReversoFaixas construir(TabelaReferencia tabela) {
+        int totalSemanas = tabela.semanaFinal() - tabela.semanaInicial() + 1;
+        Integer[] aberturas = new Integer[totalSemanas];
+        double[] limites = new double[totalSemanas * 2];
+        int quantidadeSemanas = 0;
+        for (int semana = tabela.semanaInicial(); semana <= tabela.semanaFinal(); semana++) {
+            if (tabela.possuiFaixa(semana)) {
+                limites[2 * quantidadeSemanas] = tabela.minimo(semana);
+                limites[2 * quantidadeSemanas + 1] = tabela.maximo(semana);
+                aberturas[quantidadeSemanas++] = semana;
+            }
+        }
+        double[] pontosDeCorte = Arrays.stream(limites, 0, quantidadeSemanas * 2).sorted().distinct().toArray();
+        Integer[] fechamentos = Arrays.copyOf(aberturas, quantidadeSemanas);
+        aberturas = Arrays.copyOf(aberturas, quantidadeSemanas);
+        Arrays.sort(aberturas, Comparator.comparingDouble(semana -> tabela.minimo(semana)));
+        Arrays.sort(fechamentos, Comparator.comparingDouble(semana -> tabela.maximo(semana)));
+
+        // respostas[0] fica antes do primeiro ponto; o último segmento recebe o conjunto vazio da varredura
+        SemanasCompativeis[] respostas = new SemanasCompativeis[pontosDeCorte.length * 2 + 1];
+        respostas[0] = SemanasCompativeis.NENHUMA;
+        SemanasAbertas abertas = new SemanasAbertas();
+        SemanasCompativeis atual = SemanasCompativeis.NENHUMA;
+        int proximaAbertura = 0;
+        int proximoFechamento = 0;
+        for (int i = 0; i < pontosDeCorte.length; i++) {
+            double ponto = pontosDeCorte[i];
+            boolean mudou = false;
+            while (proximaAbertura < quantidadeSemanas && tabela.minimo(aberturas[proximaAbertura]) == ponto) {
+                abertas.abrir(aberturas[proximaAbertura++]);
+                mudou = true;
+            }
+            if (mudou) {
+                atual = abertas.resposta();
+            }
+            respostas[2 * i + 1] = atual;
+
+            mudou = false;
+            while (proximoFechamento < quantidadeSemanas && tabela.maximo(fechamentos[proximoFechamento]) == ponto) {
+                abertas.fechar(fechamentos[proximoFechamento++]);
+                mudou = true;
+            }
+            if (mudou) {
+                atual = abertas.resposta();
+            }
+            respostas[2 * i + 2] = atual;
+        }
+        return new IndiceReversoFaixas(pontosDeCorte, respostas);
+    }
+
+    /**
+     * Semanas abertas durante a varredura, guardadas como trechos contíguos (início para fim)
+     */
+    private static final class SemanasAbertas {
+
+        private final TreeMap<Integer, Integer> trechos = new TreeMap<>();
+
+        void abrir(int semana) {
+            int inicio = semana;
+            int fim = semana;
+            Map.Entry<Integer, Integer> anterior = trechos.floorEntry(semana - 1);
+            if (anterior != null && anterior.getValue() == semana - 1) {
+                inicio = anterior.getKey();
+            }
+            Integer fimSeguinte = trechos.remove(semana + 1);
+            if (fimSeguinte != null) {
+                fim = fimSeguinte;
+            }
+            trechos.put(inicio, fim);
+        }
+
+        void fechar(int semana) {
+            Map.Entry<Integer, Integer> trecho = trechos.floorEntry(semana);
+            trechos.remove(trecho.getKey());
+            if (trecho.getKey() < semana) {
+                trechos.put(trecho.getKey(), semana - 1);
+            }
+            if (trecho.getValue() > semana) {
+                trechos.put(semana + 1, trecho.getValue());
+            }
+        }
+
+        SemanasCompativeis resposta() {
+            List<SemanasCompativeis.Intervalo> intervalos = new ArrayList<>(trechos.size());
+            for (Map.Entry<Integer, Integer> trecho : trechos.entrySet()) {
+                intervalos.add(new SemanasCompativeis.Intervalo(trecho.getKey(), trecho.getValue()));
+            }
+            return SemanasCompativeis.deIntervalos(intervalos);
+        }
+    }
+
+    /**
+     * @param betaHcg valor de Beta hCG em mUI/ml
+     * @return semanas cuja faixa contém o valor; {@link SemanasCompativeis#NENHUMA} para NaN ou valores fora de todas
+     */
+    public SemanasCompativeis consultar(double betaHcg) {
+        if (Double.isNaN(betaHcg)) {
+            return SemanasCompativeis.NENHUMA;
+        }
+        int posicao = Arrays.binarySearch(pontosDeCorte, betaHcg);
+        return posicao >= 0 ? respostas[2 * posicao + 1] : respostas[2 * (-posicao - 1)];
+    }
+}
@@ -0,0 +1,33 @@
+package org.example;
+
+/**
+ * Cópia dos contadores de {@link MetricasClassificacao} em um instante
+ *
+ * @param contagens resultados por classificação, indexados por {@link Classificacao#codigo()}
+ * @param latenciaP50Nanos mediana da latência das chamadas individuais
+ * @param latenciaP99Nanos percentil 99 da latência das chamadas individuais
+ * @param latenciaMaximaNanos maior latência registrada em chamada individual
+ * @param lotes quantidade de chamadas de lote
+ * @param latenciaLoteP99Nanos percentil 99 da duração das chamadas de lote
+ */
+public record InstantaneoMetricas(long[] contagens, long latenciaP50Nanos, long latenciaP99Nanos,
+                                  long latenciaMaximaNanos, long lotes, long latenciaLoteP99Nanos) {
+
+    /**
+     * @return quantidade de resultados com a classificação informada
+     */
+    public long contagem(Classificacao classificacao) {
+        return contagens[classificacao.codigo()];
+    }
+
+    /**
+     * @return total de resultados classificados, individualmente ou em lote
+     */
+    public long total() {
+        long total = 0;
+        for (long contagem : contagens) {
+            total += contagem;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,150 @@
+package org.example;
+
+/**
+ * Leitura de datas dd/MM/yyyy e yyyy-MM-dd diretamente de trechos de texto ou de bytes ASCII
+ *
+ * Produz o dia epoch (o mesmo de {@link java.time.LocalDate#toEpochDay()}) sem criar
+ * Strings, {@link java.util.Date} ou {@link java.time.LocalDate} intermediários. A validação
+ * é estrita, como a do {@link java.time.format.ResolverStyle#STRICT}: dia e mês com dois
+ * dígitos, ano com quatro e dia existente no mês (30/02 e 29/02 de ano não bissexto são
+ * rejeitados). Espaços e caracteres de controle nas extremidades do trecho
+ * são ignorados, como em {@link String#trim()}.
+ *
+ * Não guarda estado, portanto pode ser usada por várias threads ao mesmo tempo.
+ */
+public final class LeitorDatas {
+
+    /** Retornado quando o trecho não é uma data válida; nenhuma data de quatro dígitos chega a esse valor */
+    public static final int DATA_INVALIDA = Integer.MAX_VALUE;
+
+    private static final int TAMANHO_DATA = 10;
+
+    /** Dias de 0000-01-01 até 1970-01-01 no calendário ISO */
+    private static final int DIAS_0000_A_1970 = 719528;
+
+    private LeitorDatas() {
+    }
+
+    /**
+     * @param texto texto inteiro com a data
+     * @return dia epoch ou {@link #DATA_INVALIDA}
+     */
+    public static int lerEpochDia(CharSequence texto) {
+        return lerEpochDia(texto, 0, texto.length());
+    }
+
+    /**
+     * @param texto texto que contém a data
+     * @param inicio início do trecho, inclusivo
+     * @param fim fim do trecho, exclusivo
+     * @return dia epoch ou {@link #DATA_INVALIDA}
+     */
+    public static int lerEpochDia(CharSequence texto, int inicio, int fim) {
+        while (inicio < fim && texto.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && texto.charAt(fim - 1) <= ' ') {
+            fim--;
+        }
+        if (fim - inicio != TAMANHO_DATA) {
+            return DATA_INVALIDA;
+        }
+
+        if (texto.charAt(inicio + 2) == '/' && texto.charAt(inicio + 5) == '/') {
+            return epochDia(
+                    numero(texto.charAt(inicio + 6), texto.charAt(inicio + 7),
+                            texto.charAt(inicio + 8), texto.charAt(inicio + 9)),
+                    numero(texto.charAt(inicio + 3), texto.charAt(inicio + 4)),
+                    numero(texto.charAt(inicio), texto.charAt(inicio + 1)));
+        }
+        if (texto.charAt(inicio + 4) == '-' && texto.charAt(inicio + 7) == '-') {
+            return epochDia(
+                    numero(texto.charAt(inicio), texto.charAt(inicio + 1),
+                            texto.charAt(inicio + 2), texto.charAt(inicio + 3)),
+                    numero(texto.charAt(inicio + 5), texto.charAt(inicio + 6)),
+                    numero(texto.charAt(inicio + 8), texto.charAt(inicio + 9)));
+        }
+        return DATA_INVALIDA;
+    }
+
+    /**
+     * @param bytes bytes ASCII (ou UTF-8) que contêm a data
+     * @param inicio início do trecho, inclusivo
+     * @param fim fim do trecho, exclusivo
+     * @return dia epoch ou {@link #DATA_INVALIDA}
+     */
+    public static int lerEpochDia(byte[] bytes, int inicio, int fim) {
+        while (inicio < fim && (bytes[inicio] & 0xFF) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && (bytes[fim - 1] & 0xFF) <= ' ') {
+            fim--;
+        }
+        if (fim - inicio != TAMANHO_DATA) {
+            return DATA_INVALIDA;
+        }
+
+        if (bytes[inicio + 2] == '/' && bytes[inicio + 5] == '/') {
+            return epochDia(
+                    numero(bytes[inicio + 6], bytes[inicio + 7], bytes[inicio + 8], bytes[inicio + 9]),
+                    numero(bytes[inicio + 3], bytes[inicio + 4]),
+                    numero(bytes[inicio], bytes[inicio + 1]));
+        }
+        if (bytes[inicio + 4] == '-' && bytes[inicio + 7] == '-') {
+            return epochDia(
+                    numero(bytes[inicio], bytes[inicio + 1], bytes[inicio + 2], bytes[inicio + 3]),
+                    numero(bytes[inicio + 5], bytes[inicio + 6]),
+                    numero(bytes[inicio + 8], bytes[inicio + 9]));
+        }
+        return DATA_INVALIDA;
+    }
+
+    /**
+     * Valor de dois dígitos, ou negativo se algum caractere não for dígito
+     */
+    private static int numero(int dezena, int unidade) {
+        int d = dezena - '0';
+        int u = unidade - '0';
+        if (d < 0 || d > 9 || u < 0 || u > 9) {
+            return -1;
+        }
+        return d * 10 + u;
+    }
+
+    private static int numero(int milhar, int centena, int dezena, int unidade) {
+        int alto = numero(milhar, centena);
+        int baixo = numero(dezena, unidade);
+        return alto < 0 || baixo < 0 ? -1 : alto * 100 + baixo;
+    }
+
+    /**
+     * Converte ano, mês e dia já lidos em dia epoch, mesma conta de {@link java.time.LocalDate#toEpochDay()}
+     */
+    private static int epochDia(int ano, int mes, int dia) {
+        if (ano < 0 || mes < 1 || mes > 12 || dia < 1 || dia > diasNoMes(ano, mes)) {
+            return DATA_INVALIDA;
+        }
+        int total = 365 * ano + (ano + 3) / 4 - (ano + 99) / 100 + (ano + 399) / 400;
+        total += (367 * mes - 362) / 12;
+        total += dia - 1;
+        if (mes > 2) {
+            total--;
+            if (!bissexto(ano)) {
+                total--;
+            }
+        }
+        return total - DIAS_0000_A_1970;
+    }
+
+    private static int diasNoMes(int ano, int mes) {
+        return switch (mes) {
+            case 2 -> bissexto(ano) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean bissexto(int ano) {
+        return (ano & 3) == 0 && (ano % 100 != 0 || ano % 400 == 0);
+    }
+}
@@ -0,0 +1,90 @@
+package org.example;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Leitura de valores decimais diretamente de bytes ASCII, sem criar Strings
+ *
+ * Aceita sinal opcional, dígitos e uma única vírgula ou ponto como separador decimal, com
+ * espaços e caracteres de controle ignorados nas extremidades. Com até 15 dígitos
+ * significativos e até 22 casas decimais, o valor é calculado com uma única divisão exata por
+ * potência de 10 (o caminho rápido de Clinger), que dá o mesmo double arredondado de
+ * {@link Double#parseDouble(String)}. Outros formatos válidos para o {@code parseDouble}, como
+ * notação científica, caem nele.
+ *
+ * Não guarda estado, portanto pode ser usada por várias threads ao mesmo tempo.
+ */
+public final class LeitorNumeros {
+
+    private static final int MAXIMO_DIGITOS_EXATOS = 15;
+
+    private static final double[] POTENCIAS_DE_10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private LeitorNumeros() {
+    }
+
+    /**
+     * @param bytes bytes ASCII (ou UTF-8) que contêm o número
+     * @param inicio início do trecho, inclusivo
+     * @param fim fim do trecho, exclusivo
+     * @return valor lido, ou {@code NaN} se o trecho não for um número
+     */
+    public static double lerDouble(byte[] bytes, int inicio, int fim) {
+        while (inicio < fim && (bytes[inicio] & 0xFF) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && (bytes[fim - 1] & 0xFF) <= ' ') {
+            fim--;
+        }
+
+        int i = inicio;
+        boolean negativo = false;
+        if (i < fim && (bytes[i] == '-' || bytes[i] == '+')) {
+            negativo = bytes[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        boolean possuiDigito = false;
+        int digitos = 0;
+        int casas = -1;
+        for (; i < fim; i++) {
+            int c = bytes[i];
+            if (c >= '0' && c <= '9') {
+                possuiDigito = true;
+                if (mantissa != 0 || c != '0') {
+                    digitos++;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (casas >= 0) {
+                    casas++;
+                }
+            } else if ((c == '.' || c == ',') && casas < 0) {
+                casas = 0;
+            } else {
+                break;
+            }
+        }
+
+        if (i == fim && possuiDigito && digitos <= MAXIMO_DIGITOS_EXATOS && casas < POTENCIAS_DE_10.length) {
+            double valor = casas > 0 ? mantissa / POTENCIAS_DE_10[casas] : mantissa;
+            return negativo ? -valor : valor;
+        }
+        return lerLento(bytes, inicio, fim);
+    }
+
+    private static double lerLento(byte[] bytes, int inicio, int fim) {
+        if (inicio == fim) {
+            return Double.NaN;
+        }
+        String texto = new String(bytes, inicio, fim - inicio, StandardCharsets.ISO_8859_1).replace(',', '.');
+        try {
+            return Double.parseDouble(texto);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
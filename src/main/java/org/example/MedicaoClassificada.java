@@ -0,0 +1,10 @@
+package org.example;
+
+/**
+ * Coleta acompanhada da sua classificação, saída do {@link ProcessadorFluxoClassificacao}
+ *
+ * @param medicao coleta recebida
+ * @param resultado classificação da coleta em relação à data de referência do lote
+ */
+public record MedicaoClassificada(MedicaoHcg medicao, ResultadoClassificacao resultado) {
+}
@@ -0,0 +1,19 @@
+package org.example;
+
+/**
+ * Coleta de Beta hCG de uma paciente, entrada do {@link AnalisadorDuplicacao} e do {@link ArmazemMedicoes}
+ *
+ * @param pacienteId identificador da paciente
+ * @param instanteMillis instante da coleta em milissegundos desde 01/01/1970
+ * @param betaHcg valor do Beta hCG em mUI/ml
+ * @param dumEpochDia DUM informada na coleta, ou {@link CalculadoraIdadeGestacional#DUM_NAO_INFORMADA}
+ */
+public record MedicaoHcg(long pacienteId, long instanteMillis, double betaHcg, int dumEpochDia) {
+
+    /**
+     * Coleta sem DUM informada
+     */
+    public MedicaoHcg(long pacienteId, long instanteMillis, double betaHcg) {
+        this(pacienteId, instanteMillis, betaHcg, CalculadoraIdadeGestacional.DUM_NAO_INFORMADA);
+    }
+}
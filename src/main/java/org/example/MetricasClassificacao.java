@@ -0,0 +1,188 @@
+package org.example;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores por classificação e histogramas de latência da {@link CalculadoraInstrumentada}
+ *
+ * Os contadores usam {@link LongAdder}, que distribui as atualizações entre células por thread
+ * e evita disputa em cenários com muitas threads. A coleta pode ser ligada e desligada em tempo
+ * de execução, inclusive pelo JMX; desligada, cada chamada custa apenas a leitura de um volatile.
+ */
+public class MetricasClassificacao implements MetricasClassificacaoMBean {
+
+    private final LongAdder[] contagens = new LongAdder[Classificacao.values().length];
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+    private final HistogramaLatencia latenciasLote = new HistogramaLatencia();
+    private final LongAdder estimativas = new LongAdder();
+    private volatile boolean ativo = true;
+
+    public MetricasClassificacao() {
+        for (int i = 0; i < contagens.length; i++) {
+            contagens[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra o resultado de uma chamada individual
+     */
+    void registrar(Classificacao classificacao, long nanos) {
+        contagens[classificacao.codigo()].increment();
+        latencias.registrar(nanos);
+    }
+
+    /**
+     * Registra as classificações das posições {@code [inicio, fim)} de um lote e a duração da chamada
+     */
+    void registrarLote(byte[] codigos, int inicio, int fim, long nanos) {
+        long[] locais = new long[contagens.length];
+        for (int i = inicio; i < fim; i++) {
+            locais[codigos[i]]++;
+        }
+        for (int i = 0; i < locais.length; i++) {
+            if (locais[i] != 0) {
+                contagens[i].add(locais[i]);
+            }
+        }
+        latenciasLote.registrar(nanos);
+    }
+
+    /**
+     * Registra uma estimativa de semanas a partir do Beta hCG, que não produz classificação
+     */
+    void registrarEstimativa() {
+        estimativas.increment();
+    }
+
+    /**
+     * @return cópia dos contadores atuais
+     */
+    public InstantaneoMetricas instantaneo() {
+        long[] copia = new long[contagens.length];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = contagens[i].sum();
+        }
+        return new InstantaneoMetricas(copia, latencias.percentil(0.50), latencias.percentil(0.99),
+                latencias.maximo(), latenciasLote.quantidade(), latenciasLote.percentil(0.99));
+    }
+
+    /**
+     * Registra estas métricas no servidor JMX da plataforma
+     *
+     * @param nome valor da chave {@code name} do ObjectName
+     */
+    public void registrarJmx(String nome) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName("org.example:type=MetricasClassificacao,name=" + ObjectName.quote(nome)));
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar as métricas no JMX", e);
+        }
+    }
+
+    @Override
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    @Override
+    public void setAtivo(boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    @Override
+    public long getTotal() {
+        long total = 0;
+        for (LongAdder contagem : contagens) {
+            total += contagem.sum();
+        }
+        return total;
+    }
+
+    private long contagem(Classificacao classificacao) {
+        return contagens[classificacao.codigo()].sum();
+    }
+
+    @Override
+    public long getDumNaoInformada() {
+        return contagem(Classificacao.DUM_NAO_INFORMADA);
+    }
+
+    @Override
+    public long getValorInvalido() {
+        return contagem(Classificacao.VALOR_INVALIDO);
+    }
+
+    @Override
+    public long getNegativo() {
+        return contagem(Classificacao.NEGATIVO);
+    }
+
+    @Override
+    public long getForaDoIntervalo() {
+        return contagem(Classificacao.FORA_DO_INTERVALO);
+    }
+
+    @Override
+    public long getSemFaixaReferencia() {
+        return contagem(Classificacao.SEM_FAIXA_REFERENCIA);
+    }
+
+    @Override
+    public long getCompativel() {
+        return contagem(Classificacao.COMPATIVEL);
+    }
+
+    @Override
+    public long getAbaixoDoEsperado() {
+        return contagem(Classificacao.ABAIXO_DO_ESPERADO);
+    }
+
+    @Override
+    public long getAcimaDoEsperado() {
+        return contagem(Classificacao.ACIMA_DO_ESPERADO);
+    }
+
+    @Override
+    public long getLatenciaP50Nanos() {
+        return latencias.percentil(0.50);
+    }
+
+    @Override
+    public long getLatenciaP99Nanos() {
+        return latencias.percentil(0.99);
+    }
+
+    @Override
+    public long getLatenciaMaximaNanos() {
+        return latencias.maximo();
+    }
+
+    @Override
+    public long getLotes() {
+        return latenciasLote.quantidade();
+    }
+
+    @Override
+    public long getLatenciaLoteP99Nanos() {
+        return latenciasLote.percentil(0.99);
+    }
+
+    @Override
+    public long getEstimativas() {
+        return estimativas.sum();
+    }
+
+    @Override
+    public void zerar() {
+        for (LongAdder contagem : contagens) {
+            contagem.reset();
+        }
+        estimativas.reset();
+        latencias.zerar();
+        latenciasLote.zerar();
+    }
+}
@@ -0,0 +1,43 @@
+package org.example;
+
+/**
+ * Interface JMX de {@link MetricasClassificacao}
+ */
+public interface MetricasClassificacaoMBean {
+
+    boolean isAtivo();
+
+    void setAtivo(boolean ativo);
+
+    long getTotal();
+
+    long getDumNaoInformada();
+
+    long getValorInvalido();
+
+    long getNegativo();
+
+    long getForaDoIntervalo();
+
+    long getSemFaixaReferencia();
+
+    long getCompativel();
+
+    long getAbaixoDoEsperado();
+
+    long getAcimaDoEsperado();
+
+    long getLatenciaP50Nanos();
+
+    long getLatenciaP99Nanos();
+
+    long getLatenciaMaximaNanos();
+
+    long getLotes();
+
+    long getLatenciaLoteP99Nanos();
+
+    long getEstimativas();
+
+    void zerar();
+}
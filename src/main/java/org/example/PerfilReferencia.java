@@ -0,0 +1,119 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Perfil de referência de um laboratório ou ensaio: as faixas de Beta hCG já compiladas
+ * nas estruturas de consulta usadas pela {@link CalculadoraIdadeGestacional}
+ *
+ * É imutável: uma atualização do perfil gera uma nova instância, de modo que quem já leu a
+ * instância anterior continua vendo uma tabela completa e consistente.
+ */
+public final class PerfilReferencia {
+
+    /** Identificador do perfil com as faixas padrão da calculadora */
+    public static final String ID_PADRAO = "padrao";
+
+    private static final PerfilReferencia PADRAO = new PerfilReferencia(ID_PADRAO,
+            CalculadoraIdadeGestacional.TABELA_PADRAO, CalculadoraIdadeGestacional.TABELA_DIARIA_PADRAO,
+            CalculadoraIdadeGestacional.INDICE_REVERSO_PADRAO, CalculadoraIdadeGestacional.CLASSIFICADOR_PADRAO);
+
+    private final String id;
+    private final TabelaReferencia tabela;
+    private final TabelaReferenciaDiaria tabelaDiaria;
+    private final IndiceReversoFaixas indiceReverso;
+    private final ClassificadorCompilado classificador;
+
+    private PerfilReferencia(String id, TabelaReferencia tabela, TabelaReferenciaDiaria tabelaDiaria,
+                             IndiceReversoFaixas indiceReverso, ClassificadorCompilado classificador) {
+        this.id = id;
+        this.tabela = tabela;
+        this.tabelaDiaria = tabelaDiaria;
+        this.indiceReverso = indiceReverso;
+        this.classificador = classificador;
+    }
+
+    /**
+     * @return perfil com as faixas padrão da calculadora
+     */
+    public static PerfilReferencia padrao() {
+        return PADRAO;
+    }
+
+    /**
+     * Compila um perfil a partir de faixas no formato {semana, mínimo, máximo}
+     *
+     * @throws IllegalArgumentException se as faixas forem inválidas
+     */
+    public static PerfilReferencia compilar(String id, double[][] faixas) {
+        TabelaReferencia tabela = TabelaReferencia.compilar(faixas);
+        return new PerfilReferencia(id, tabela, TabelaReferenciaDiaria.interpolar(tabela),
+                IndiceReversoFaixas.construir(tabela), ClassificadorCompilado.compilar(tabela));
+    }
+
+    /**
+     * Lê e compila um perfil em texto, com uma faixa {@code semana;minimo;maximo} por linha
+     *
+     * Linhas vazias e linhas iniciadas por {@code #} são ignoradas; os limites aceitam ponto ou vírgula decimal.
+     *
+     * @throws IllegalArgumentException se alguma linha ou faixa for inválida, indicando a linha
+     */
+    public static PerfilReferencia ler(String id, Reader entrada) throws IOException {
+        BufferedReader leitor = entrada instanceof BufferedReader
+                ? (BufferedReader) entrada : new BufferedReader(entrada);
+        List<double[]> faixas = new ArrayList<>();
+        String linha;
+        int numeroLinha = 0;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            linha = linha.trim();
+            if (linha.isEmpty() || linha.startsWith("#")) {
+                continue;
+            }
+            String[] campos = linha.split(";");
+            if (campos.length != 3) {
+                throw new IllegalArgumentException("Perfil " + id + ", linha " + numeroLinha
+                        + ": esperado semana;minimo;maximo");
+            }
+            double[] faixa = new double[3];
+            try {
+                for (int i = 0; i < 3; i++) {
+                    faixa[i] = Double.parseDouble(campos[i].trim().replace(',', '.'));
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Perfil " + id + ", linha " + numeroLinha + ": número inválido");
+            }
+            faixas.add(faixa);
+        }
+        return compilar(id, faixas.toArray(new double[0][]));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public TabelaReferencia tabela() {
+        return tabela;
+    }
+
+    public TabelaReferenciaDiaria tabelaDiaria() {
+        return tabelaDiaria;
+    }
+
+    public IndiceReversoFaixas indiceReverso() {
+        return indiceReverso;
+    }
+
+    public ClassificadorCompilado classificador() {
+        return classificador;
+    }
+
+    @Override
+    public String toString() {
+        return id + " (semanas " + tabela.semanaInicial() + "-" + tabela.semanaFinal() + ")";
+    }
+}
@@ -0,0 +1,148 @@
+package org.example;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * {@link Flow.Processor} que recebe coletas de Beta hCG e publica as coletas classificadas
+ *
+ * As coletas são pedidas ao publicador de origem em lotes de {@code tamanhoLote} e classificadas
+ * em formato colunar com {@link CalculadoraIdadeGestacional#classificarLote}. O próximo lote só é
+ * pedido depois que todos os resultados do anterior foram entregues ao {@link SubmissionPublisher},
+ * cujo buffer por assinante é limitado a {@code capacidadeBuffer}: quando um assinante lento enche o
+ * buffer, {@link SubmissionPublisher#submit} bloqueia a thread que entrega as coletas e nenhum novo
+ * pedido sobe para a origem. A memória ocupada fica limitada a um lote mais os buffers dos assinantes.
+ *
+ * O primeiro lote só é pedido à origem quando surge o primeiro assinante, porque o
+ * {@link SubmissionPublisher} descarta o que é publicado sem assinantes; coletas emitidas antes
+ * disso esperam na origem. Os resultados são entregues aos assinantes pelo executor informado. Um lote incompleto é
+ * classificado e publicado quando a origem termina, com sucesso ou erro.
+ */
+public class ProcessadorFluxoClassificacao extends SubmissionPublisher<MedicaoClassificada>
+        implements Flow.Processor<MedicaoHcg, MedicaoClassificada> {
+
+    /** Tamanho padrão do lote pedido à origem */
+    public static final int TAMANHO_LOTE_PADRAO = 256;
+
+    private final CalculadoraIdadeGestacional calculadora;
+    private final int tamanhoLote;
+    private final MedicaoHcg[] medicoes;
+    private final double[] valores;
+    private final int[] dums;
+    private final byte[] codigos;
+    private final int[] semanas;
+    private int quantidade;
+    private Flow.Subscription origem;
+    /** Protege {@link #origem} e {@link #assinado} entre a thread da origem e a de quem assina */
+    private final Object travaAssinatura = new Object();
+    private boolean assinado;
+
+    public ProcessadorFluxoClassificacao(CalculadoraIdadeGestacional calculadora) {
+        this(calculadora, ForkJoinPool.commonPool(), TAMANHO_LOTE_PADRAO, Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param executor executor que entrega os resultados aos assinantes
+     * @param tamanhoLote quantidade de coletas pedida à origem e classificada de uma vez
+     * @param capacidadeBuffer máximo de resultados pendentes por assinante antes de bloquear a origem
+     */
+    public ProcessadorFluxoClassificacao(CalculadoraIdadeGestacional calculadora, Executor executor,
+                                         int tamanhoLote, int capacidadeBuffer) {
+        super(executor, capacidadeBuffer);
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser positivo: " + tamanhoLote);
+        }
+        this.calculadora = calculadora;
+        this.tamanhoLote = tamanhoLote;
+        this.medicoes = new MedicaoHcg[tamanhoLote];
+        this.valores = new double[tamanhoLote];
+        this.dums = new int[tamanhoLote];
+        this.codigos = new byte[tamanhoLote];
+        this.semanas = new int[tamanhoLote];
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription assinatura) {
+        synchronized (travaAssinatura) {
+            if (origem != null) {
+                assinatura.cancel();
+                return;
+            }
+            origem = assinatura;
+            if (!assinado) {
+                return;
+            }
+        }
+        assinatura.request(tamanhoLote);
+    }
+
+    /**
+     * Registra o assinante e, se for o primeiro, libera o pedido do primeiro lote à origem
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super MedicaoClassificada> assinante) {
+        super.subscribe(assinante);
+        Flow.Subscription pendente;
+        synchronized (travaAssinatura) {
+            if (assinado) {
+                return;
+            }
+            assinado = true;
+            pendente = origem;
+        }
+        if (pendente != null) {
+            pendente.request(tamanhoLote);
+        }
+    }
+
+    @Override
+    public void onNext(MedicaoHcg medicao) {
+        if (isClosed()) {
+            return;
+        }
+        medicoes[quantidade] = medicao;
+        valores[quantidade] = medicao.betaHcg();
+        dums[quantidade] = medicao.dumEpochDia();
+        if (++quantidade == tamanhoLote) {
+            publicarLote();
+            if (isClosed()) {
+                origem.cancel();
+            } else {
+                origem.request(tamanhoLote);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable erro) {
+        publicarLote();
+        closeExceptionally(erro);
+    }
+
+    @Override
+    public void onComplete() {
+        publicarLote();
+        close();
+    }
+
+    /**
+     * Classifica as coletas acumuladas e as entrega aos assinantes, bloqueando enquanto algum buffer estiver cheio
+     */
+    private void publicarLote() {
+        if (quantidade == 0 || isClosed()) {
+            quantidade = 0;
+            return;
+        }
+        int hojeEpochDia = calculadora.contexto().hojeEpochDia();
+        calculadora.classificarLote(valores, dums, 0, quantidade, hojeEpochDia, codigos, semanas);
+        for (int i = 0; i < quantidade; i++) {
+            ResultadoClassificacao resultado =
+                    CalculadoraIdadeGestacional.resultado(codigos[i], valores[i], semanas[i]);
+            submit(new MedicaoClassificada(medicoes[i], resultado));
+            medicoes[i] = null;
+        }
+        quantidade = 0;
+    }
+}
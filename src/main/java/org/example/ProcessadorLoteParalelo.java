@@ -0,0 +1,171 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Processamento em lote de CSV com classificação paralela em um {@link ForkJoinPool}
+ *
+ * Usa o mesmo formato de entrada e saída do {@link ProcessadorLoteCsv}. A thread chamadora
+ * apenas lê blocos de linhas e grava os resultados; a interpretação, a classificação e a
+ * montagem do texto de saída de cada bloco rodam no pool. Os blocos são gravados na ordem
+ * de leitura, e no máximo {@code 2 * paralelismo} blocos ficam em memória ao mesmo tempo.
+ */
+public class ProcessadorLoteParalelo {
+
+    /** Tamanho padrão do bloco de linhas entregue a cada tarefa */
+    public static final int TAMANHO_BLOCO_PADRAO = 8192;
+
+    private final CalculadoraIdadeGestacional calculadora;
+    private final int paralelismo;
+    private final int tamanhoBloco;
+    private final boolean possuiCabecalho;
+    private final boolean incluirMensagem;
+
+    public ProcessadorLoteParalelo(CalculadoraIdadeGestacional calculadora) {
+        this(calculadora, Runtime.getRuntime().availableProcessors(), TAMANHO_BLOCO_PADRAO, true, false);
+    }
+
+    public ProcessadorLoteParalelo(CalculadoraIdadeGestacional calculadora, int paralelismo, int tamanhoBloco,
+                                   boolean possuiCabecalho, boolean incluirMensagem) {
+        if (paralelismo <= 0) {
+            throw new IllegalArgumentException("Paralelismo deve ser positivo: " + paralelismo);
+        }
+        if (tamanhoBloco <= 0) {
+            throw new IllegalArgumentException("Tamanho do bloco deve ser positivo: " + tamanhoBloco);
+        }
+        this.calculadora = calculadora;
+        this.paralelismo = paralelismo;
+        this.tamanhoBloco = tamanhoBloco;
+        this.possuiCabecalho = possuiCabecalho;
+        this.incluirMensagem = incluirMensagem;
+    }
+
+    /**
+     * Bloco em processamento: as colunas da janela e o texto de saída já montado
+     */
+    private static final class Bloco {
+        final ProcessadorLoteCsv.Janela janela;
+        final StringBuilder saida;
+        long primeiro;
+        CompletableFuture<Void> tarefa;
+
+        Bloco(int capacidade) {
+            janela = new ProcessadorLoteCsv.Janela(capacidade);
+            saida = new StringBuilder(capacidade * 64);
+        }
+    }
+
+    /**
+     * Lê todas as linhas da entrada, classifica os blocos em paralelo e grava o CSV de saída em ordem
+     *
+     * @param entrada CSV de entrada
+     * @param saida destino do CSV de saída
+     * @return quantidade de linhas de dados processadas
+     */
+    public long processar(Reader entrada, Writer saida) throws IOException {
+        return processar(entrada, saida, null);
+    }
+
+    /**
+     * Como {@link #processar(Reader, Writer)}, entregando cada bloco classificado também a um observador
+     *
+     * O observador é chamado pelas threads do pool, em paralelo e fora de ordem, com o número da
+     * primeira linha de dados do bloco; linhas que não puderam ser lidas têm código negativo.
+     * Um {@link AgregadorEstatisticas} pode ser usado diretamente.
+     *
+     * @param observador consumidor seguro para várias threads, ou null
+     */
+    public long processar(Reader entrada, Writer saida, ConsumidorLote observador) throws IOException {
+        BufferedReader leitor = entrada instanceof BufferedReader
+                ? (BufferedReader) entrada : new BufferedReader(entrada, 1 << 16);
+        BufferedWriter escritor = saida instanceof BufferedWriter
+                ? (BufferedWriter) saida : new BufferedWriter(saida, 1 << 16);
+
+        if (possuiCabecalho) {
+            leitor.readLine();
+        }
+        escritor.write(incluirMensagem
+                ? ProcessadorLoteCsv.CABECALHO_SAIDA + ";mensagem" : ProcessadorLoteCsv.CABECALHO_SAIDA);
+        escritor.newLine();
+
+        int hojeEpochDia = calculadora.contexto().hojeEpochDia();
+        int maximoEmAndamento = paralelismo * 2;
+        ArrayDeque<Bloco> livres = new ArrayDeque<>(maximoEmAndamento);
+        ArrayDeque<Bloco> emAndamento = new ArrayDeque<>(maximoEmAndamento);
+        long total = 0;
+        long lidas = 0;
+
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            boolean fimDaEntrada = false;
+            while (!fimDaEntrada || !emAndamento.isEmpty()) {
+                if (!fimDaEntrada && emAndamento.size() < maximoEmAndamento) {
+                    Bloco bloco = livres.isEmpty() ? new Bloco(tamanhoBloco) : livres.poll();
+                    bloco.janela.preencher(leitor);
+                    fimDaEntrada = bloco.janela.quantidade < tamanhoBloco;
+                    if (bloco.janela.quantidade == 0) {
+                        livres.push(bloco);
+                        continue;
+                    }
+                    bloco.primeiro = lidas;
+                    lidas += bloco.janela.quantidade;
+                    bloco.tarefa = CompletableFuture.runAsync(
+                            () -> processarBloco(bloco, hojeEpochDia, observador), pool);
+                    emAndamento.add(bloco);
+                    continue;
+                }
+
+                Bloco concluido = emAndamento.poll();
+                aguardar(concluido.tarefa);
+                escritor.append(concluido.saida);
+                total += concluido.janela.quantidade;
+                concluido.tarefa = null;
+                livres.push(concluido);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        escritor.flush();
+        return total;
+    }
+
+    private void processarBloco(Bloco bloco, int hojeEpochDia, ConsumidorLote observador) {
+        bloco.janela.interpretar();
+        bloco.janela.classificar(calculadora, hojeEpochDia);
+        if (observador != null) {
+            ProcessadorLoteCsv.Janela janela = bloco.janela;
+            try {
+                observador.aceitar(bloco.primeiro, janela.valores, janela.dums, janela.codigos, janela.semanas,
+                        janela.quantidade);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        bloco.saida.setLength(0);
+        bloco.janela.escrever(bloco.saida, incluirMensagem);
+    }
+
+    private static void aguardar(CompletableFuture<Void> tarefa) throws IOException {
+        try {
+            tarefa.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Falha ao processar bloco", e.getCause());
+        }
+    }
+}
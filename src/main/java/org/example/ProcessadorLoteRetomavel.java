@@ -0,0 +1,374 @@
+package org.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Processamento em lote de CSV com checkpoints duráveis, que pode ser retomado após uma falha
+ *
+ * Usa o mesmo formato de entrada e saída do {@link ProcessadorLoteCsv}, mas trabalha sobre arquivos.
+ * A cada {@code linhasPorCheckpoint} linhas (arredondadas para a janela seguinte) a saída é
+ * gravada em disco com {@link FileChannel#force}, e um arquivo de checkpoint registra a posição em
+ * bytes na entrada, a posição em bytes na saída, a data de referência e os contadores por
+ * classificação. O checkpoint é gravado em um arquivo temporário, sincronizado e renomeado com
+ * {@link StandardCopyOption#ATOMIC_MOVE}, de modo que sempre há uma versão completa.
+ *
+ * Ao encontrar um checkpoint, o processamento trunca a saída na posição registrada, descartando as
+ * linhas gravadas depois dele, e continua a leitura da entrada na posição correspondente, com a
+ * mesma data de referência. A saída final é idêntica à de uma execução sem interrupção, sem linhas
+ * duplicadas ou perdidas. Ao final, o checkpoint é marcado como concluído; uma nova execução com o
+ * mesmo checkpoint apenas devolve o resumo. O custo de cada checkpoint é o de duas sincronizações
+ * com o disco, diluído no intervalo configurado.
+ *
+ * As linhas da entrada terminam em {@code \n} ou {@code \r\n} e são lidas em UTF-8.
+ */
+public class ProcessadorLoteRetomavel {
+
+    /** Intervalo padrão entre checkpoints, em linhas de dados */
+    public static final long LINHAS_POR_CHECKPOINT_PADRAO = 1_000_000;
+
+    private static final int VERSAO_CHECKPOINT = 1;
+
+    private final CalculadoraIdadeGestacional calculadora;
+    private final int tamanhoJanela;
+    private final long linhasPorCheckpoint;
+    private final boolean possuiCabecalho;
+    private final boolean incluirMensagem;
+
+    public ProcessadorLoteRetomavel(CalculadoraIdadeGestacional calculadora) {
+        this(calculadora, ProcessadorLoteCsv.TAMANHO_JANELA_PADRAO, LINHAS_POR_CHECKPOINT_PADRAO, true, false);
+    }
+
+    public ProcessadorLoteRetomavel(CalculadoraIdadeGestacional calculadora, int tamanhoJanela,
+                                    long linhasPorCheckpoint, boolean possuiCabecalho, boolean incluirMensagem) {
+        if (tamanhoJanela <= 0) {
+            throw new IllegalArgumentException("Tamanho da janela deve ser positivo: " + tamanhoJanela);
+        }
+        if (linhasPorCheckpoint <= 0) {
+            throw new IllegalArgumentException("Intervalo entre checkpoints deve ser positivo: " + linhasPorCheckpoint);
+        }
+        this.calculadora = calculadora;
+        this.tamanhoJanela = tamanhoJanela;
+        this.linhasPorCheckpoint = linhasPorCheckpoint;
+        this.possuiCabecalho = possuiCabecalho;
+        this.incluirMensagem = incluirMensagem;
+    }
+
+    /**
+     * Resultado de uma execução
+     *
+     * @param linhas linhas de dados processadas no total, incluindo as de execuções anteriores
+     * @param linhasRetomadas linhas que já estavam processadas no checkpoint encontrado, ou 0
+     * @param linhasInvalidas linhas que não puderam ser lidas
+     * @param checkpoints checkpoints gravados nesta execução
+     * @param nanosCheckpoints tempo gasto nesta execução sincronizando a saída e gravando checkpoints
+     * @param contagens quantidade de linhas por {@link Classificacao#codigo()}
+     */
+    public record Resumo(long linhas, long linhasRetomadas, long linhasInvalidas, int checkpoints,
+                         long nanosCheckpoints, long[] contagens) {
+
+        /**
+         * @return quantidade de linhas com a classificação
+         */
+        public long contagem(Classificacao classificacao) {
+            return contagens[classificacao.codigo()];
+        }
+    }
+
+    /**
+     * Processa a entrada inteira, ou o que falta dela se houver checkpoint
+     *
+     * @param entrada CSV de entrada; não deve mudar entre a execução interrompida e a retomada
+     * @param saida CSV de saída, criado ou continuado
+     * @param checkpoint arquivo de checkpoint, criado se não existir
+     * @throws IOException se o checkpoint não corresponder à entrada, à saída ou à configuração atual
+     */
+    public Resumo processar(Path entrada, Path saida, Path checkpoint) throws IOException {
+        return processar(entrada, saida, checkpoint, null);
+    }
+
+    /**
+     * Como {@link #processar(Path, Path, Path)}, entregando cada janela classificada também a um observador
+     *
+     * O observador é chamado antes da gravação da janela, com o número da primeira linha de dados
+     * da janela; linhas que não puderam ser lidas têm código negativo. Após uma retomada, ele recebe
+     * novamente as janelas gravadas depois do último checkpoint.
+     *
+     * @param observador consumidor das janelas, ou null
+     */
+    public Resumo processar(Path entrada, Path saida, Path checkpoint, ConsumidorLote observador)
+            throws IOException {
+        long tamanhoEntrada = Files.size(entrada);
+        Estado estado = Files.exists(checkpoint) ? Estado.ler(checkpoint) : null;
+        if (estado != null) {
+            if (estado.tamanhoEntrada != tamanhoEntrada) {
+                throw new IOException("A entrada mudou desde o checkpoint: " + estado.tamanhoEntrada
+                        + " bytes registrados, " + tamanhoEntrada + " bytes atuais");
+            }
+            if (estado.incluirMensagem != incluirMensagem) {
+                throw new IOException("Checkpoint gravado com outra configuração da coluna de mensagem");
+            }
+            if (estado.concluido) {
+                return estado.resumo(estado.linhas, 0, 0);
+            }
+        }
+        long linhasRetomadas = estado != null ? estado.linhas : 0;
+
+        try (FileChannel canalEntrada = FileChannel.open(entrada, StandardOpenOption.READ);
+             FileChannel canalSaida = FileChannel.open(saida, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (estado == null) {
+                estado = new Estado(calculadora.contexto().hojeEpochDia(), tamanhoEntrada, incluirMensagem);
+            } else if (canalSaida.size() < estado.posicaoSaida) {
+                throw new IOException("Saída menor que a registrada no checkpoint: " + canalSaida.size()
+                        + " bytes, esperados " + estado.posicaoSaida);
+            }
+            // Descarta o que foi gravado depois do último checkpoint, inclusive uma linha pela metade
+            canalSaida.truncate(estado.posicaoSaida);
+            canalSaida.position(estado.posicaoSaida);
+            canalEntrada.position(estado.posicaoEntrada);
+
+            LeitorLinhas leitor = new LeitorLinhas(Channels.newInputStream(canalEntrada), estado.posicaoEntrada);
+            Writer escritor = new BufferedWriter(
+                    new OutputStreamWriter(Channels.newOutputStream(canalSaida), StandardCharsets.UTF_8), 1 << 16);
+            if (estado.posicaoSaida == 0) {
+                if (possuiCabecalho) {
+                    leitor.lerLinha();
+                }
+                escritor.write(incluirMensagem
+                        ? ProcessadorLoteCsv.CABECALHO_SAIDA + ";mensagem" : ProcessadorLoteCsv.CABECALHO_SAIDA);
+                escritor.write(System.lineSeparator());
+            }
+
+            ProcessadorLoteCsv.Janela janela = new ProcessadorLoteCsv.Janela(tamanhoJanela);
+            StringBuilder bufferSaida = new StringBuilder(tamanhoJanela * 64);
+            long linhasNoCheckpoint = estado.linhas;
+            int checkpoints = 0;
+            long nanosCheckpoints = 0;
+            do {
+                preencher(janela, leitor);
+                janela.interpretar();
+                janela.classificar(calculadora, estado.hojeEpochDia);
+                if (observador != null) {
+                    observador.aceitar(estado.linhas, janela.valores, janela.dums, janela.codigos, janela.semanas,
+                            janela.quantidade);
+                }
+                contar(estado, janela);
+                bufferSaida.setLength(0);
+                janela.escrever(bufferSaida, incluirMensagem);
+                escritor.append(bufferSaida);
+                estado.posicaoEntrada = leitor.posicao();
+
+                boolean fim = janela.quantidade < tamanhoJanela;
+                if (fim || estado.linhas - linhasNoCheckpoint >= linhasPorCheckpoint) {
+                    long inicio = System.nanoTime();
+                    estado.concluido = fim;
+                    escritor.flush();
+                    canalSaida.force(false);
+                    estado.posicaoSaida = canalSaida.position();
+                    estado.gravar(checkpoint);
+                    nanosCheckpoints += System.nanoTime() - inicio;
+                    checkpoints++;
+                    linhasNoCheckpoint = estado.linhas;
+                }
+            } while (!estado.concluido);
+
+            return estado.resumo(linhasRetomadas, checkpoints, nanosCheckpoints);
+        }
+    }
+
+    /**
+     * Como {@link ProcessadorLoteCsv.Janela#preencher}, mas a partir do leitor com posição em bytes
+     */
+    private static void preencher(ProcessadorLoteCsv.Janela janela, LeitorLinhas leitor) throws IOException {
+        janela.quantidade = 0;
+        String linha;
+        while (janela.quantidade < janela.linhas.length && (linha = leitor.lerLinha()) != null) {
+            if (!linha.isBlank()) {
+                janela.linhas[janela.quantidade++] = linha;
+            }
+        }
+    }
+
+    private static void contar(Estado estado, ProcessadorLoteCsv.Janela janela) {
+        for (int i = 0; i < janela.quantidade; i++) {
+            byte codigo = janela.codigos[i];
+            if (codigo == ProcessadorLoteCsv.Janela.LINHA_INVALIDA) {
+                estado.invalidas++;
+            } else {
+                estado.contagens[codigo]++;
+            }
+        }
+        estado.linhas += janela.quantidade;
+    }
+
+    /**
+     * Conteúdo do arquivo de checkpoint, gravado como propriedades em texto
+     */
+    private static final class Estado {
+        final int hojeEpochDia;
+        final long tamanhoEntrada;
+        final boolean incluirMensagem;
+        final long[] contagens = new long[Classificacao.values().length];
+        long posicaoEntrada;
+        long posicaoSaida;
+        long linhas;
+        long invalidas;
+        boolean concluido;
+
+        Estado(int hojeEpochDia, long tamanhoEntrada, boolean incluirMensagem) {
+            this.hojeEpochDia = hojeEpochDia;
+            this.tamanhoEntrada = tamanhoEntrada;
+            this.incluirMensagem = incluirMensagem;
+        }
+
+        Resumo resumo(long linhasRetomadas, int checkpoints, long nanosCheckpoints) {
+            return new Resumo(linhas, linhasRetomadas, invalidas, checkpoints, nanosCheckpoints,
+                    Arrays.copyOf(contagens, contagens.length));
+        }
+
+        static Estado ler(Path arquivo) throws IOException {
+            Properties propriedades = new Properties();
+            try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                propriedades.load(leitor);
+            }
+            try {
+                int versao = Integer.parseInt(propriedades.getProperty("versao"));
+                if (versao != VERSAO_CHECKPOINT) {
+                    throw new IOException("Versão de checkpoint não suportada: " + versao);
+                }
+                Estado estado = new Estado(Integer.parseInt(propriedades.getProperty("hojeEpochDia")),
+                        Long.parseLong(propriedades.getProperty("tamanhoEntrada")),
+                        Boolean.parseBoolean(propriedades.getProperty("incluirMensagem")));
+                estado.posicaoEntrada = Long.parseLong(propriedades.getProperty("posicaoEntrada"));
+                estado.posicaoSaida = Long.parseLong(propriedades.getProperty("posicaoSaida"));
+                estado.linhas = Long.parseLong(propriedades.getProperty("linhas"));
+                estado.invalidas = Long.parseLong(propriedades.getProperty("linhasInvalidas"));
+                estado.concluido = Boolean.parseBoolean(propriedades.getProperty("concluido"));
+                for (Classificacao classificacao : Classificacao.values()) {
+                    estado.contagens[classificacao.codigo()] =
+                            Long.parseLong(propriedades.getProperty("contagem." + classificacao.name()));
+                }
+                return estado;
+            } catch (NumberFormatException e) {
+                throw new IOException("Checkpoint inválido: " + arquivo, e);
+            }
+        }
+
+        void gravar(Path arquivo) throws IOException {
+            StringBuilder texto = new StringBuilder(512)
+                    .append("versao=").append(VERSAO_CHECKPOINT).append('\n')
+                    .append("hojeEpochDia=").append(hojeEpochDia).append('\n')
+                    .append("tamanhoEntrada=").append(tamanhoEntrada).append('\n')
+                    .append("incluirMensagem=").append(incluirMensagem).append('\n')
+                    .append("posicaoEntrada=").append(posicaoEntrada).append('\n')
+                    .append("posicaoSaida=").append(posicaoSaida).append('\n')
+                    .append("linhas=").append(linhas).append('\n')
+                    .append("linhasInvalidas=").append(invalidas).append('\n')
+                    .append("concluido=").append(concluido).append('\n');
+            for (Classificacao classificacao : Classificacao.values()) {
+                texto.append("contagem.").append(classificacao.name()).append('=')
+                        .append(contagens[classificacao.codigo()]).append('\n');
+            }
+
+            Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer conteudo = StandardCharsets.UTF_8.encode(texto.toString());
+                while (conteudo.hasRemaining()) {
+                    canal.write(conteudo);
+                }
+                canal.force(true);
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Leitor de linhas UTF-8 que informa a posição em bytes logo após a última linha lida
+     */
+    private static final class LeitorLinhas {
+        private final InputStream entrada;
+        private final byte[] buffer = new byte[1 << 16];
+        private byte[] parcial = new byte[256];
+        private int inicio;
+        private int fim;
+        private long posicao;
+
+        LeitorLinhas(InputStream entrada, long posicao) {
+            this.entrada = entrada;
+            this.posicao = posicao;
+        }
+
+        long posicao() {
+            return posicao;
+        }
+
+        /**
+         * @return próxima linha sem o terminador, ou null no fim da entrada
+         */
+        String lerLinha() throws IOException {
+            int tamanhoParcial = 0;
+            while (true) {
+                if (inicio == fim) {
+                    int lidos = entrada.read(buffer);
+                    if (lidos <= 0) {
+                        return tamanhoParcial == 0 ? null : texto(parcial, 0, tamanhoParcial);
+                    }
+                    inicio = 0;
+                    fim = lidos;
+                }
+
+                int quebra = inicio;
+                while (quebra < fim && buffer[quebra] != '\n') {
+                    quebra++;
+                }
+                int tamanho = quebra - inicio;
+                if (quebra < fim) {
+                    posicao += tamanho + 1;
+                    String linha;
+                    if (tamanhoParcial == 0) {
+                        linha = texto(buffer, inicio, tamanho);
+                    } else {
+                        anexarParcial(tamanhoParcial, tamanho);
+                        linha = texto(parcial, 0, tamanhoParcial + tamanho);
+                    }
+                    inicio = quebra + 1;
+                    return linha;
+                }
+                // Linha continua no próximo bloco
+                anexarParcial(tamanhoParcial, tamanho);
+                tamanhoParcial += tamanho;
+                posicao += tamanho;
+                inicio = fim;
+            }
+        }
+
+        private void anexarParcial(int tamanhoParcial, int tamanho) {
+            if (tamanhoParcial + tamanho > parcial.length) {
+                parcial = Arrays.copyOf(parcial, Math.max(parcial.length * 2, tamanhoParcial + tamanho));
+            }
+            System.arraycopy(buffer, inicio, parcial, tamanhoParcial, tamanho);
+        }
+
+        private static String texto(byte[] bytes, int inicio, int tamanho) {
+            if (tamanho > 0 && bytes[inicio + tamanho - 1] == '\r') {
+                tamanho--;
+            }
+            return new String(bytes, inicio, tamanho, StandardCharsets.UTF_8);
+        }
+    }
+}
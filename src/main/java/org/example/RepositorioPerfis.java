@@ -0,0 +1,238 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Perfis de referência carregados de um diretório, com recarga a quente
+ *
+ * Cada arquivo {@code <id>.faixas} do diretório define o perfil {@code <id>} no formato de
+ * {@link PerfilReferencia#ler(String, Reader)}. O perfil {@link PerfilReferencia#ID_PADRAO} existe
+ * sempre, com as faixas padrão, a menos que um arquivo o substitua.
+ *
+ * Os perfis ficam em um mapa imutável trocado por copy-on-write: a recarga lê e compila o
+ * arquivo inteiro antes de publicar o novo mapa com uma única escrita atômica, e a consulta é
+ * uma leitura volátil sem lock. Um arquivo inválido é rejeitado e o perfil anterior continua em uso.
+ * Para que o monitor nunca leia um arquivo pela metade, atualize-o gravando um arquivo temporário
+ * com outra extensão e renomeando-o com {@link java.nio.file.StandardCopyOption#ATOMIC_MOVE}.
+ *
+ * Se o sistema operacional descartar eventos ({@link StandardWatchEventKinds#OVERFLOW}), o monitor relê
+ * o diretório inteiro. As falhas do monitor vão para o tratador de {@link #aoFalhar(BiConsumer)}; se o
+ * diretório deixar de poder ser observado, o tratador é chamado e o monitor termina.
+ */
+public final class RepositorioPerfis implements AutoCloseable {
+
+    /** Extensão dos arquivos de perfil */
+    public static final String EXTENSAO = ".faixas";
+
+    private final Path diretorio;
+    private final AtomicReference<Map<String, PerfilReferencia>> perfis =
+            new AtomicReference<>(Map.of(PerfilReferencia.ID_PADRAO, PerfilReferencia.padrao()));
+    /** Ids publicados a partir de arquivos do diretório, os únicos que a releitura completa pode remover */
+    private final Set<String> idsDeArquivo = ConcurrentHashMap.newKeySet();
+    private volatile BiConsumer<Path, Exception> tratadorFalhas = (caminho, e) ->
+            System.err.println("Perfil " + caminho.getFileName() + " não recarregado: " + e.getMessage());
+    private WatchService observador;
+    private Thread monitor;
+    private volatile boolean encerrando;
+
+    public RepositorioPerfis(Path diretorio) {
+        this.diretorio = diretorio;
+    }
+
+    /**
+     * Define quem recebe as falhas do monitor; por padrão elas são escritas em {@code System.err}
+     *
+     * @param tratador recebe o arquivo que não foi recarregado, ou o diretório quando a falha é do
+     *                 próprio monitor, e a exceção
+     */
+    public void aoFalhar(BiConsumer<Path, Exception> tratador) {
+        this.tratadorFalhas = tratador;
+    }
+
+    /**
+     * @param id identificador do perfil
+     * @return versão atual do perfil
+     * @throws IllegalArgumentException se o perfil não existir
+     */
+    public PerfilReferencia perfil(String id) {
+        PerfilReferencia perfil = perfis.get().get(id);
+        if (perfil == null) {
+            throw new IllegalArgumentException("Perfil de referência desconhecido: " + id);
+        }
+        return perfil;
+    }
+
+    /**
+     * @return identificadores dos perfis disponíveis
+     */
+    public Set<String> ids() {
+        return perfis.get().keySet();
+    }
+
+    /**
+     * Carrega todos os arquivos de perfil do diretório
+     *
+     * @throws IllegalArgumentException se algum arquivo for inválido; os perfis lidos antes dele permanecem
+     */
+    public void carregarTodos() throws IOException {
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*" + EXTENSAO)) {
+            for (Path arquivo : arquivos) {
+                carregar(arquivo);
+            }
+        }
+    }
+
+    /**
+     * Lê, compila e publica um arquivo de perfil, substituindo a versão anterior do mesmo id
+     *
+     * @return perfil publicado
+     */
+    public PerfilReferencia carregar(Path arquivo) throws IOException {
+        String id = idDoArquivo(arquivo);
+        PerfilReferencia perfil;
+        try (Reader entrada = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            perfil = PerfilReferencia.ler(id, entrada);
+        }
+        publicar(perfil);
+        idsDeArquivo.add(id);
+        return perfil;
+    }
+
+    /**
+     * Publica um perfil já compilado
+     */
+    public void publicar(PerfilReferencia perfil) {
+        perfis.updateAndGet(atuais -> {
+            Map<String, PerfilReferencia> novos = new HashMap<>(atuais);
+            novos.put(perfil.id(), perfil);
+            return Map.copyOf(novos);
+        });
+    }
+
+    /**
+     * Relê o diretório inteiro: carrega todos os arquivos e remove os perfis cujos arquivos sumiram.
+     * Um arquivo inválido é entregue ao tratador de falhas sem interromper a releitura dos demais, e os
+     * perfis publicados apenas por {@link #publicar(PerfilReferencia)} são mantidos.
+     */
+    public void recarregarTodos() throws IOException {
+        Set<String> presentes = new HashSet<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*" + EXTENSAO)) {
+            for (Path arquivo : arquivos) {
+                presentes.add(idDoArquivo(arquivo));
+                recarregar(arquivo);
+            }
+        }
+        for (String id : idsDeArquivo) {
+            if (!presentes.contains(id)) {
+                remover(id);
+            }
+        }
+    }
+
+    private void recarregar(Path arquivo) {
+        try {
+            carregar(arquivo);
+        } catch (IOException | IllegalArgumentException e) {
+            tratadorFalhas.accept(arquivo, e);
+        }
+    }
+
+    private void remover(String id) {
+        idsDeArquivo.remove(id);
+        perfis.updateAndGet(atuais -> {
+            Map<String, PerfilReferencia> novos = new HashMap<>(atuais);
+            if (id.equals(PerfilReferencia.ID_PADRAO)) {
+                novos.put(id, PerfilReferencia.padrao());
+            } else {
+                novos.remove(id);
+            }
+            return Map.copyOf(novos);
+        });
+    }
+
+    private static String idDoArquivo(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return nome.endsWith(EXTENSAO) ? nome.substring(0, nome.length() - EXTENSAO.length()) : nome;
+    }
+
+    /**
+     * Inicia uma thread que recarrega os perfis quando arquivos {@code *.faixas} são criados,
+     * alterados ou removidos no diretório
+     */
+    public synchronized void monitorar() throws IOException {
+        if (monitor != null) {
+            return;
+        }
+        encerrando = false;
+        observador = diretorio.getFileSystem().newWatchService();
+        diretorio.register(observador, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        WatchService servico = observador;
+        monitor = Thread.ofPlatform().daemon().name("monitor-perfis").start(() -> observar(servico));
+    }
+
+    private void observar(WatchService servico) {
+        try {
+            while (true) {
+                WatchKey chave = servico.take();
+                for (WatchEvent<?> evento : chave.pollEvents()) {
+                    if (evento.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Eventos perdidos: só a releitura completa garante o estado do diretório
+                        try {
+                            recarregarTodos();
+                        } catch (IOException e) {
+                            tratadorFalhas.accept(diretorio, e);
+                        }
+                        break;
+                    }
+                    if (!(evento.context() instanceof Path nome) || !nome.toString().endsWith(EXTENSAO)) {
+                        continue;
+                    }
+                    Path arquivo = diretorio.resolve(nome);
+                    if (evento.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        remover(idDoArquivo(arquivo));
+                    } else if (Files.exists(arquivo)) {
+                        recarregar(arquivo);
+                    }
+                }
+                if (!chave.reset()) {
+                    // Chave cancelada: o diretório foi removido ou ficou inacessível, ou close() foi chamado
+                    if (!encerrando) {
+                        tratadorFalhas.accept(diretorio, new IOException("Diretório deixou de ser observado"));
+                    }
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Encerrado por close()
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (observador != null) {
+            encerrando = true;
+            observador.close();
+            monitor.interrupt();
+            observador = null;
+            monitor = null;
+        }
+    }
+}
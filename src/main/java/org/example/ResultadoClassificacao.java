@@ -0,0 +1,173 @@
+package org.example;
+
+import java.io.IOException;
+
+/**
+ * Resultado estruturado da interpretação do Beta hCG
+ *
+ * Guarda apenas a classificação, a idade gestacional e a faixa de referência usada.
+ * O texto explicativo é montado somente quando {@link #mensagem()} é chamado, a partir de
+ * trechos fixos pré-definidos e da formatação numérica do {@link FormatadorDecimal}.
+ */
+public final class ResultadoClassificacao {
+
+    /** Valor de semanas usado quando a idade gestacional não chegou a ser calculada */
+    public static final long SEMANAS_NAO_CALCULADAS = CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS;
+
+    /** Abaixo desta idade gestacional, o resultado negativo usa o modelo que sugere repetir o exame */
+    static final long SEMANAS_DUM_RECENTE = 4;
+
+    private static final String DUM_NAO_INFORMADA = "Data da última menstruação não informada";
+    private static final String VALOR_INVALIDO = "Valor de Beta hCG inválido";
+    private static final String NEGATIVO =
+            "Resultado negativo (<25 mUI/mL): indica que, provavelmente, não há gestação em curso.";
+    private static final String NEGATIVO_DUM_RECENTE = NEGATIVO +
+            " Como a DUM é recente (menos de 4 semanas), existe possibilidade de falso negativo, " +
+            "sendo recomendado repetir o exame em 1 semana.";
+    private static final String FORA_DO_INTERVALO_INICIO = "Idade gestacional estimada (";
+    private static final String FORA_DO_INTERVALO_FIM = " semanas) está fora do intervalo " +
+            "de interpretação desta calculadora (3-16 semanas). É necessária avaliação médica.";
+    private static final String SEM_FAIXA_INICIO = "Não foi possível determinar a faixa de referência para ";
+    private static final String SEM_FAIXA_FIM = " semanas.";
+    private static final String COMPATIVEL_INICIO =
+            "Resultado positivo compatível com a idade gestacional: o valor de hCG (";
+    private static final String COMPATIVEL_MEIO = " mUI/mL) está dentro do intervalo esperado para ";
+    private static final String COMPATIVEL_FIM = " mUI/mL).";
+    private static final String ABAIXO_INICIO = "Resultado positivo abaixo do esperado: o valor de hCG (";
+    private static final String ABAIXO_MEIO = " mUI/mL) está abaixo do intervalo esperado para ";
+    private static final String ABAIXO_FIM = " mUI/mL). Pode indicar problemas na evolução da " +
+            "gravidez ou datação incorreta; é necessário acompanhamento médico.";
+    private static final String ACIMA_INICIO = "Resultado positivo acima do esperado: o valor de hCG (";
+    private static final String ACIMA_MEIO = " mUI/mL) está acima do intervalo esperado para ";
+    private static final String ACIMA_FIM = " mUI/mL). Pode sugerir uma gestação gemelar ou " +
+            "erro de datação; também deve ser avaliado por um profissional de saúde.";
+
+    /** Capacidade inicial do buffer de {@link #mensagem()}, suficiente para o modelo mais longo */
+    private static final int TAMANHO_MAXIMO = 256;
+
+    private final Classificacao classificacao;
+    private final double betaHcg;
+    private final long semanasGestacionais;
+    private final double valorMinimo;
+    private final double valorMaximo;
+
+    ResultadoClassificacao(Classificacao classificacao, double betaHcg, long semanasGestacionais,
+                           double valorMinimo, double valorMaximo) {
+        this.classificacao = classificacao;
+        this.betaHcg = betaHcg;
+        this.semanasGestacionais = semanasGestacionais;
+        this.valorMinimo = valorMinimo;
+        this.valorMaximo = valorMaximo;
+    }
+
+    public Classificacao classificacao() {
+        return classificacao;
+    }
+
+    public double betaHcg() {
+        return betaHcg;
+    }
+
+    /**
+     * @return semanas gestacionais completas, ou {@link #SEMANAS_NAO_CALCULADAS}
+     */
+    public long semanasGestacionais() {
+        return semanasGestacionais;
+    }
+
+    /**
+     * @return limite inferior da faixa de referência, ou {@code NaN} se nenhuma faixa foi usada
+     */
+    public double valorMinimo() {
+        return valorMinimo;
+    }
+
+    /**
+     * @return limite superior da faixa de referência, ou {@code NaN} se nenhuma faixa foi usada
+     */
+    public double valorMaximo() {
+        return valorMaximo;
+    }
+
+    /**
+     * Monta o texto explicativo do resultado
+     *
+     * @return String indicando a interpretação do resultado
+     */
+    public String mensagem() {
+        switch (classificacao) {
+            case DUM_NAO_INFORMADA:
+                return DUM_NAO_INFORMADA;
+            case VALOR_INVALIDO:
+                return VALOR_INVALIDO;
+            case NEGATIVO:
+                return semanasGestacionais < SEMANAS_DUM_RECENTE ? NEGATIVO_DUM_RECENTE : NEGATIVO;
+            default:
+                StringBuilder texto = new StringBuilder(TAMANHO_MAXIMO);
+                anexarMensagem(texto);
+                return texto.toString();
+        }
+    }
+
+    /**
+     * Anexa o texto explicativo ao final de {@code destino}, sem criar a String intermediária
+     *
+     * O texto é idêntico ao de {@link #mensagem()}. Nenhum modelo contém aspas, de modo que o
+     * texto pode ser anexado diretamente entre aspas em CSV ou JSON.
+     *
+     * @param destino buffer que recebe o texto; pode ser reaproveitado entre chamadas
+     * @return o próprio {@code destino}
+     */
+    public StringBuilder anexarMensagem(StringBuilder destino) {
+        switch (classificacao) {
+            case DUM_NAO_INFORMADA:
+                return destino.append(DUM_NAO_INFORMADA);
+            case VALOR_INVALIDO:
+                return destino.append(VALOR_INVALIDO);
+            case NEGATIVO:
+                return destino.append(semanasGestacionais < SEMANAS_DUM_RECENTE ? NEGATIVO_DUM_RECENTE : NEGATIVO);
+            case FORA_DO_INTERVALO:
+                return destino.append(FORA_DO_INTERVALO_INICIO).append(semanasGestacionais)
+                        .append(FORA_DO_INTERVALO_FIM);
+            case SEM_FAIXA_REFERENCIA:
+                return destino.append(SEM_FAIXA_INICIO).append(semanasGestacionais).append(SEM_FAIXA_FIM);
+            case COMPATIVEL:
+                return anexarPositivo(destino, COMPATIVEL_INICIO, COMPATIVEL_MEIO, " semanas de gestação (",
+                        COMPATIVEL_FIM);
+            case ABAIXO_DO_ESPERADO:
+                return anexarPositivo(destino, ABAIXO_INICIO, ABAIXO_MEIO, " semanas (", ABAIXO_FIM);
+            default:
+                return anexarPositivo(destino, ACIMA_INICIO, ACIMA_MEIO, " semanas (", ACIMA_FIM);
+        }
+    }
+
+    /**
+     * Versão de {@link #anexarMensagem(StringBuilder)} para qualquer {@link Appendable}, como um Writer
+     */
+    public void anexarMensagem(Appendable destino) throws IOException {
+        if (destino instanceof StringBuilder construtor) {
+            anexarMensagem(construtor);
+        } else {
+            destino.append(mensagem());
+        }
+    }
+
+    /**
+     * Modelo dos resultados positivos: início, hCG, meio, semanas, texto após as semanas, faixa e fim
+     */
+    private StringBuilder anexarPositivo(StringBuilder destino, String inicio, String meio, String aposSemanas,
+                                        String fim) {
+        destino.append(inicio);
+        FormatadorDecimal.anexarUmaCasa(destino, betaHcg);
+        destino.append(meio).append(semanasGestacionais).append(aposSemanas);
+        FormatadorDecimal.anexarSemCasas(destino, valorMinimo);
+        destino.append('-');
+        FormatadorDecimal.anexarSemCasas(destino, valorMaximo);
+        return destino.append(fim);
+    }
+
+    @Override
+    public String toString() {
+        return classificacao + " (" + semanasGestacionais + " semanas, hCG " + betaHcg + ")";
+    }
+}
@@ -0,0 +1,82 @@
+package org.example;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Semanas gestacionais cuja faixa de referência contém um valor de Beta hCG
+ *
+ * Como as faixas não crescem de forma monotônica (as semanas 13-16 têm mínimo menor que as
+ * semanas 9-12), o conjunto pode ter lacunas; por isso as semanas são guardadas como intervalos
+ * contíguos em ordem crescente. Instâncias são imutáveis e compartilhadas entre consultas.
+ */
+public final class SemanasCompativeis {
+
+    /** Nenhuma semana compatível */
+    public static final SemanasCompativeis NENHUMA = new SemanasCompativeis(List.of());
+
+    /**
+     * Intervalo contíguo de semanas, inclusivo nas duas pontas
+     */
+    public record Intervalo(int semanaInicial, int semanaFinal) {
+        @Override
+        public String toString() {
+            return semanaInicial == semanaFinal ? String.valueOf(semanaInicial) : semanaInicial + "-" + semanaFinal;
+        }
+    }
+
+    private final List<Intervalo> intervalos;
+
+    private SemanasCompativeis(List<Intervalo> intervalos) {
+        this.intervalos = intervalos;
+    }
+
+    /**
+     * @param intervalos intervalos em ordem crescente, sem sobreposição nem adjacência
+     */
+    static SemanasCompativeis deIntervalos(List<Intervalo> intervalos) {
+        return intervalos.isEmpty() ? NENHUMA : new SemanasCompativeis(List.copyOf(intervalos));
+    }
+
+    /**
+     * @return intervalos de semanas em ordem crescente, sem sobreposição
+     */
+    public List<Intervalo> intervalos() {
+        return intervalos;
+    }
+
+    public boolean vazio() {
+        return intervalos.isEmpty();
+    }
+
+    /**
+     * @return menor semana compatível; não pode ser chamado se {@link #vazio()}
+     */
+    public int semanaInicial() {
+        return intervalos.get(0).semanaInicial();
+    }
+
+    /**
+     * @return maior semana compatível; não pode ser chamado se {@link #vazio()}
+     */
+    public int semanaFinal() {
+        return intervalos.get(intervalos.size() - 1).semanaFinal();
+    }
+
+    public boolean contem(long semana) {
+        for (Intervalo intervalo : intervalos) {
+            if (semana >= intervalo.semanaInicial() && semana <= intervalo.semanaFinal()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        if (intervalos.isEmpty()) {
+            return "nenhuma";
+        }
+        return intervalos.stream().map(Intervalo::toString).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,350 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serviço HTTP de classificação baseado no {@code com.sun.net.httpserver} do JDK,
+ * com uma virtual thread por requisição
+ *
+ * Rotas:
+ * <ul>
+ *     <li>{@code GET /classificar?betaHcg=20000&dum=01/02/2024}: classifica um resultado</li>
+ *     <li>{@code POST /classificar/lote}: corpo com uma linha {@code betaHcg;dum} por resultado</li>
+ * </ul>
+ * A DUM aceita dd/MM/yyyy ou yyyy-MM-dd. As respostas são JSON; o texto explicativo é incluído
+ * no lote apenas com {@code ?mensagem=true}. Com um {@link RepositorioPerfis}, o parâmetro
+ * {@code perfil} das duas rotas escolhe o perfil de referência; sem ele, usa as faixas padrão.
+ *
+ * Cabeçalhos e corpo das respostas saem em escritas separadas; com o algoritmo de Nagle ativo, cada
+ * resposta esperaria o ACK atrasado do cliente. O {@code com.sun.net.httpserver} só desativa o Nagle
+ * com a propriedade {@code sun.net.httpserver.nodelay=true}, lida uma única vez quando o primeiro
+ * servidor da JVM é criado. {@link #main} a define; quem embutir o servidor deve passar
+ * {@code -Dsun.net.httpserver.nodelay=true} na linha de comando.
+ */
+public class ServidorHttp {
+
+    /** Tamanho máximo, em bytes, aceito para o corpo de uma requisição de lote */
+    public static final int TAMANHO_MAXIMO_LOTE = 16 * 1024 * 1024;
+
+    private final CalculadoraIdadeGestacional calculadora;
+    private final RepositorioPerfis perfis;
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+
+    /**
+     * Cria o servidor sem iniciá-lo
+     *
+     * @param calculadora calculadora usada em todas as requisições
+     * @param porta porta TCP; 0 escolhe uma porta livre
+     */
+    public ServidorHttp(CalculadoraIdadeGestacional calculadora, int porta) throws IOException {
+        this(calculadora, null, porta);
+    }
+
+    /**
+     * Cria o servidor sem iniciá-lo, aceitando o parâmetro {@code perfil} nas requisições
+     *
+     * @param perfis perfis de referência disponíveis; null aceita apenas as faixas padrão
+     */
+    public ServidorHttp(CalculadoraIdadeGestacional calculadora, RepositorioPerfis perfis, int porta)
+            throws IOException {
+        this.calculadora = calculadora;
+        this.perfis = perfis;
+        this.servidor = HttpServer.create(new InetSocketAddress(porta), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.setExecutor(executor);
+        servidor.createContext("/classificar/lote", this::tratarLote);
+        servidor.createContext("/classificar", this::tratarIndividual);
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Para o servidor, aguardando até {@code segundos} pelas requisições em andamento
+     */
+    public void parar(int segundos) {
+        servidor.stop(segundos);
+        executor.close();
+    }
+
+    /**
+     * @return porta em que o servidor está escutando
+     */
+    public int porta() {
+        return servidor.getAddress().getPort();
+    }
+
+    private void tratarIndividual(HttpExchange troca) throws IOException {
+        try (troca) {
+            if (!troca.getRequestMethod().equals("GET")) {
+                responderErro(troca, 405, "Use GET");
+                return;
+            }
+
+            Map<String, String> parametros = parametros(troca);
+            String betaHcg = parametros.get("betaHcg");
+            String dum = parametros.get("dum");
+            if (betaHcg == null) {
+                responderErro(troca, 400, "Parâmetro betaHcg obrigatório");
+                return;
+            }
+
+            double valor;
+            int dumEpochDia;
+            PerfilReferencia perfil;
+            try {
+                perfil = perfil(parametros.get("perfil"));
+                valor = lerValor(betaHcg);
+                dumEpochDia = dum == null || dum.isBlank()
+                        ? CalculadoraIdadeGestacional.DUM_NAO_INFORMADA : lerData(dum);
+            } catch (IllegalArgumentException e) {
+                responderErro(troca, 400, e.getMessage());
+                return;
+            }
+
+            int hojeEpochDia = calculadora.contexto().hojeEpochDia();
+            ResultadoClassificacao resultado = perfil == null
+                    ? calculadora.classificar(valor, dumEpochDia, hojeEpochDia)
+                    : calculadora.classificar(perfil, valor, dumEpochDia, hojeEpochDia);
+            StringBuilder json = new StringBuilder(512);
+            anexarResultado(json, tabela(perfil), resultado.classificacao().codigo(), resultado.betaHcg(),
+                    (int) resultado.semanasGestacionais(), true);
+            responder(troca, 200, json);
+        }
+    }
+
+    private void tratarLote(HttpExchange troca) throws IOException {
+        try (troca) {
+            if (!troca.getRequestMethod().equals("POST")) {
+                responderErro(troca, 405, "Use POST");
+                return;
+            }
+            Map<String, String> parametros = parametros(troca);
+            boolean incluirMensagem = "true".equals(parametros.get("mensagem"));
+            PerfilReferencia perfil;
+            try {
+                perfil = perfil(parametros.get("perfil"));
+            } catch (IllegalArgumentException e) {
+                responderErro(troca, 400, e.getMessage());
+                return;
+            }
+
+            // Um byte além do limite basta para recusar o lote sem ler o restante do corpo
+            byte[] corpo = troca.getRequestBody().readNBytes(TAMANHO_MAXIMO_LOTE + 1);
+            if (corpo.length > TAMANHO_MAXIMO_LOTE) {
+                responderErro(troca, 413, "Lote maior que " + TAMANHO_MAXIMO_LOTE + " bytes");
+                return;
+            }
+
+            List<String> linhas = new ArrayList<>();
+            try (BufferedReader leitor = new BufferedReader(
+                    new InputStreamReader(new ByteArrayInputStream(corpo), StandardCharsets.UTF_8))) {
+                String linha;
+                while ((linha = leitor.readLine()) != null) {
+                    if (!linha.isBlank()) {
+                        linhas.add(linha);
+                    }
+                }
+            }
+
+            int quantidade = linhas.size();
+            double[] valores = new double[quantidade];
+            int[] dums = new int[quantidade];
+            String[] erros = new String[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                String linha = linhas.get(i);
+                int separador = linha.indexOf(';');
+                try {
+                    if (separador < 0) {
+                        throw new IllegalArgumentException("Linha inválida: esperado betaHcg;dum");
+                    }
+                    valores[i] = lerValor(linha.substring(0, separador));
+                    String dum = linha.substring(separador + 1).trim();
+                    dums[i] = dum.isEmpty() ? CalculadoraIdadeGestacional.DUM_NAO_INFORMADA : lerData(dum);
+                } catch (IllegalArgumentException e) {
+                    erros[i] = e.getMessage();
+                    dums[i] = CalculadoraIdadeGestacional.DUM_NAO_INFORMADA;
+                }
+            }
+
+            byte[] codigos = new byte[quantidade];
+            int[] semanas = new int[quantidade];
+            int hojeEpochDia = calculadora.contexto().hojeEpochDia();
+            if (perfil == null) {
+                calculadora.classificarLote(valores, dums, hojeEpochDia, codigos, semanas);
+            } else {
+                calculadora.classificarLote(perfil, valores, dums, 0, quantidade, hojeEpochDia, codigos, semanas);
+            }
+
+            StringBuilder json = new StringBuilder(64 + quantidade * (incluirMensagem ? 320 : 96));
+            json.append("{\"resultados\":[");
+            for (int i = 0; i < quantidade; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                if (erros[i] != null) {
+                    json.append("{\"erro\":");
+                    anexarTexto(json, erros[i]);
+                    json.append('}');
+                } else {
+                    anexarResultado(json, tabela(perfil), codigos[i], valores[i], semanas[i], incluirMensagem);
+                }
+            }
+            json.append("]}");
+            responder(troca, 200, json);
+        }
+    }
+
+    /**
+     * @return perfil pedido, ou null para as faixas padrão quando nenhum foi informado
+     * @throws IllegalArgumentException se o perfil não existir
+     */
+    private PerfilReferencia perfil(String id) {
+        if (id == null || id.isEmpty()) {
+            return null;
+        }
+        if (perfis == null) {
+            if (id.equals(PerfilReferencia.ID_PADRAO)) {
+                return null;
+            }
+            throw new IllegalArgumentException("Perfil de referência desconhecido: " + id);
+        }
+        return perfis.perfil(id);
+    }
+
+    private static TabelaReferencia tabela(PerfilReferencia perfil) {
+        return perfil == null ? CalculadoraIdadeGestacional.TABELA_PADRAO : perfil.tabela();
+    }
+
+    /**
+     * Parâmetros da query string, já decodificados; quando um nome se repete, vale a primeira ocorrência
+     */
+    private static Map<String, String> parametros(HttpExchange troca) {
+        String consulta = troca.getRequestURI().getRawQuery();
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null) {
+            return parametros;
+        }
+        for (String parametro : consulta.split("&")) {
+            int igual = parametro.indexOf('=');
+            if (igual < 0) {
+                continue;
+            }
+            parametros.putIfAbsent(URLDecoder.decode(parametro.substring(0, igual), StandardCharsets.UTF_8),
+                    URLDecoder.decode(parametro.substring(igual + 1), StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    private static double lerValor(String texto) {
+        try {
+            return Double.parseDouble(texto.trim().replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor de Beta hCG inválido");
+        }
+    }
+
+    private static int lerData(String texto) {
+        int dum = LeitorDatas.lerEpochDia(texto);
+        if (dum == LeitorDatas.DATA_INVALIDA) {
+            throw new IllegalArgumentException("Data inválida! Use o formato dd/MM/yyyy");
+        }
+        return dum;
+    }
+
+    /**
+     * Anexa o objeto JSON de um resultado já classificado
+     */
+    static void anexarResultado(StringBuilder json, TabelaReferencia tabela, byte codigo, double betaHcg,
+                                int semanas, boolean incluirMensagem) {
+        Classificacao classificacao = Classificacao.deCodigo(codigo);
+        json.append("{\"classificacao\":\"").append(classificacao.name()).append('"');
+        if (semanas != CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS) {
+            json.append(",\"semanas\":").append(semanas);
+        }
+        if (classificacao.usaFaixaReferencia()) {
+            json.append(",\"minimo\":");
+            ProcessadorLoteCsv.anexarLimite(json, tabela.minimo(semanas));
+            json.append(",\"maximo\":");
+            ProcessadorLoteCsv.anexarLimite(json, tabela.maximo(semanas));
+        }
+        if (incluirMensagem) {
+            json.append(",\"mensagem\":");
+            anexarTexto(json, CalculadoraIdadeGestacional.resultado(tabela, codigo, betaHcg, semanas).mensagem());
+        }
+        json.append('}');
+    }
+
+    /**
+     * Anexa uma string JSON, escapando aspas, barras invertidas e caracteres de controle
+     */
+    static void anexarTexto(StringBuilder json, String texto) {
+        json.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static void responderErro(HttpExchange troca, int status, String mensagem) throws IOException {
+        StringBuilder json = new StringBuilder("{\"erro\":");
+        anexarTexto(json, mensagem);
+        responder(troca, status, json.append('}'));
+    }
+
+    private static void responder(HttpExchange troca, int status, CharSequence json) throws IOException {
+        byte[] corpo = json.toString().getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        troca.sendResponseHeaders(status, corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+
+    /**
+     * Uso: {@code ServidorHttp [porta] [diretório de perfis]} (porta padrão 8080)
+     *
+     * Com o diretório, os arquivos {@code *.faixas} são carregados e recarregados a quente.
+     */
+    public static void main(String[] args) throws IOException {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        RepositorioPerfis perfis = null;
+        if (args.length > 1) {
+            perfis = new RepositorioPerfis(Paths.get(args[1]));
+            perfis.carregarTodos();
+            perfis.monitorar();
+        }
+        ServidorHttp servidor = new ServidorHttp(new CalculadoraIdadeGestacional(), perfis, porta);
+        servidor.iniciar();
+        System.out.println("Servidor de classificação escutando na porta " + servidor.porta());
+    }
+}
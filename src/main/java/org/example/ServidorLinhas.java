@@ -0,0 +1,484 @@
+package org.example;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor TCP de classificação com protocolo de linhas, baseado em seletores NIO
+ *
+ * Cada requisição é uma linha {@code betaHcg;dum} terminada em {@code \n} ou {@code \r\n}, com
+ * a DUM em dd/MM/yyyy ou yyyy-MM-dd (vazia se não informada). Cada resposta é uma linha
+ * {@code CLASSIFICACAO;semanas;minimo;maximo}, as mesmas colunas acrescentadas pelo
+ * {@link ProcessadorLoteCsv}, ou {@code LINHA_INVALIDA;;;} quando a linha não pôde ser lida.
+ * Linhas vazias são ignoradas. O cliente pode enviar várias linhas sem esperar as respostas
+ * (pipelining); as respostas saem na ordem das requisições, na mesma conexão.
+ *
+ * Uma thread aceita as conexões e as distribui entre alguns laços de eventos, cada um com seu
+ * {@link Selector}. As linhas completas de cada leitura são decodificadas direto do buffer de
+ * leitura, sem criar Strings, e classificadas em lote com
+ * {@link CalculadoraIdadeGestacional#classificarLote}. Os buffers de leitura e escrita pertencem
+ * ao laço; uma conexão ociosa guarda apenas o trecho da linha incompleta. Quando o cliente não lê
+ * as respostas, a conexão deixa de ser lida até que a saída pendente seja enviada.
+ */
+public class ServidorLinhas implements AutoCloseable {
+
+    /** Linhas maiores que este tamanho são respondidas com {@code LINHA_INVALIDA} */
+    public static final int TAMANHO_MAXIMO_LINHA = 256;
+
+    private static final int TAMANHO_BUFFER_LEITURA = 64 * 1024;
+
+    /** Linhas classificadas de uma vez */
+    private static final int LOTE = 1024;
+
+    /** Limite para uma linha de resposta, com folga para limites não inteiros */
+    private static final int TAMANHO_MAXIMO_RESPOSTA = 128;
+
+    private static final byte[] LINHA_INVALIDA = "LINHA_INVALIDA;;;\n".getBytes(StandardCharsets.US_ASCII);
+
+    /** Nome de cada classificação seguido do separador, indexado pelo código */
+    private static final byte[][] NOMES = new byte[Classificacao.values().length][];
+
+    static {
+        for (Classificacao classificacao : Classificacao.values()) {
+            NOMES[classificacao.codigo()] = (classificacao.name() + ";").getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final CalculadoraIdadeGestacional calculadora;
+    private final ServerSocketChannel canalServidor;
+    private final LacoEventos[] lacos;
+    private final Thread aceitador;
+    private final LongAdder linhasProcessadas = new LongAdder();
+    private final AtomicInteger conexoesAbertas = new AtomicInteger();
+    private volatile boolean ativo;
+
+    /**
+     * Cria o servidor sem iniciá-lo
+     *
+     * @param calculadora calculadora usada em todas as conexões
+     * @param porta porta TCP; 0 escolhe uma porta livre
+     * @param quantidadeLacos quantidade de threads de laço de eventos
+     */
+    public ServidorLinhas(CalculadoraIdadeGestacional calculadora, int porta, int quantidadeLacos)
+            throws IOException {
+        if (quantidadeLacos <= 0) {
+            throw new IllegalArgumentException("Quantidade de laços deve ser positiva: " + quantidadeLacos);
+        }
+        this.calculadora = calculadora;
+        this.canalServidor = ServerSocketChannel.open();
+        canalServidor.bind(new InetSocketAddress(porta), 1024);
+        this.lacos = new LacoEventos[quantidadeLacos];
+        for (int i = 0; i < quantidadeLacos; i++) {
+            lacos[i] = new LacoEventos(i);
+        }
+        this.aceitador = new Thread(this::aceitar, "servidor-linhas-aceitador");
+    }
+
+    public void iniciar() {
+        ativo = true;
+        for (LacoEventos laco : lacos) {
+            laco.thread.start();
+        }
+        aceitador.start();
+    }
+
+    /**
+     * @return porta em que o servidor está escutando
+     */
+    public int porta() {
+        return canalServidor.socket().getLocalPort();
+    }
+
+    /**
+     * @return linhas de requisição respondidas desde o início
+     */
+    public long linhasProcessadas() {
+        return linhasProcessadas.sum();
+    }
+
+    /**
+     * @return conexões de clientes abertas no momento
+     */
+    public int conexoesAbertas() {
+        return conexoesAbertas.get();
+    }
+
+    /**
+     * Para de aceitar conexões e fecha as conexões abertas
+     */
+    @Override
+    public void close() throws IOException {
+        ativo = false;
+        canalServidor.close();
+        for (LacoEventos laco : lacos) {
+            laco.seletor.wakeup();
+        }
+        try {
+            aceitador.join();
+            for (LacoEventos laco : lacos) {
+                laco.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void aceitar() {
+        int proximo = 0;
+        while (ativo) {
+            try {
+                SocketChannel canal = canalServidor.accept();
+                canal.configureBlocking(false);
+                canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                lacos[proximo].registrar(canal);
+                proximo = (proximo + 1) % lacos.length;
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (ativo) {
+                    System.err.println("Falha ao aceitar conexão: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Estado de uma conexão entre dois eventos
+     */
+    private static final class Conexao {
+        final SocketChannel canal;
+        /** Entrada ainda não processada: a linha incompleta, ou todo o resto quando há saída pendente */
+        byte[] resto = new byte[TAMANHO_MAXIMO_LINHA];
+        int tamanhoResto;
+        /** Indica que a linha atual passou do tamanho máximo e está sendo descartada até a quebra */
+        boolean descartando;
+        /** Respostas que o cliente ainda não leu; enquanto existirem, a conexão não é lida */
+        ByteBuffer pendente;
+        boolean fimDaEntrada;
+
+        Conexao(SocketChannel canal) {
+            this.canal = canal;
+        }
+    }
+
+    /**
+     * Thread com um seletor e os buffers compartilhados pelas conexões dela
+     */
+    private final class LacoEventos implements Runnable {
+        final Selector seletor;
+        final Thread thread;
+        final Queue<SocketChannel> novas = new ConcurrentLinkedQueue<>();
+        final ByteBuffer entrada = ByteBuffer.allocate(TAMANHO_BUFFER_LEITURA);
+        final ByteBuffer saida = ByteBuffer.allocate(LOTE * TAMANHO_MAXIMO_RESPOSTA);
+        final double[] valores = new double[LOTE];
+        final int[] dums = new int[LOTE];
+        final byte[] codigos = new byte[LOTE];
+        final int[] semanas = new int[LOTE];
+        final boolean[] invalidas = new boolean[LOTE];
+
+        LacoEventos(int indice) throws IOException {
+            this.seletor = Selector.open();
+            this.thread = new Thread(this, "servidor-linhas-" + indice);
+        }
+
+        void registrar(SocketChannel canal) {
+            novas.add(canal);
+            seletor.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (ativo) {
+                    seletor.select(this::tratar);
+                    SocketChannel canal;
+                    while ((canal = novas.poll()) != null) {
+                        canal.register(seletor, SelectionKey.OP_READ, new Conexao(canal));
+                        conexoesAbertas.incrementAndGet();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Falha no laço de eventos: " + e.getMessage());
+            } finally {
+                for (SelectionKey chave : seletor.keys()) {
+                    fechar(chave);
+                }
+                SocketChannel canal;
+                while ((canal = novas.poll()) != null) {
+                    fecharSilenciosamente(canal);
+                }
+                try {
+                    seletor.close();
+                } catch (IOException e) {
+                    System.err.println("Falha ao fechar seletor: " + e.getMessage());
+                }
+            }
+        }
+
+        private void tratar(SelectionKey chave) {
+            Conexao conexao = (Conexao) chave.attachment();
+            try {
+                if (chave.isWritable()) {
+                    enviarPendente(chave, conexao);
+                } else if (chave.isReadable()) {
+                    ler(chave, conexao);
+                }
+            } catch (IOException e) {
+                fechar(chave);
+            }
+        }
+
+        private void ler(SelectionKey chave, Conexao conexao) throws IOException {
+            entrada.clear();
+            entrada.put(conexao.resto, 0, conexao.tamanhoResto);
+            conexao.tamanhoResto = 0;
+            if (conexao.canal.read(entrada) < 0) {
+                conexao.fimDaEntrada = true;
+                // A última linha pode chegar sem quebra antes do fim da conexão
+                if (entrada.position() > 0 || conexao.descartando) {
+                    entrada.put((byte) '\n');
+                }
+            }
+            entrada.flip();
+            processar(chave, conexao);
+        }
+
+        private void enviarPendente(SelectionKey chave, Conexao conexao) throws IOException {
+            conexao.canal.write(conexao.pendente);
+            if (conexao.pendente.hasRemaining()) {
+                return;
+            }
+            conexao.pendente = null;
+            entrada.clear();
+            entrada.put(conexao.resto, 0, conexao.tamanhoResto);
+            conexao.tamanhoResto = 0;
+            entrada.flip();
+            processar(chave, conexao);
+        }
+
+        /**
+         * Responde as linhas completas de {@code entrada} e guarda o restante na conexão
+         */
+        private void processar(SelectionKey chave, Conexao conexao) throws IOException {
+            byte[] bytes = entrada.array();
+            int posicao = 0;
+            int fim = entrada.limit();
+
+            while (true) {
+                int quantidade = 0;
+                while (quantidade < LOTE) {
+                    int quebra = indice(bytes, (byte) '\n', posicao, fim);
+                    if (quebra < 0) {
+                        break;
+                    }
+                    int fimLinha = quebra > posicao && bytes[quebra - 1] == '\r' ? quebra - 1 : quebra;
+                    if (conexao.descartando || fimLinha - posicao > TAMANHO_MAXIMO_LINHA) {
+                        conexao.descartando = false;
+                        invalidas[quantidade++] = true;
+                    } else if (!emBranco(bytes, posicao, fimLinha)) {
+                        interpretar(quantidade++, bytes, posicao, fimLinha);
+                    }
+                    posicao = quebra + 1;
+                }
+                if (quantidade == 0) {
+                    break;
+                }
+
+                calculadora.classificarLote(valores, dums, 0, quantidade, calculadora.contexto().hojeEpochDia(),
+                        codigos, semanas);
+                codificar(quantidade);
+                linhasProcessadas.add(quantidade);
+                if (!enviar(chave, conexao)) {
+                    guardarResto(conexao, bytes, posicao, fim);
+                    return;
+                }
+            }
+
+            if (fim - posicao > TAMANHO_MAXIMO_LINHA) {
+                conexao.descartando = true;
+            } else if (!conexao.descartando) {
+                guardarResto(conexao, bytes, posicao, fim);
+            }
+            if (conexao.fimDaEntrada) {
+                fechar(chave);
+            } else {
+                chave.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        private void interpretar(int i, byte[] bytes, int inicio, int fim) {
+            invalidas[i] = false;
+            valores[i] = 0;
+            dums[i] = CalculadoraIdadeGestacional.DUM_NAO_INFORMADA;
+
+            int separador = indice(bytes, (byte) ';', inicio, fim);
+            double valor = separador < 0 ? Double.NaN : LeitorNumeros.lerDouble(bytes, inicio, separador);
+            if (Double.isNaN(valor)) {
+                invalidas[i] = true;
+                return;
+            }
+            valores[i] = valor;
+
+            int dum = LeitorDatas.lerEpochDia(bytes, separador + 1, fim);
+            if (dum != LeitorDatas.DATA_INVALIDA) {
+                dums[i] = dum;
+            } else if (!emBranco(bytes, separador + 1, fim)) {
+                invalidas[i] = true;
+            }
+        }
+
+        private void codificar(int quantidade) {
+            byte[] destino = saida.array();
+            int p = saida.position();
+            TabelaReferencia tabela = CalculadoraIdadeGestacional.TABELA_PADRAO;
+            for (int i = 0; i < quantidade; i++) {
+                if (invalidas[i]) {
+                    p = copiar(LINHA_INVALIDA, destino, p);
+                    continue;
+                }
+                Classificacao classificacao = Classificacao.deCodigo(codigos[i]);
+                p = copiar(NOMES[codigos[i]], destino, p);
+                if (semanas[i] != CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS) {
+                    p = escreverInteiro(semanas[i], destino, p);
+                }
+                destino[p++] = ';';
+                if (classificacao.usaFaixaReferencia()) {
+                    p = escreverLimite(tabela.minimo(semanas[i]), destino, p);
+                    destino[p++] = ';';
+                    p = escreverLimite(tabela.maximo(semanas[i]), destino, p);
+                } else {
+                    destino[p++] = ';';
+                }
+                destino[p++] = '\n';
+            }
+            saida.position(p);
+        }
+
+        /**
+         * Envia as respostas codificadas; o que o canal não aceitar fica pendente na conexão
+         *
+         * @return false se ficou saída pendente
+         */
+        private boolean enviar(SelectionKey chave, Conexao conexao) throws IOException {
+            saida.flip();
+            while (saida.hasRemaining() && conexao.canal.write(saida) > 0) {
+                // Continua enquanto o buffer do socket aceitar bytes
+            }
+            if (saida.hasRemaining()) {
+                conexao.pendente = ByteBuffer.allocate(saida.remaining()).put(saida).flip();
+                chave.interestOps(SelectionKey.OP_WRITE);
+                saida.clear();
+                return false;
+            }
+            saida.clear();
+            return true;
+        }
+
+        private void guardarResto(Conexao conexao, byte[] bytes, int inicio, int fim) {
+            int tamanho = fim - inicio;
+            if (conexao.resto.length < tamanho) {
+                conexao.resto = Arrays.copyOf(conexao.resto, tamanho);
+            }
+            System.arraycopy(bytes, inicio, conexao.resto, 0, tamanho);
+            conexao.tamanhoResto = tamanho;
+        }
+
+        private void fechar(SelectionKey chave) {
+            if (!chave.isValid()) {
+                return;
+            }
+            chave.cancel();
+            fecharSilenciosamente((SocketChannel) chave.channel());
+            conexoesAbertas.decrementAndGet();
+        }
+    }
+
+    private static void fecharSilenciosamente(SocketChannel canal) {
+        try {
+            canal.close();
+        } catch (IOException e) {
+            System.err.println("Falha ao fechar conexão: " + e.getMessage());
+        }
+    }
+
+    private static int indice(byte[] bytes, byte procurado, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            if (bytes[i] == procurado) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean emBranco(byte[] bytes, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            if ((bytes[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int copiar(byte[] origem, byte[] destino, int posicao) {
+        System.arraycopy(origem, 0, destino, posicao, origem.length);
+        return posicao + origem.length;
+    }
+
+    private static int escreverInteiro(long valor, byte[] destino, int posicao) {
+        if (valor < 0) {
+            if (valor == Long.MIN_VALUE) {
+                return copiar(Long.toString(valor).getBytes(StandardCharsets.US_ASCII), destino, posicao);
+            }
+            destino[posicao++] = '-';
+            valor = -valor;
+        }
+        int digitos = 1;
+        for (long resto = valor / 10; resto != 0; resto /= 10) {
+            digitos++;
+        }
+        for (int i = posicao + digitos - 1; i >= posicao; i--) {
+            destino[i] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return posicao + digitos;
+    }
+
+    /**
+     * Mesmo formato de {@link ProcessadorLoteCsv#anexarLimite}: inteiros sem casas decimais e NaN vazio
+     */
+    private static int escreverLimite(double limite, byte[] destino, int posicao) {
+        if (Double.isNaN(limite)) {
+            return posicao;
+        }
+        long inteiro = (long) limite;
+        if (inteiro == limite) {
+            return escreverInteiro(inteiro, destino, posicao);
+        }
+        return copiar(Double.toString(limite).getBytes(StandardCharsets.US_ASCII), destino, posicao);
+    }
+
+    /**
+     * Uso: {@code ServidorLinhas [porta] [laços de eventos]} (porta padrão 9090)
+     */
+    public static void main(String[] args) throws IOException {
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : 9090;
+        int lacos = args.length > 1 ? Integer.parseInt(args[1])
+                : Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        ServidorLinhas servidor = new ServidorLinhas(new CalculadoraIdadeGestacional(), porta, lacos);
+        servidor.iniciar();
+        System.out.println("Servidor de linhas escutando na porta " + servidor.porta() + " com " + lacos + " laços");
+    }
+}
@@ -0,0 +1,107 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Faixas de referência do Beta hCG compiladas para consulta direta por semana gestacional
+ *
+ * Os limites ficam em um único vetor de double, com mínimo e máximo de cada semana lado a lado,
+ * de modo que a consulta é um acesso por índice, sem percorrer as faixas.
+ * Semanas sem faixa dentro do intervalo da tabela são marcadas com NaN.
+ */
+public final class TabelaReferencia {
+
+    private final int semanaInicial;
+    private final int semanaFinal;
+    private final double[] limites;
+
+    private TabelaReferencia(int semanaInicial, int semanaFinal, double[] limites) {
+        this.semanaInicial = semanaInicial;
+        this.semanaFinal = semanaFinal;
+        this.limites = limites;
+    }
+
+    /**
+     * Compila faixas no formato {semana, mínimo, máximo}
+     *
+     * @param faixas faixas de referência, em qualquer ordem
+     * @return tabela pronta para consulta
+     * @throws IllegalArgumentException se houver faixa malformada ou semana repetida
+     */
+    public static TabelaReferencia compilar(double[][] faixas) {
+        if (faixas.length == 0) {
+            throw new IllegalArgumentException("Tabela de referência vazia");
+        }
+
+        int semanaInicial = Integer.MAX_VALUE;
+        int semanaFinal = Integer.MIN_VALUE;
+        for (double[] faixa : faixas) {
+            int semana = validarFaixa(faixa);
+            semanaInicial = Math.min(semanaInicial, semana);
+            semanaFinal = Math.max(semanaFinal, semana);
+        }
+
+        double[] limites = new double[(semanaFinal - semanaInicial + 1) * 2];
+        Arrays.fill(limites, Double.NaN);
+        for (double[] faixa : faixas) {
+            int indice = ((int) faixa[0] - semanaInicial) * 2;
+            if (!Double.isNaN(limites[indice])) {
+                throw new IllegalArgumentException("Semana repetida na tabela de referência: " + (int) faixa[0]);
+            }
+            limites[indice] = faixa[1];
+            limites[indice + 1] = faixa[2];
+        }
+        return new TabelaReferencia(semanaInicial, semanaFinal, limites);
+    }
+
+    private static int validarFaixa(double[] faixa) {
+        if (faixa.length != 3) {
+            throw new IllegalArgumentException("Faixa deve ter o formato {semana, mínimo, máximo}");
+        }
+        int semana = (int) faixa[0];
+        if (semana != faixa[0] || semana < 0) {
+            throw new IllegalArgumentException("Semana inválida na tabela de referência: " + faixa[0]);
+        }
+        if (!(faixa[1] >= 0 && faixa[1] <= faixa[2]) || Double.isInfinite(faixa[2])) {
+            throw new IllegalArgumentException("Limites inválidos para a semana " + semana
+                    + ": " + faixa[1] + "-" + faixa[2]);
+        }
+        return semana;
+    }
+
+    /**
+     * @return primeira semana presente na tabela
+     */
+    public int semanaInicial() {
+        return semanaInicial;
+    }
+
+    /**
+     * @return última semana presente na tabela
+     */
+    public int semanaFinal() {
+        return semanaFinal;
+    }
+
+    /**
+     * @return true se existe faixa de referência para a semana
+     */
+    public boolean possuiFaixa(long semana) {
+        return semana >= semanaInicial && semana <= semanaFinal
+                && !Double.isNaN(limites[(int) (semana - semanaInicial) * 2]);
+    }
+
+    /**
+     * @return limite inferior da semana; a semana deve possuir faixa
+     */
+    public double minimo(long semana) {
+        return limites[(int) (semana - semanaInicial) * 2];
+    }
+
+    /**
+     * @return limite superior da semana; a semana deve possuir faixa
+     */
+    public double maximo(long semana) {
+        return limites[(int) (semana - semanaInicial) * 2 + 1];
+    }
+}
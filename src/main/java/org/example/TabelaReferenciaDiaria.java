@@ -0,0 +1,100 @@
+package org.example;
+
+/**
+ * Faixas de referência do Beta hCG por dia de gestação, interpoladas a partir da tabela semanal
+ *
+ * O primeiro dia de cada semana usa exatamente a faixa da semana. Os demais dias interpolam
+ * mínimo e máximo em escala logarítmica até a faixa da semana seguinte, acompanhando o
+ * crescimento aproximadamente exponencial do hCG. Na última semana da tabela, ou quando a
+ * semana seguinte não tem faixa, a faixa da semana é repetida até o sexto dia.
+ *
+ * Todos os valores são calculados na criação; a consulta é um acesso por índice, como na
+ * {@link TabelaReferencia}.
+ */
+public final class TabelaReferenciaDiaria {
+
+    private final int diaInicial;
+    private final int diaFinal;
+    private final double[] limites;
+
+    private TabelaReferenciaDiaria(int diaInicial, int diaFinal, double[] limites) {
+        this.diaInicial = diaInicial;
+        this.diaFinal = diaFinal;
+        this.limites = limites;
+    }
+
+    /**
+     * Interpola a tabela semanal dia a dia, do primeiro dia da semana inicial ao último dia da semana final
+     */
+    public static TabelaReferenciaDiaria interpolar(TabelaReferencia semanal) {
+        int diaInicial = semanal.semanaInicial() * 7;
+        int diaFinal = semanal.semanaFinal() * 7 + 6;
+        double[] limites = new double[(diaFinal - diaInicial + 1) * 2];
+
+        for (int dia = diaInicial; dia <= diaFinal; dia++) {
+            int semana = dia / 7;
+            int indice = (dia - diaInicial) * 2;
+            if (!semanal.possuiFaixa(semana)) {
+                limites[indice] = Double.NaN;
+                limites[indice + 1] = Double.NaN;
+                continue;
+            }
+
+            double fracao = (dia % 7) / 7.0;
+            boolean interpola = fracao > 0 && semanal.possuiFaixa(semana + 1);
+            limites[indice] = interpola
+                    ? interpolarLog(semanal.minimo(semana), semanal.minimo(semana + 1), fracao)
+                    : semanal.minimo(semana);
+            limites[indice + 1] = interpola
+                    ? interpolarLog(semanal.maximo(semana), semanal.maximo(semana + 1), fracao)
+                    : semanal.maximo(semana);
+        }
+        return new TabelaReferenciaDiaria(diaInicial, diaFinal, limites);
+    }
+
+    /**
+     * Interpolação em escala logarítmica; com limite zero, onde o logaritmo não existe, interpola linearmente
+     */
+    private static double interpolarLog(double inicio, double fim, double fracao) {
+        if (inicio <= 0 || fim <= 0) {
+            return inicio + (fim - inicio) * fracao;
+        }
+        return Math.exp(Math.log(inicio) + (Math.log(fim) - Math.log(inicio)) * fracao);
+    }
+
+    /**
+     * @return primeiro dia de gestação presente na tabela
+     */
+    public int diaInicial() {
+        return diaInicial;
+    }
+
+    /**
+     * @return último dia de gestação presente na tabela
+     */
+    public int diaFinal() {
+        return diaFinal;
+    }
+
+    /**
+     * @return true se existe faixa de referência para o dia de gestação
+     */
+    public boolean possuiFaixa(long dia) {
+        return dia >= diaInicial && dia <= diaFinal
+                && !Double.isNaN(limites[(int) (dia - diaInicial) * 2]);
+    }
+
+    /**
+     * @return limite inferior do dia; o dia deve possuir faixa
+     */
+    public double minimo(long dia) {
+        return limites[(int) (dia - diaInicial) * 2];
+    }
+
+    /**
+     * @return limite superior do dia; o dia deve possuir faixa
+     */
+    public double maximo(long dia) {
+        return limites[(int) (dia - diaInicial) * 2 + 1];
+    }
+}
@@ -0,0 +1,32 @@
+package org.example;
+
+/**
+ * Interpretação da evolução do Beta hCG entre coletas seriadas da mesma paciente
+ */
+public enum TendenciaHcg {
+
+    /** Primeira coleta conhecida da paciente: não há com o que comparar */
+    PRIMEIRA_MEDICAO,
+
+    /** Valor ausente, zero ou negativo; a coleta é ignorada */
+    VALOR_INVALIDO,
+
+    /** Coleta com instante igual ou anterior à última coleta da paciente; é ignorada */
+    INTERVALO_INVALIDO,
+
+    /** Aumento igual ou maior que o mínimo esperado para o intervalo */
+    AUMENTO_ESPERADO,
+
+    /** Aumento menor que o mínimo esperado para o intervalo */
+    AUMENTO_ABAIXO_DO_ESPERADO,
+
+    /** Valor menor que o da coleta anterior */
+    QUEDA;
+
+    /**
+     * @return true para trajetórias que precisam de avaliação médica
+     */
+    public boolean anormal() {
+        return this == AUMENTO_ABAIXO_DO_ESPERADO || this == QUEDA;
+    }
+}
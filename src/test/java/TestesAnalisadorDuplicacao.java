@@ -0,0 +1,100 @@
+import org.example.AnalisadorDuplicacao;
+import org.example.AvaliacaoSerial;
+import org.example.MedicaoHcg;
+import org.example.TendenciaHcg;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da análise seriada do Beta hCG
+ */
+public class TestesAnalisadorDuplicacao {
+
+    private static final long HORA = 3_600_000L;
+    private static final long DIA = 24 * HORA;
+
+    private final AnalisadorDuplicacao analisador = new AnalisadorDuplicacao(1000, 60 * DIA);
+
+    @Test
+    public void testDuplicacaoEmDoisDias() {
+        assertEquals(TendenciaHcg.PRIMEIRA_MEDICAO, analisador.avaliar(new MedicaoHcg(1, 0, 1000)).tendencia());
+
+        AvaliacaoSerial avaliacao = analisador.avaliar(new MedicaoHcg(1, 2 * DIA, 2000));
+
+        assertEquals(TendenciaHcg.AUMENTO_ESPERADO, avaliacao.tendencia());
+        assertFalse(avaliacao.anormal());
+        assertEquals(48, avaliacao.intervaloHoras(), 1e-9);
+        assertEquals(100, avaliacao.aumentoPercentual(), 1e-9);
+        assertEquals(48, avaliacao.tempoDuplicacaoHoras(), 1e-9);
+        assertEquals(48, avaliacao.tempoDuplicacaoHistoricoHoras(), 1e-9);
+        assertEquals(2, avaliacao.coletas());
+    }
+
+    @Test
+    public void testAumentoLentoEQueda() {
+        analisador.avaliar(7, 0, 1000);
+
+        AvaliacaoSerial lento = analisador.avaliar(7, 2 * DIA, 1300);
+        assertEquals(TendenciaHcg.AUMENTO_ABAIXO_DO_ESPERADO, lento.tendencia());
+        assertTrue(lento.anormal());
+
+        // 20% em 24 horas fica acima do mínimo proporcional (~16%)
+        assertEquals(TendenciaHcg.AUMENTO_ESPERADO, analisador.avaliar(7, 3 * DIA, 1560).tendencia());
+
+        AvaliacaoSerial queda = analisador.avaliar(7, 5 * DIA, 900);
+        assertEquals(TendenciaHcg.QUEDA, queda.tendencia());
+        assertTrue(Double.isNaN(queda.tempoDuplicacaoHoras()));
+        assertTrue(queda.aumentoPercentual() < 0);
+    }
+
+    @Test
+    public void testRegressaoSobreTodasAsColetas() {
+        // Crescimento exponencial exato com duplicação a cada 36 horas
+        for (int i = 0; i < 5; i++) {
+            analisador.avaliar(3, i * 30 * HORA, 500 * Math.pow(2, i * 30 / 36.0));
+        }
+        AvaliacaoSerial avaliacao = analisador.avaliar(3, 150 * HORA, 500 * Math.pow(2, 150 / 36.0));
+
+        assertEquals(36, avaliacao.tempoDuplicacaoHistoricoHoras(), 1e-6);
+        assertEquals(6, avaliacao.coletas());
+    }
+
+    @Test
+    public void testColetasIgnoradas() {
+        analisador.avaliar(1, DIA, 1000);
+
+        assertEquals(TendenciaHcg.VALOR_INVALIDO, analisador.avaliar(1, 2 * DIA, 0).tendencia());
+        assertEquals(TendenciaHcg.VALOR_INVALIDO, analisador.avaliar(1, 2 * DIA, Double.NaN).tendencia());
+        assertEquals(TendenciaHcg.INTERVALO_INVALIDO, analisador.avaliar(1, DIA, 2000).tendencia());
+        assertEquals(2, analisador.avaliar(1, 3 * DIA, 4000).coletas());
+    }
+
+    @Test
+    public void testColetaForaDeOrdemNaoAdiaDescarte() {
+        analisador.avaliar(1, 0, 1000);
+        analisador.avaliar(2, 30 * DIA, 1000);
+        assertEquals(TendenciaHcg.INTERVALO_INVALIDO, analisador.avaliar(1, -DIA, 900).tendencia());
+        assertEquals(TendenciaHcg.VALOR_INVALIDO, analisador.avaliar(1, 40 * DIA, -1).tendencia());
+
+        analisador.descartarInativas(61 * DIA);
+
+        assertEquals(1, analisador.pacientesAtivas());
+        assertEquals(1, analisador.pacientesDescartadas());
+        assertEquals(TendenciaHcg.PRIMEIRA_MEDICAO, analisador.avaliar(1, 62 * DIA, 1000).tendencia());
+    }
+
+    @Test
+    public void testMemoriaLimitada() {
+        AnalisadorDuplicacao limitado = new AnalisadorDuplicacao(3, 10 * DIA);
+        for (long paciente = 0; paciente < 5; paciente++) {
+            limitado.avaliar(paciente, paciente * HORA, 100);
+        }
+        assertEquals(3, limitado.pacientesAtivas());
+        assertEquals(2, limitado.pacientesDescartadas());
+        assertEquals(TendenciaHcg.PRIMEIRA_MEDICAO, limitado.avaliar(0, 6 * HORA, 200).tendencia());
+
+        limitado.avaliar(99, 30 * DIA, 100);
+        assertEquals(1, limitado.pacientesAtivas());
+        assertEquals(TendenciaHcg.PRIMEIRA_MEDICAO, limitado.avaliar(4, 30 * DIA + HORA, 200).tendencia());
+    }
+}
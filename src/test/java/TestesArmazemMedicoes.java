@@ -0,0 +1,112 @@
+import org.example.ArmazemMedicoes;
+import org.example.CalculadoraIdadeGestacional;
+import org.example.Classificacao;
+import org.example.MedicaoHcg;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Testes do armazenamento de coletas em log de segmentos
+ */
+public class TestesArmazemMedicoes {
+
+    private static final int HOJE = 20000;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    public void testLeituraPorPacienteEIntervalo() throws IOException {
+        try (ArmazemMedicoes armazem = ArmazemMedicoes.abrir(diretorio, 4)) {
+            for (int i = 0; i < 10; i++) {
+                armazem.gravar(new MedicaoHcg(i % 2, 1000 - i * 10, 100 + i, HOJE - 42));
+            }
+
+            List<MedicaoHcg> paciente0 = armazem.ler(0);
+            assertEquals(5, paciente0.size());
+            assertEquals(920, paciente0.get(0).instanteMillis());
+            assertEquals(1000, paciente0.get(4).instanteMillis());
+            assertEquals(List.of(960L, 980L),
+                    armazem.ler(0, 950, 1000).stream().map(MedicaoHcg::instanteMillis).toList());
+            assertTrue(armazem.ler(5).isEmpty());
+            assertEquals(2, armazem.pacientes());
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            assertEquals(3, arquivos.count());
+        }
+    }
+
+    @Test
+    public void testReaberturaReconstroiIndice() throws IOException {
+        try (ArmazemMedicoes armazem = ArmazemMedicoes.abrir(diretorio, 4)) {
+            for (int i = 0; i < 7; i++) {
+                armazem.gravar(new MedicaoHcg(42, i, i * 1000.0, HOJE - 42));
+            }
+        }
+
+        try (ArmazemMedicoes armazem = ArmazemMedicoes.abrir(diretorio, 4)) {
+            assertEquals(7, armazem.quantidade());
+            assertEquals(7, armazem.ler(42).size());
+            armazem.gravar(new MedicaoHcg(42, 7, 7000.0));
+            assertEquals(8, armazem.ler(42).size());
+            assertEquals(CalculadoraIdadeGestacional.DUM_NAO_INFORMADA, armazem.ler(42).get(7).dumEpochDia());
+        }
+    }
+
+    @Test
+    public void testRecuperaAposGravacaoInterrompida() throws IOException {
+        try (ArmazemMedicoes armazem = ArmazemMedicoes.abrir(diretorio, 100)) {
+            for (int i = 0; i < 5; i++) {
+                armazem.gravar(new MedicaoHcg(1, i, 500, HOJE - 42));
+            }
+        }
+        Path segmento = diretorio.resolve("segmento-00000000.log");
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            // Corrompe o último registro e deixa meio registro no fim, como numa queda durante a escrita
+            canal.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), 4 * ArmazemMedicoes.TAMANHO_REGISTRO + 16);
+            canal.write(ByteBuffer.wrap(new byte[10]), 5 * ArmazemMedicoes.TAMANHO_REGISTRO);
+        }
+
+        try (ArmazemMedicoes armazem = ArmazemMedicoes.abrir(diretorio, 100)) {
+            assertEquals(4, armazem.quantidade());
+            assertEquals(2, armazem.registrosDescartadosNaRecuperacao());
+            assertEquals(4 * ArmazemMedicoes.TAMANHO_REGISTRO, Files.size(segmento));
+        }
+    }
+
+    @Test
+    public void testVarreduraClassificaTudo() throws IOException {
+        try (ArmazemMedicoes armazem = ArmazemMedicoes.abrir(diretorio, 3)) {
+            armazem.gravar(new MedicaoHcg(1, 0, 20000, HOJE - 42));
+            armazem.gravar(new MedicaoHcg(2, 0, 500, HOJE - 42));
+            armazem.gravar(new MedicaoHcg(3, 0, 10, HOJE - 42));
+            armazem.gravar(new MedicaoHcg(4, 0, 100));
+
+            List<Classificacao> classificacoes = new ArrayList<>();
+            armazem.classificarTudo(new CalculadoraIdadeGestacional(), HOJE,
+                    (primeiro, betaHcg, dums, codigos, semanas, quantidade) -> {
+                        assertEquals(classificacoes.size(), primeiro);
+                        for (int i = 0; i < quantidade; i++) {
+                            classificacoes.add(Classificacao.deCodigo(codigos[i]));
+                        }
+                    });
+            List<Long> pacientes = new ArrayList<>();
+            armazem.varrer(medicao -> pacientes.add(medicao.pacienteId()));
+
+            assertEquals(List.of(Classificacao.COMPATIVEL, Classificacao.ABAIXO_DO_ESPERADO, Classificacao.NEGATIVO,
+                    Classificacao.DUM_NAO_INFORMADA), classificacoes);
+            assertEquals(List.of(1L, 2L, 3L, 4L), pacientes);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+import org.example.ArquivoBinario;
+import org.example.CalculadoraIdadeGestacional;
+import org.example.Classificacao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes da conversão de CSV para o formato binário e da leitura mapeada em memória
+ */
+public class TestesArquivoBinario {
+
+    private static final int HOJE = 20000;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    public void testConverteEClassifica() throws IOException {
+        String csv = "paciente;betaHcg;dum\n" +
+                "p1;20000;" + LocalDate.ofEpochDay(HOJE - 42) + "\n" +
+                "p2;abc;01/01/2024\n" +
+                "p3;500,5;" + LocalDate.ofEpochDay(HOJE - 42) + "\n" +
+                "p4;100;\n";
+        Path arquivo = diretorio.resolve("resultados.bin");
+
+        ArquivoBinario.ResumoConversao resumo = ArquivoBinario.converterCsv(new StringReader(csv), arquivo, true);
+
+        assertEquals(3, resumo.registros());
+        assertEquals(1, resumo.linhasIgnoradas());
+        assertEquals(ArquivoBinario.TAMANHO_CABECALHO + 3 * ArquivoBinario.TAMANHO_REGISTRO, Files.size(arquivo));
+
+        List<Classificacao> classificacoes = new ArrayList<>();
+        List<Double> valores = new ArrayList<>();
+        long total = ArquivoBinario.processar(arquivo, new CalculadoraIdadeGestacional(), HOJE,
+                (primeiro, betaHcg, dums, codigos, semanas, quantidade) -> {
+                    for (int i = 0; i < quantidade; i++) {
+                        classificacoes.add(Classificacao.deCodigo(codigos[i]));
+                        valores.add(betaHcg[i]);
+                    }
+                });
+
+        assertEquals(3, total);
+        assertEquals(List.of(Classificacao.COMPATIVEL, Classificacao.ABAIXO_DO_ESPERADO,
+                Classificacao.DUM_NAO_INFORMADA), classificacoes);
+        assertEquals(List.of(20000.0, 500.5, 100.0), valores);
+    }
+
+    @Test
+    public void testJanelasCobremTodosOsRegistros() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            csv.append('p').append(i).append(';').append(i).append(";\n");
+        }
+        Path arquivo = diretorio.resolve("janelas.bin");
+        ArquivoBinario.converterCsv(new StringReader(csv.toString()), arquivo, false);
+
+        long[] proximo = {0};
+        ArquivoBinario.processar(arquivo, new CalculadoraIdadeGestacional(), HOJE, 64,
+                (primeiro, betaHcg, dums, codigos, semanas, quantidade) -> {
+                    assertEquals(proximo[0], primeiro);
+                    for (int i = 0; i < quantidade; i++) {
+                        assertEquals(primeiro + i, (long) betaHcg[i]);
+                    }
+                    proximo[0] += quantidade;
+                });
+
+        assertEquals(1000, proximo[0]);
+    }
+
+    @Test
+    public void testRejeitaArquivoInvalido() throws IOException {
+        Path arquivo = diretorio.resolve("invalido.bin");
+        Files.write(arquivo, new byte[ArquivoBinario.TAMANHO_CABECALHO + 5]);
+
+        assertThrows(IOException.class, () -> ArquivoBinario.processar(arquivo, new CalculadoraIdadeGestacional(),
+                HOJE, (primeiro, betaHcg, dums, codigos, semanas, quantidade) -> fail()));
+    }
+}
@@ -0,0 +1,127 @@
+import org.example.CacheResultados;
+import org.example.CalculadoraComCache;
+import org.example.CalculadoraIdadeGestacional;
+import org.example.ContextoAvaliacao;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Testes do cache de mensagens de classificação
+ */
+public class TestesCacheResultados {
+
+    private static final int HOJE = 20000;
+
+    private final CalculadoraIdadeGestacional original = new CalculadoraIdadeGestacional();
+
+    @Test
+    public void testAcertosEFalhas() {
+        CalculadoraComCache calculadora = new CalculadoraComCache(1024);
+
+        String primeira = calculadora.calcularIdadeGestacional(20000.0, HOJE - 45, HOJE);
+        String segunda = calculadora.calcularIdadeGestacional(20000.0, HOJE - 45, HOJE);
+        calculadora.calcularIdadeGestacional(100.0, CalculadoraIdadeGestacional.DUM_NAO_INFORMADA, HOJE);
+
+        assertSame(primeira, segunda);
+        assertEquals(original.calcularIdadeGestacional(20000.0, HOJE - 45, HOJE), primeira);
+        assertEquals(1, calculadora.cache().acertos());
+        assertEquals(2, calculadora.cache().falhas());
+        assertEquals(1.0 / 3, calculadora.cache().taxaAcerto(), 1e-9);
+    }
+
+    @Test
+    public void testViradaDoDiaInvalidaEntrada() {
+        CalculadoraComCache calculadora = new CalculadoraComCache(1024);
+
+        // 48 dias: 6 semanas; no dia seguinte, 49 dias: 7 semanas
+        String ontem = calculadora.calcularIdadeGestacional(20000.0, HOJE - 48, HOJE);
+        String hoje = calculadora.calcularIdadeGestacional(20000.0, HOJE - 48, HOJE + 1);
+
+        assertNotEquals(ontem, hoje);
+        assertTrue(hoje.contains("7 semanas"), hoje);
+        assertEquals(0, calculadora.cache().acertos());
+    }
+
+    private static void conferirComOriginal(ZoneId zona, LocalDateTime dum, LocalDateTime agora) {
+        ContextoAvaliacao contexto = ContextoAvaliacao.comRelogio(Clock.fixed(agora.atZone(zona).toInstant(), zona));
+        CalculadoraComCache calculadora = new CalculadoraComCache(new CacheResultados(1024), contexto);
+        CalculadoraIdadeGestacional semCache = new CalculadoraIdadeGestacional(contexto);
+        Date data = Date.from(dum.atZone(zona).toInstant());
+
+        for (double valor : new double[]{500.0, 20000.0, 200000.0}) {
+            String esperado = semCache.calcularIdadeGestacional(valor, data);
+            assertEquals(esperado, calculadora.calcularIdadeGestacional(valor, data));
+            assertEquals(esperado, calculadora.calcularIdadeGestacional(valor, data));
+        }
+    }
+
+    @Test
+    public void testDumComHoraPosteriorAAtual() {
+        // 42 dias de calendário, mas 41 dias e 11 horas de diferença: 5 semanas na conta original
+        ZoneId zona = ZoneId.of("America/Sao_Paulo");
+        conferirComOriginal(zona, LocalDateTime.of(2024, 3, 20, 23, 0), LocalDateTime.of(2024, 5, 1, 10, 0));
+        conferirComOriginal(zona, LocalDateTime.of(2024, 3, 20, 9, 0), LocalDateTime.of(2024, 5, 1, 10, 0));
+    }
+
+    @Test
+    public void testMudancaDeHorarioDeVerao() {
+        // Entrada no horário de verão em 31/03/2024: 42 dias de calendário somam uma hora a menos
+        ZoneId zona = ZoneId.of("Europe/Berlin");
+        conferirComOriginal(zona, LocalDateTime.of(2024, 3, 20, 0, 0), LocalDateTime.of(2024, 5, 1, 0, 0));
+        conferirComOriginal(zona, LocalDateTime.of(2024, 10, 20, 0, 0), LocalDateTime.of(2024, 12, 1, 0, 0));
+    }
+
+    @Test
+    public void testCapacidadeLimitada() {
+        CacheResultados cache = new CacheResultados(100);
+        assertEquals(128, cache.capacidade());
+        assertThrows(IllegalArgumentException.class, () -> new CacheResultados(0));
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(original.calcularIdadeGestacional(i, HOJE - 45, HOJE),
+                    cache.mensagem(original, i, HOJE - 45, HOJE));
+        }
+        assertEquals(10_000, cache.falhas());
+
+        cache.limpar();
+        assertEquals(0, cache.falhas());
+    }
+
+    @Test
+    public void testAcessoConcorrente() throws Exception {
+        CalculadoraComCache calculadora = new CalculadoraComCache(64);
+        List<Future<Integer>> tarefas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                tarefas.add(executor.submit(() -> {
+                    ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                    int divergencias = 0;
+                    for (int i = 0; i < 20_000; i++) {
+                        double valor = aleatorio.nextInt(200) * 100.0;
+                        int dum = HOJE - aleatorio.nextInt(20, 120);
+                        if (!original.calcularIdadeGestacional(valor, dum, HOJE)
+                                .equals(calculadora.calcularIdadeGestacional(valor, dum, HOJE))) {
+                            divergencias++;
+                        }
+                    }
+                    return divergencias;
+                }));
+            }
+            for (Future<Integer> tarefa : tarefas) {
+                assertEquals(0, tarefa.get());
+            }
+        }
+        assertEquals(80_000, calculadora.cache().acertos() + calculadora.cache().falhas());
+    }
+}
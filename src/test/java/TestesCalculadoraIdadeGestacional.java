@@ -1,4 +1,6 @@
 import org.example.CalculadoraIdadeGestacional;
+import org.example.Classificacao;
+import org.example.ResultadoClassificacao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -406,4 +408,118 @@ public class TestesCalculadoraIdadeGestacional {
         assertTrue(resultado.contains("compatível"));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testClassificarCompativel() {
+        ResultadoClassificacao resultado = calculadora.classificar(20000.0, criarDataUltimaMenstruacao(6));
+        assertEquals(Classificacao.COMPATIVEL, resultado.classificacao());
+        assertEquals(6, resultado.semanasGestacionais());
+        assertEquals(1080, resultado.valorMinimo());
+        assertEquals(56500, resultado.valorMaximo());
+    }
+
+    @Test
+    public void testClassificarTodasAsCategorias() {
+        assertEquals(Classificacao.DUM_NAO_INFORMADA, calculadora.classificar(100.0, null).classificacao());
+        assertEquals(Classificacao.VALOR_INVALIDO,
+                calculadora.classificar(-1.0, criarDataUltimaMenstruacao(6)).classificacao());
+        assertEquals(Classificacao.NEGATIVO,
+                calculadora.classificar(10.0, criarDataUltimaMenstruacao(6)).classificacao());
+        assertEquals(Classificacao.FORA_DO_INTERVALO,
+                calculadora.classificar(100.0, criarDataUltimaMenstruacao(20)).classificacao());
+        assertEquals(Classificacao.ABAIXO_DO_ESPERADO,
+                calculadora.classificar(500.0, criarDataUltimaMenstruacao(6)).classificacao());
+        assertEquals(Classificacao.ACIMA_DO_ESPERADO,
+                calculadora.classificar(50000.0, criarDataUltimaMenstruacao(5)).classificacao());
+    }
+
+    @Test
+    public void testMensagemDoResultadoIgualAoTexto() {
+        Date dum = criarDataUltimaMenstruacao(9);
+        assertEquals(calculadora.calcularIdadeGestacional(20000.0, dum),
+                calculadora.classificar(20000.0, dum).mensagem());
+    }
+
+    @Test
+    public void testCodigoClassificacao() {
+        for (Classificacao classificacao : Classificacao.values()) {
+            assertEquals(classificacao, Classificacao.deCodigo(classificacao.codigo()));
+        }
+    }
+
+    @Test
+    public void testClassificarLoteColunar() {
+        int hoje = 20000;
+        double[] valores = {20000.0, 500.0, 10.0, -1.0, 100.0, 50000.0, 100.0};
+        int[] dums = {hoje - 6 * 7, hoje - 6 * 7 - 3, hoje - 10 * 7, hoje - 6 * 7, hoje - 20 * 7, hoje - 5 * 7,
+                CalculadoraIdadeGestacional.DUM_NAO_INFORMADA};
+        byte[] codigos = new byte[valores.length];
+        int[] semanas = new int[valores.length];
+
+        calculadora.classificarLote(valores, dums, hoje, codigos, semanas);
+
+        assertEquals(Classificacao.COMPATIVEL.codigo(), codigos[0]);
+        assertEquals(Classificacao.ABAIXO_DO_ESPERADO.codigo(), codigos[1]);
+        assertEquals(Classificacao.NEGATIVO.codigo(), codigos[2]);
+        assertEquals(Classificacao.VALOR_INVALIDO.codigo(), codigos[3]);
+        assertEquals(Classificacao.FORA_DO_INTERVALO.codigo(), codigos[4]);
+        assertEquals(Classificacao.ACIMA_DO_ESPERADO.codigo(), codigos[5]);
+        assertEquals(Classificacao.DUM_NAO_INFORMADA.codigo(), codigos[6]);
+        assertArrayEquals(new int[]{6, 6, 10, CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS, 20, 5,
+                CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS}, semanas);
+    }
+
+    @Test
+    public void testClassificarLoteIntervaloParcial() {
+        double[] valores = {20000.0, 20000.0, 20000.0};
+        int[] dums = {100 - 42, 100 - 42, 100 - 42};
+        byte[] codigos = new byte[3];
+        int[] semanas = new int[3];
+
+        calculadora.classificarLote(valores, dums, 1, 1, 100, codigos, semanas);
+
+        assertEquals(0, codigos[0]);
+        assertEquals(Classificacao.COMPATIVEL.codigo(), codigos[1]);
+        assertEquals(0, codigos[2]);
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> calculadora.classificarLote(valores, dums, 2, 2, 100, codigos, semanas));
+    }
+
+    @Test
+    public void testModoDiarioDiferenciaDiasDaMesmaSemana() {
+        int hoje = 20000;
+
+        assertEquals(Classificacao.COMPATIVEL, calculadora.classificar(3000.0, hoje - 42, hoje).classificacao());
+        assertEquals(Classificacao.COMPATIVEL, calculadora.classificar(3000.0, hoje - 48, hoje).classificacao());
+
+        ResultadoClassificacao inicioDaSemana = calculadora.classificarPorDia(3000.0, hoje - 42, hoje);
+        ResultadoClassificacao fimDaSemana = calculadora.classificarPorDia(3000.0, hoje - 48, hoje);
+        assertEquals(Classificacao.COMPATIVEL, inicioDaSemana.classificacao());
+        assertEquals(1080, inicioDaSemana.valorMinimo());
+        assertEquals(Classificacao.ABAIXO_DO_ESPERADO, fimDaSemana.classificacao());
+        assertEquals(6, fimDaSemana.semanasGestacionais());
+        assertTrue(fimDaSemana.valorMinimo() > 1080 && fimDaSemana.valorMinimo() < 7650);
+    }
+
+    @Test
+    public void testModoDiarioLoteIgualAoIndividual() {
+        int hoje = 20000;
+        double[] valores = new double[140];
+        int[] dums = new int[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = i * 997.0 - 50;
+            dums[i] = i == 7 ? CalculadoraIdadeGestacional.DUM_NAO_INFORMADA : hoje - i;
+        }
+        byte[] codigos = new byte[valores.length];
+        int[] dias = new int[valores.length];
+
+        calculadora.classificarLotePorDia(valores, dums, 0, valores.length, hoje, codigos, dias);
+
+        for (int i = 0; i < valores.length; i++) {
+            ResultadoClassificacao individual = calculadora.classificarPorDia(valores[i], dums[i], hoje);
+            assertEquals(individual.classificacao().codigo(), codigos[i], "dia " + i);
+        }
+        assertEquals(100, dias[100]);
+        assertEquals(CalculadoraIdadeGestacional.SEMANAS_NAO_CALCULADAS, dias[7]);
+    }
+}
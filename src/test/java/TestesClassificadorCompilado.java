@@ -0,0 +1,110 @@
+import org.example.Classificacao;
+import org.example.ClassificadorCompilado;
+import org.example.PerfilReferencia;
+import org.example.TabelaReferencia;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Confere o classificador compilado contra a cadeia de desvios original, reescrita aqui a partir da tabela
+ */
+public class TestesClassificadorCompilado {
+
+    /** Mesma lógica de CalculadoraIdadeGestacional.classificarCodigo(TabelaReferencia, double, long) */
+    private static byte esperado(TabelaReferencia tabela, double betaHcg, long semanas) {
+        if (betaHcg < 25) {
+            return Classificacao.NEGATIVO.codigo();
+        }
+        if (semanas < 3 || semanas > 16) {
+            return Classificacao.FORA_DO_INTERVALO.codigo();
+        }
+        if (!tabela.possuiFaixa(semanas)) {
+            return Classificacao.SEM_FAIXA_REFERENCIA.codigo();
+        }
+        double minimo = tabela.minimo(semanas);
+        double maximo = tabela.maximo(semanas);
+        if (betaHcg >= minimo && betaHcg <= maximo) {
+            return Classificacao.COMPATIVEL.codigo();
+        } else if (betaHcg < minimo) {
+            return Classificacao.ABAIXO_DO_ESPERADO.codigo();
+        } else {
+            return Classificacao.ACIMA_DO_ESPERADO.codigo();
+        }
+    }
+
+    private static void conferirLimites(TabelaReferencia tabela) {
+        ClassificadorCompilado classificador = ClassificadorCompilado.compilar(tabela);
+        long[] semanas = {Long.MIN_VALUE, -1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18,
+                Integer.MAX_VALUE, Long.MAX_VALUE};
+        for (long semana : semanas) {
+            for (double valor : valoresLimite(tabela, semana)) {
+                assertEquals(esperado(tabela, valor, semana), classificador.classificarCodigo(valor, semana),
+                        "valor " + valor + ", semana " + semana);
+            }
+        }
+    }
+
+    private static double[] valoresLimite(TabelaReferencia tabela, long semana) {
+        double minimo = tabela.possuiFaixa(semana) ? tabela.minimo(semana) : 100;
+        double maximo = tabela.possuiFaixa(semana) ? tabela.maximo(semana) : 1000;
+        return new double[]{
+                0.0, -0.0, -1.0, Double.NaN, -Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.MAX_VALUE, Double.MIN_VALUE, Math.nextDown(25.0), 25.0, Math.nextUp(25.0),
+                Math.nextDown(minimo), minimo, Math.nextUp(minimo),
+                Math.nextDown(maximo), maximo, Math.nextUp(maximo), (minimo + maximo) / 2
+        };
+    }
+
+    @Test
+    public void testLimitesTabelaPadrao() {
+        conferirLimites(PerfilReferencia.padrao().tabela());
+    }
+
+    @Test
+    public void testLimitesTabelaComLacunasEFaixasAbaixoDoNegativo() {
+        conferirLimites(TabelaReferencia.compilar(new double[][]{
+                {2, 1, 40},
+                {3, 5, 20},
+                {4, 0, 25},
+                {6, 24.5, 30},
+                {7, 26, 26},
+                {9, 1000, 2000},
+                {16, 13300, 254000},
+                {20, 1, 10}
+        }));
+    }
+
+    @Test
+    public void testValoresAleatoriosNoLote() {
+        PerfilReferencia perfil = PerfilReferencia.compilar("lab", new double[][]{
+                {4, 10, 500}, {5, 100, 8000}, {6, 1000, 60000}, {8, 8000, 200000}, {12, 20000, 300000}
+        });
+        ClassificadorCompilado classificador = perfil.classificador();
+        Random aleatorio = new Random(11);
+        int hoje = 20000;
+        int tamanho = 5000;
+        double[] valores = new double[tamanho];
+        int[] dums = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            valores[i] = Math.pow(10, aleatorio.nextDouble() * 7) - 2;
+            dums[i] = i % 97 == 0 ? Integer.MIN_VALUE : hoje - aleatorio.nextInt(20 * 7);
+        }
+        byte[] codigos = new byte[tamanho];
+        int[] semanas = new int[tamanho];
+
+        classificador.classificarLote(valores, dums, 0, tamanho, hoje, codigos, semanas);
+
+        for (int i = 0; i < tamanho; i++) {
+            if (dums[i] == Integer.MIN_VALUE) {
+                assertEquals(Classificacao.DUM_NAO_INFORMADA.codigo(), codigos[i]);
+            } else if (valores[i] < 0) {
+                assertEquals(Classificacao.VALOR_INVALIDO.codigo(), codigos[i]);
+            } else {
+                assertEquals((hoje - dums[i]) / 7, semanas[i]);
+                assertEquals(esperado(perfil.tabela(), valores[i], semanas[i]), codigos[i]);
+            }
+        }
+    }
+}
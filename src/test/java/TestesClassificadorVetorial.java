@@ -0,0 +1,83 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Confere a classificação vetorial contra a implementação escalar
+ */
+public class TestesClassificadorVetorial {
+
+    private final CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+
+    private void conferir(double[] valores, int[] dums, int hoje) {
+        byte[] codigosEscalar = new byte[valores.length];
+        int[] semanasEscalar = new int[valores.length];
+        byte[] codigosVetorial = new byte[valores.length];
+        int[] semanasVetorial = new int[valores.length];
+
+        calculadora.classificarLote(valores, dums, hoje, codigosEscalar, semanasEscalar);
+        calculadora.classificarLoteVetorial(valores, dums, hoje, codigosVetorial, semanasVetorial);
+
+        assertArrayEquals(codigosEscalar, codigosVetorial);
+        assertArrayEquals(semanasEscalar, semanasVetorial);
+    }
+
+    @Test
+    public void testValoresAleatorios() {
+        Random aleatorio = new Random(7);
+        int hoje = 20000;
+        for (int tamanho : new int[]{0, 1, 7, 8, 9, 63, 1000, 4099}) {
+            double[] valores = new double[tamanho];
+            int[] dums = new int[tamanho];
+            for (int i = 0; i < tamanho; i++) {
+                valores[i] = aleatorio.nextDouble() * 400000 - 1000;
+                dums[i] = hoje - aleatorio.nextInt(25 * 7) + 14;
+            }
+            conferir(valores, dums, hoje);
+        }
+    }
+
+    @Test
+    public void testCasosLimite() {
+        int hoje = 20000;
+        double[] valores = {
+                Double.NaN, -0.0, 0.0, -1.0, 24.999, 25.0, 18.0, 7340.0, 7340.01, 17.99,
+                Double.POSITIVE_INFINITY, Double.MAX_VALUE, 1080.0, 56500.0, 13300.0, 254000.0,
+                100.0, 100.0, 100.0, 100.0, 100.0, Double.NaN, -5.0, 30.0
+        };
+        int[] dums = {
+                hoje - 42, hoje - 42, hoje - 42, hoje - 42, hoje - 42, hoje - 42, hoje - 35, hoje - 35, hoje - 35,
+                hoje - 35, hoje - 42, hoje - 42, hoje - 42, hoje - 48, hoje - 91, hoje - 118,
+                hoje - 20, hoje - 21, hoje - 119, hoje + 30, Integer.MAX_VALUE,
+                CalculadoraIdadeGestacional.DUM_NAO_INFORMADA, CalculadoraIdadeGestacional.DUM_NAO_INFORMADA,
+                Integer.MIN_VALUE + 1
+        };
+        conferir(valores, dums, hoje);
+    }
+
+    @Test
+    public void testIntervaloParcialNaoAlteraVizinhos() {
+        int tamanho = 40;
+        double[] valores = new double[tamanho];
+        int[] dums = new int[tamanho];
+        java.util.Arrays.fill(valores, 20000.0);
+        java.util.Arrays.fill(dums, 100 - 42);
+        byte[] codigos = new byte[tamanho];
+        int[] semanas = new int[tamanho];
+        java.util.Arrays.fill(codigos, (byte) 99);
+
+        calculadora.classificarLoteVetorial(valores, dums, 3, 20, 100, codigos, semanas);
+
+        for (int i = 0; i < tamanho; i++) {
+            if (i >= 3 && i < 23) {
+                assertEquals(5, codigos[i]);
+                assertEquals(6, semanas[i]);
+            } else {
+                assertEquals(99, codigos[i]);
+                assertEquals(0, semanas[i]);
+            }
+        }
+    }
+}
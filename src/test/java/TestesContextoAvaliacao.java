@@ -0,0 +1,64 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.example.Classificacao;
+import org.example.ContextoAvaliacao;
+import org.example.ProcessadorLoteCsv;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+/**
+ * Testes da referência de "hoje" injetada na calculadora
+ */
+public class TestesContextoAvaliacao {
+
+    private static final LocalDate COLETA = LocalDate.of(2024, 3, 15);
+
+    @Test
+    public void testDiaFixoComDate() {
+        CalculadoraIdadeGestacional calculadora =
+                new CalculadoraIdadeGestacional(ContextoAvaliacao.emData(COLETA));
+        Date dum = Date.from(COLETA.minusDays(45).atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        assertEquals(6, calculadora.classificar(20000.0, dum).semanasGestacionais());
+        assertEquals(Classificacao.COMPATIVEL, calculadora.classificar(20000.0, dum).classificacao());
+        assertEquals(6, calculadora.classificar(20000.0, (int) COLETA.minusDays(45).toEpochDay())
+                .semanasGestacionais());
+    }
+
+    @Test
+    public void testRelogioInjetado() {
+        Instant agora = COLETA.atTime(15, 30).toInstant(ZoneOffset.UTC);
+        ContextoAvaliacao contexto = ContextoAvaliacao.comRelogio(Clock.fixed(agora, ZoneOffset.UTC));
+        CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional(contexto);
+        Date dum = Date.from(COLETA.minusDays(48).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        assertFalse(contexto.fixo());
+        assertEquals(COLETA.toEpochDay(), contexto.hojeEpochDia());
+        assertEquals(6, calculadora.classificar(20000.0, dum).semanasGestacionais());
+
+        ContextoAvaliacao fixado = contexto.fixar();
+        assertTrue(fixado.fixo());
+        assertSame(fixado, fixado.fixar());
+        assertEquals(COLETA.toEpochDay(), fixado.hojeEpochDia());
+    }
+
+    @Test
+    public void testLoteUsaDiaDoContexto() throws Exception {
+        CalculadoraIdadeGestacional calculadora =
+                new CalculadoraIdadeGestacional(ContextoAvaliacao.emData(COLETA));
+        String entrada = "paciente;betaHcg;dum\n1;20000;" + COLETA.minusWeeks(6) + "\n";
+        StringWriter saida = new StringWriter();
+
+        new ProcessadorLoteCsv(calculadora).processar(new StringReader(entrada), saida);
+
+        assertTrue(saida.toString().contains(";COMPATIVEL;6;"), saida.toString());
+    }
+}
@@ -0,0 +1,95 @@
+import org.example.Classificacao;
+import org.example.EscritorResultadosBinario;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Testes da gravação binária de resultados
+ */
+public class TestesEscritorResultadosBinario {
+
+    @TempDir
+    Path diretorio;
+
+    private static final byte[] CODIGOS = {
+            Classificacao.COMPATIVEL.codigo(), Classificacao.NEGATIVO.codigo(), Classificacao.ACIMA_DO_ESPERADO.codigo()
+    };
+    private static final int[] SEMANAS = {6, 10, 7};
+
+    private ByteBuffer ler(Path arquivo) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(arquivo)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Test
+    public void testAcumulaJanelasContiguasEmUmBloco() throws IOException {
+        Path arquivo = diretorio.resolve("resultados.bin");
+        try (EscritorResultadosBinario escritor = new EscritorResultadosBinario(arquivo, true)) {
+            escritor.aceitar(0, null, null, CODIGOS, SEMANAS, 2);
+            escritor.aceitar(2, null, null, new byte[]{CODIGOS[2]}, new int[]{SEMANAS[2]}, 1);
+        }
+
+        ByteBuffer conteudo = ler(arquivo);
+        assertEquals(EscritorResultadosBinario.MAGICO, conteudo.getInt());
+        assertEquals(EscritorResultadosBinario.VERSAO, conteudo.getInt());
+        assertEquals(EscritorResultadosBinario.FLAG_MENSAGEM, conteudo.getInt());
+        conteudo.getInt();
+
+        assertEquals(0, conteudo.getLong());
+        assertEquals(3, conteudo.getInt());
+        for (byte codigo : CODIGOS) {
+            assertEquals(codigo, conteudo.get());
+        }
+        for (int semana : SEMANAS) {
+            assertEquals(semana, conteudo.getInt());
+        }
+        for (byte codigo : CODIGOS) {
+            assertEquals(codigo, conteudo.getShort());
+        }
+        assertFalse(conteudo.hasRemaining());
+    }
+
+    @Test
+    public void testMensagemNegativoComDumRecente() throws IOException {
+        Path arquivo = diretorio.resolve("negativos.bin");
+        byte negativo = Classificacao.NEGATIVO.codigo();
+        try (EscritorResultadosBinario escritor = new EscritorResultadosBinario(arquivo, true)) {
+            escritor.aceitar(0, null, null, new byte[]{negativo, negativo}, new int[]{3, 4}, 2);
+        }
+
+        ByteBuffer conteudo = ler(arquivo);
+        conteudo.position(EscritorResultadosBinario.TAMANHO_CABECALHO
+                + EscritorResultadosBinario.TAMANHO_CABECALHO_BLOCO + 2 * (1 + Integer.BYTES));
+        assertEquals(EscritorResultadosBinario.MENSAGEM_NEGATIVO_DUM_RECENTE, conteudo.getShort());
+        assertEquals(negativo, conteudo.getShort());
+    }
+
+    @Test
+    public void testNovoBlocoAoEncherOuSaltarRegistros() throws IOException {
+        Path arquivo = diretorio.resolve("blocos.bin");
+        try (EscritorResultadosBinario escritor = new EscritorResultadosBinario(arquivo, false, 2)) {
+            escritor.aceitar(0, null, null, CODIGOS, SEMANAS, 3);
+            escritor.aceitar(10, null, null, CODIGOS, SEMANAS, 1);
+        }
+
+        ByteBuffer conteudo = ler(arquivo);
+        conteudo.position(8);
+        assertEquals(0, conteudo.getInt());
+        conteudo.getInt();
+
+        long[][] esperados = {{0, 2}, {2, 1}, {10, 1}};
+        for (long[] bloco : esperados) {
+            assertEquals(bloco[0], conteudo.getLong());
+            int quantidade = conteudo.getInt();
+            assertEquals(bloco[1], quantidade);
+            conteudo.position(conteudo.position() + quantidade * (1 + Integer.BYTES));
+        }
+        assertFalse(conteudo.hasRemaining());
+    }
+}
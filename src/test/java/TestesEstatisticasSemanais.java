@@ -0,0 +1,114 @@
+import org.example.AgregadorEstatisticas;
+import org.example.CalculadoraIdadeGestacional;
+import org.example.Classificacao;
+import org.example.EsbocoQuantis;
+import org.example.EstatisticasSemanais;
+import org.example.ProcessadorLoteParalelo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Testes dos esboços de quantis e das estatísticas por semana
+ */
+public class TestesEstatisticasSemanais {
+
+    @Test
+    public void testQuantisDentroDaPrecisao() {
+        Random aleatorio = new Random(11);
+        double[] valores = new double[100_000];
+        EsbocoQuantis esboco = new EsbocoQuantis();
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = Math.exp(aleatorio.nextGaussian() * 1.5 + 9);
+            esboco.adicionar(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        for (double fracao : new double[]{0, 0.01, 0.1, 0.5, 0.9, 0.99, 1}) {
+            double exato = valores[(int) (fracao * (valores.length - 1))];
+            assertEquals(exato, esboco.quantil(fracao), exato * EsbocoQuantis.PRECISAO_RELATIVA, "q" + fracao);
+        }
+        assertEquals(valores[0], esboco.minimo());
+        assertEquals(valores.length, esboco.quantidade());
+    }
+
+    @Test
+    public void testMesclaIgualAoRegistroUnico() {
+        Random aleatorio = new Random(5);
+        EsbocoQuantis unico = new EsbocoQuantis();
+        EsbocoQuantis parte1 = new EsbocoQuantis();
+        EsbocoQuantis parte2 = new EsbocoQuantis();
+        for (int i = 0; i < 10_000; i++) {
+            double valor = aleatorio.nextDouble() * 300_000;
+            unico.adicionar(valor);
+            (i % 3 == 0 ? parte1 : parte2).adicionar(valor);
+        }
+        parte1.mesclar(parte2);
+
+        for (double fracao = 0; fracao <= 1; fracao += 0.05) {
+            assertEquals(unico.quantil(fracao), parte1.quantil(fracao));
+        }
+        assertEquals(unico.quantidade(), parte1.quantidade());
+    }
+
+    @Test
+    public void testContagensPorSemana() {
+        EstatisticasSemanais estatisticas = new EstatisticasSemanais();
+        CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+        int hoje = 20000;
+        double[] valores = {20000, 500, 60000, 10, 20000, -1, 20000};
+        int[] dums = {hoje - 45, hoje - 45, hoje - 45, hoje - 45, hoje - 200, hoje - 45,
+                CalculadoraIdadeGestacional.DUM_NAO_INFORMADA};
+        byte[] codigos = new byte[valores.length];
+        int[] semanas = new int[valores.length];
+        calculadora.classificarLote(valores, dums, hoje, codigos, semanas);
+
+        estatisticas.aceitar(0, valores, dums, codigos, semanas, valores.length);
+
+        assertEquals(1, estatisticas.dentro(6));
+        assertEquals(1, estatisticas.abaixo(6));
+        assertEquals(1, estatisticas.acima(6));
+        assertEquals(1, estatisticas.negativos(6));
+        assertEquals(4, estatisticas.total(6));
+        assertEquals(0, estatisticas.total(7));
+        assertEquals(1, estatisticas.contagem(Classificacao.FORA_DO_INTERVALO));
+        assertEquals(1, estatisticas.contagem(Classificacao.VALOR_INVALIDO));
+        assertEquals(1, estatisticas.contagem(Classificacao.DUM_NAO_INFORMADA));
+        assertThrows(IllegalArgumentException.class, () -> estatisticas.total(17));
+    }
+
+    @Test
+    public void testParciaisDoProcessamentoParalelo() throws Exception {
+        StringBuilder entrada = new StringBuilder("paciente;betaHcg;dum\n");
+        Random aleatorio = new Random(9);
+        EstatisticasSemanais esperado = new EstatisticasSemanais();
+        CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+        int hoje = calculadora.contexto().hojeEpochDia();
+        for (int i = 0; i < 50_000; i++) {
+            double valor = 25 + aleatorio.nextInt(300_000);
+            int dum = hoje - 21 - aleatorio.nextInt(100);
+            entrada.append(i).append(';').append((long) valor).append(';').append(LocalDate.ofEpochDay(dum))
+                    .append('\n');
+            var resultado = calculadora.classificar(valor, dum, hoje);
+            esperado.registrar(valor, resultado.classificacao().codigo(), (int) resultado.semanasGestacionais());
+        }
+        entrada.append("x;abc;\n");
+
+        AgregadorEstatisticas agregador = new AgregadorEstatisticas();
+        new ProcessadorLoteParalelo(calculadora, 4, 1000, true, false)
+                .processar(new StringReader(entrada.toString()), new StringWriter(), agregador);
+        EstatisticasSemanais consolidado = agregador.consolidar();
+
+        StringBuilder csvEsperado = new StringBuilder();
+        StringBuilder csvConsolidado = new StringBuilder();
+        esperado.escreverCsv(csvEsperado);
+        consolidado.escreverCsv(csvConsolidado);
+        assertEquals(csvEsperado.toString(), csvConsolidado.toString());
+        assertTrue(agregador.quantidadeParciais() >= 1);
+    }
+}
@@ -0,0 +1,59 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.example.IndiceReversoFaixas;
+import org.example.SemanasCompativeis;
+import org.example.TabelaReferencia;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testes da consulta inversa do valor de Beta hCG para as semanas compatíveis
+ */
+public class TestesIndiceReversoFaixas {
+
+    @Test
+    public void testFaixasPadrao() {
+        CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+
+        SemanasCompativeis semanas = calculadora.estimarSemanas(20000.0);
+        assertEquals(List.of(new SemanasCompativeis.Intervalo(6, 8), new SemanasCompativeis.Intervalo(13, 16)),
+                semanas.intervalos());
+        assertEquals(6, semanas.semanaInicial());
+        assertEquals(16, semanas.semanaFinal());
+        assertFalse(semanas.contem(10));
+        assertEquals("6-8, 13-16", semanas.toString());
+
+        assertEquals("3-5", calculadora.estimarSemanas(18.0).toString());
+        assertEquals("9-12", calculadora.estimarSemanas(288000.0).toString());
+        assertTrue(calculadora.estimarSemanas(288000.5).vazio());
+        assertTrue(calculadora.estimarSemanas(4.0).vazio());
+        assertTrue(calculadora.estimarSemanas(-1.0).vazio());
+        assertTrue(calculadora.estimarSemanas(Double.NaN).vazio());
+    }
+
+    @Test
+    public void testIgualABuscaLinearEmTabelaGrande() {
+        Random aleatorio = new Random(7);
+        double[][] faixas = new double[400][];
+        for (int i = 0; i < faixas.length; i++) {
+            double minimo = aleatorio.nextInt(10000);
+            faixas[i] = new double[]{i * 2, minimo, minimo + aleatorio.nextInt(5000)};
+        }
+        TabelaReferencia tabela = TabelaReferencia.compilar(faixas);
+        IndiceReversoFaixas indice = IndiceReversoFaixas.construir(tabela);
+
+        for (double[] faixa : faixas) {
+            for (double valor : new double[]{faixa[1], faixa[2], Math.nextDown(faixa[1]), Math.nextUp(faixa[2]),
+                    faixa[1] + 0.5, aleatorio.nextDouble() * 16000}) {
+                SemanasCompativeis semanas = indice.consultar(valor);
+                for (int semana = 0; semana < faixas.length * 2; semana++) {
+                    boolean esperado = tabela.possuiFaixa(semana)
+                            && valor >= tabela.minimo(semana) && valor <= tabela.maximo(semana);
+                    assertEquals(esperado, semanas.contem(semana), "valor " + valor + ", semana " + semana);
+                }
+            }
+        }
+    }
+}
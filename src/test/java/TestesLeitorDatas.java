@@ -0,0 +1,49 @@
+import org.example.LeitorDatas;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Testes da leitura de datas em dia epoch
+ */
+public class TestesLeitorDatas {
+
+    @Test
+    public void testMesmoResultadoDoLocalDate() {
+        DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        for (LocalDate data = LocalDate.of(1896, 1, 1); data.getYear() < 2105; data = data.plusDays(1)) {
+            String brasileiro = data.format(formato);
+            String iso = data.toString();
+
+            assertEquals(data.toEpochDay(), LeitorDatas.lerEpochDia(brasileiro), brasileiro);
+            assertEquals(data.toEpochDay(), LeitorDatas.lerEpochDia(iso), iso);
+            byte[] bytes = brasileiro.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(data.toEpochDay(), LeitorDatas.lerEpochDia(bytes, 0, bytes.length), brasileiro);
+        }
+    }
+
+    @Test
+    public void testTrechoComEspacos() {
+        String linha = "p1;20000; 01/02/2024 ";
+        byte[] bytes = linha.getBytes(StandardCharsets.US_ASCII);
+        long esperado = LocalDate.of(2024, 2, 1).toEpochDay();
+
+        assertEquals(esperado, LeitorDatas.lerEpochDia(linha, 9, linha.length()));
+        assertEquals(esperado, LeitorDatas.lerEpochDia(bytes, 9, bytes.length));
+    }
+
+    @Test
+    public void testDatasInvalidas() {
+        String[] invalidas = {"", "   ", "31/02/2024", "29/02/2023", "00/01/2024", "01/13/2024", "1/2/2024",
+                "01-02-2024", "2024/02/01", "0a/02/2024", "01/02/24", "01/02/20245", "2024-02-30", "2024-2-01"};
+        for (String data : invalidas) {
+            assertEquals(LeitorDatas.DATA_INVALIDA, LeitorDatas.lerEpochDia(data), data);
+        }
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), LeitorDatas.lerEpochDia("29/02/2024"));
+        assertEquals(LocalDate.of(2000, 2, 29).toEpochDay(), LeitorDatas.lerEpochDia("2000-02-29"));
+        assertEquals(LeitorDatas.DATA_INVALIDA, LeitorDatas.lerEpochDia("29/02/1900"));
+    }
+}
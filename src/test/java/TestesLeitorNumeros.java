@@ -0,0 +1,35 @@
+import org.example.LeitorNumeros;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Testes da leitura de números direto dos bytes
+ */
+public class TestesLeitorNumeros {
+
+    @Test
+    public void testMesmoResultadoDoParseDouble() {
+        String[] textos = {"0", "-0", "25", " 1234.5 ", "1234,5", "0.1", ".5", "5.", "+7", "1e3", "123456789012345678",
+                "0.30000000000000004", "abc", "", "-", ".", "1.2.3", "NaN", "1,000.5"};
+        for (String texto : textos) {
+            byte[] bytes = texto.getBytes(StandardCharsets.US_ASCII);
+            double esperado;
+            try {
+                esperado = Double.parseDouble(texto.trim().replace(',', '.'));
+            } catch (NumberFormatException e) {
+                esperado = Double.NaN;
+            }
+            assertEquals(esperado, LeitorNumeros.lerDouble(bytes, 0, bytes.length), texto);
+        }
+
+        Random aleatorio = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            String texto = aleatorio.nextInt(1_000_000) + "." + aleatorio.nextInt(1000);
+            byte[] bytes = texto.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Double.parseDouble(texto), LeitorNumeros.lerDouble(bytes, 0, bytes.length), texto);
+        }
+    }
+}
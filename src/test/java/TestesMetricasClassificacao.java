@@ -0,0 +1,114 @@
+import org.example.CalculadoraInstrumentada;
+import org.example.Classificacao;
+import org.example.InstantaneoMetricas;
+import org.example.MetricasClassificacao;
+import org.example.PerfilReferencia;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Testes das métricas da calculadora instrumentada
+ */
+public class TestesMetricasClassificacao {
+
+    private MetricasClassificacao metricas;
+    private CalculadoraInstrumentada calculadora;
+
+    @BeforeEach
+    public void setUp() {
+        metricas = new MetricasClassificacao();
+        calculadora = new CalculadoraInstrumentada(metricas);
+    }
+
+    private Date criarDataUltimaMenstruacao(int semanasAtras) {
+        Calendar cal = Calendar.getInstance();
+        cal.add(Calendar.WEEK_OF_YEAR, -semanasAtras);
+        return cal.getTime();
+    }
+
+    @Test
+    public void testContagemPorClassificacao() {
+        calculadora.calcularIdadeGestacional(20000.0, criarDataUltimaMenstruacao(6));
+        calculadora.calcularIdadeGestacional(20000.0, criarDataUltimaMenstruacao(7));
+        calculadora.calcularIdadeGestacional(10.0, criarDataUltimaMenstruacao(6));
+        calculadora.calcularIdadeGestacional(100.0, null);
+
+        InstantaneoMetricas instantaneo = metricas.instantaneo();
+        assertEquals(2, instantaneo.contagem(Classificacao.COMPATIVEL));
+        assertEquals(1, instantaneo.contagem(Classificacao.NEGATIVO));
+        assertEquals(1, instantaneo.contagem(Classificacao.DUM_NAO_INFORMADA));
+        assertEquals(4, instantaneo.total());
+        assertTrue(instantaneo.latenciaMaximaNanos() >= instantaneo.latenciaP50Nanos());
+    }
+
+    @Test
+    public void testContagemDoLote() {
+        double[] valores = {20000.0, 500.0, 500.0, -1.0};
+        int[] dums = {100 - 42, 100 - 42, 100 - 42, 100 - 42};
+
+        calculadora.classificarLote(valores, dums, 100, new byte[4], new int[4]);
+        calculadora.classificarLoteVetorial(valores, dums, 100, new byte[4], new int[4]);
+
+        InstantaneoMetricas instantaneo = metricas.instantaneo();
+        assertEquals(2, instantaneo.contagem(Classificacao.COMPATIVEL));
+        assertEquals(4, instantaneo.contagem(Classificacao.ABAIXO_DO_ESPERADO));
+        assertEquals(2, instantaneo.contagem(Classificacao.VALOR_INVALIDO));
+        assertEquals(2, instantaneo.lotes());
+    }
+
+    @Test
+    public void testContagemComPerfil() {
+        PerfilReferencia perfil = PerfilReferencia.compilar("lab", new double[][]{{6, 100, 1000}, {7, 100, 1000}});
+        double[] valores = {500.0, 5000.0};
+        int[] dums = {100 - 42, 100 - 42};
+
+        calculadora.classificar(perfil, 500.0, 100 - 42, 100);
+        calculadora.classificarPorDia(perfil, 50.0, 100 - 49, 100);
+        calculadora.classificarLote(perfil, valores, dums, 0, 2, 100, new byte[2], new int[2]);
+        calculadora.estimarSemanas(perfil, 500.0);
+
+        InstantaneoMetricas instantaneo = metricas.instantaneo();
+        assertEquals(2, instantaneo.contagem(Classificacao.COMPATIVEL));
+        assertEquals(1, instantaneo.contagem(Classificacao.ABAIXO_DO_ESPERADO));
+        assertEquals(1, instantaneo.contagem(Classificacao.ACIMA_DO_ESPERADO));
+        assertEquals(1, instantaneo.lotes());
+        assertEquals(1, metricas.getEstimativas());
+    }
+
+    @Test
+    public void testMetricasDesligadas() {
+        metricas.setAtivo(false);
+        String resultado = calculadora.calcularIdadeGestacional(20000.0, criarDataUltimaMenstruacao(6));
+
+        assertTrue(resultado.contains("compatível"));
+        assertEquals(0, metricas.getTotal());
+    }
+
+    @Test
+    public void testZerar() {
+        calculadora.calcularIdadeGestacional(20000.0, criarDataUltimaMenstruacao(6));
+        metricas.zerar();
+
+        assertEquals(0, metricas.getTotal());
+        assertEquals(0, metricas.getLatenciaMaximaNanos());
+    }
+
+    @Test
+    public void testRegistroJmx() throws Exception {
+        metricas.registrarJmx("testes");
+        calculadora.calcularIdadeGestacional(500.0, criarDataUltimaMenstruacao(6));
+
+        ObjectName nome = new ObjectName("org.example:type=MetricasClassificacao,name=\"testes\"");
+        try {
+            assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(nome, "AbaixoDoEsperado"));
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(nome);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.example.Classificacao;
+import org.example.MedicaoClassificada;
+import org.example.MedicaoHcg;
+import org.example.ProcessadorFluxoClassificacao;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testes do processador reativo de classificação
+ */
+public class TestesProcessadorFluxoClassificacao {
+
+    private final CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+
+    /**
+     * Assinante que pede um item por vez e guarda tudo o que recebe
+     */
+    private static final class Coletor implements Flow.Subscriber<MedicaoClassificada> {
+        final List<MedicaoClassificada> recebidos = new ArrayList<>();
+        final CountDownLatch fim = new CountDownLatch(1);
+        final long pedidosIniciais;
+        Flow.Subscription assinatura;
+        Throwable erro;
+
+        Coletor(long pedidosIniciais) {
+            this.pedidosIniciais = pedidosIniciais;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription assinatura) {
+            this.assinatura = assinatura;
+            if (pedidosIniciais > 0) {
+                assinatura.request(pedidosIniciais);
+            }
+        }
+
+        @Override
+        public void onNext(MedicaoClassificada item) {
+            recebidos.add(item);
+            assinatura.request(1);
+        }
+
+        @Override
+        public void onError(Throwable erro) {
+            this.erro = erro;
+            fim.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            fim.countDown();
+        }
+    }
+
+    @Test
+    public void testClassificaTodasAsMedicoesEmOrdem() throws Exception {
+        int hoje = (int) LocalDate.now().toEpochDay();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            SubmissionPublisher<MedicaoHcg> origem = new SubmissionPublisher<>(executor, 16);
+            ProcessadorFluxoClassificacao processador =
+                    new ProcessadorFluxoClassificacao(calculadora, executor, 64, 32);
+            Coletor coletor = new Coletor(1);
+            origem.subscribe(processador);
+            processador.subscribe(coletor);
+
+            for (int i = 0; i < 1000; i++) {
+                int dum = i % 10 == 0 ? CalculadoraIdadeGestacional.DUM_NAO_INFORMADA : hoje - 21 - i % 100;
+                origem.submit(new MedicaoHcg(i, i, 25.0 + i * 37, dum));
+            }
+            origem.close();
+
+            assertTrue(coletor.fim.await(10, TimeUnit.SECONDS));
+            assertNull(coletor.erro);
+            assertEquals(1000, coletor.recebidos.size());
+            for (int i = 0; i < 1000; i++) {
+                MedicaoClassificada classificada = coletor.recebidos.get(i);
+                MedicaoHcg medicao = classificada.medicao();
+                assertEquals(i, medicao.pacienteId());
+                assertEquals(calculadora.classificar(medicao.betaHcg(), medicao.dumEpochDia(), hoje).mensagem(),
+                        classificada.resultado().mensagem());
+            }
+            assertEquals(Classificacao.DUM_NAO_INFORMADA, coletor.recebidos.get(0).resultado().classificacao());
+        }
+    }
+
+    @Test
+    public void testAssinanteTardioRecebeTodasAsMedicoes() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            SubmissionPublisher<MedicaoHcg> origem = new SubmissionPublisher<>(executor, 256);
+            ProcessadorFluxoClassificacao processador =
+                    new ProcessadorFluxoClassificacao(calculadora, executor, 64, 32);
+            origem.subscribe(processador);
+
+            // Sem assinantes, o processador não pede nada e as coletas esperam na origem
+            for (int i = 0; i < 100; i++) {
+                origem.submit(new MedicaoHcg(i, i, 20000.0));
+            }
+            Thread.sleep(100);
+            Coletor coletor = new Coletor(1);
+            processador.subscribe(coletor);
+            origem.close();
+
+            assertTrue(coletor.fim.await(10, TimeUnit.SECONDS));
+            assertNull(coletor.erro);
+            assertEquals(100, coletor.recebidos.size());
+        }
+    }
+
+    @Test
+    public void testAssinanteParadoSeguraAOrigem() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            SubmissionPublisher<MedicaoHcg> origem = new SubmissionPublisher<>(executor, 16);
+            ProcessadorFluxoClassificacao processador =
+                    new ProcessadorFluxoClassificacao(calculadora, executor, 64, 32);
+            Coletor coletor = new Coletor(0);
+            origem.subscribe(processador);
+            processador.subscribe(coletor);
+
+            // O assinante não pede nada: depois de encher os buffers, a origem passa a recusar coletas
+            int aceitas = 0;
+            for (int i = 0; i < 5000; i++) {
+                if (origem.offer(new MedicaoHcg(i, i, 20000.0), null) >= 0) {
+                    aceitas++;
+                }
+            }
+            assertTrue(aceitas < 1000, "coletas aceitas: " + aceitas);
+
+            coletor.assinatura.request(Long.MAX_VALUE);
+            origem.close();
+            assertTrue(coletor.fim.await(10, TimeUnit.SECONDS));
+            assertEquals(aceitas, coletor.recebidos.size());
+        }
+    }
+}
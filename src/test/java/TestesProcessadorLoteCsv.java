@@ -0,0 +1,129 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.example.CalculadoraInstrumentada;
+import org.example.Classificacao;
+import org.example.InstantaneoMetricas;
+import org.example.MetricasClassificacao;
+import org.example.ProcessadorLoteCsv;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Testes do processamento em lote de arquivos CSV
+ */
+public class TestesProcessadorLoteCsv {
+
+    private ProcessadorLoteCsv processador;
+
+    @BeforeEach
+    public void setUp() {
+        processador = new ProcessadorLoteCsv(new CalculadoraIdadeGestacional(), 2, true, true);
+    }
+
+    /**
+     * Formata a data de N semanas atrás no padrão dd/MM/yyyy
+     */
+    private String dataSemanasAtras(int semanas) {
+        return LocalDate.now().minusWeeks(semanas).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+    }
+
+    private String[] processar(String csv) throws IOException {
+        StringWriter saida = new StringWriter();
+        processador.processar(new StringReader(csv), saida);
+        return saida.toString().split("\\R");
+    }
+
+    @Test
+    public void testClassificaTodasAsLinhas() throws IOException {
+        String csv = "paciente;betaHcg;dum\n" +
+                "p1;20000;" + dataSemanasAtras(6) + "\n" +
+                "p2;500;" + dataSemanasAtras(6) + "\n" +
+                "p3;15,5;" + dataSemanasAtras(10) + "\n";
+
+        String[] linhas = processar(csv);
+
+        assertEquals(4, linhas.length);
+        assertEquals(ProcessadorLoteCsv.CABECALHO_SAIDA + ";mensagem", linhas[0]);
+        assertTrue(linhas[1].startsWith("p1;20000;" + dataSemanasAtras(6) + ";COMPATIVEL;6;1080;56500;"));
+        assertTrue(linhas[1].contains("compatível"));
+        assertTrue(linhas[2].contains("abaixo do esperado"));
+        assertTrue(linhas[3].contains("Resultado negativo"));
+    }
+
+    @Test
+    public void testMantemOrdemEntreJanelas() throws IOException {
+        StringBuilder csv = new StringBuilder("paciente;betaHcg;dum\n");
+        for (int i = 0; i < 7; i++) {
+            csv.append("p").append(i).append(";20000;").append(dataSemanasAtras(6)).append('\n');
+        }
+
+        String[] linhas = processar(csv.toString());
+
+        assertEquals(8, linhas.length);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(linhas[i + 1].startsWith("p" + i + ";"));
+        }
+    }
+
+    @Test
+    public void testLinhaInvalidaNaoInterrompeLote() throws IOException {
+        String csv = "paciente;betaHcg;dum\n" +
+                "p1;abc;" + dataSemanasAtras(6) + "\n" +
+                "p2;20000;31/02/2024\n" +
+                "p3\n" +
+                "p4;20000;\n" +
+                "p5;20000;" + dataSemanasAtras(6) + "\n";
+
+        String[] linhas = processar(csv);
+
+        assertEquals(6, linhas.length);
+        assertTrue(linhas[1].contains("LINHA_INVALIDA"));
+        assertTrue(linhas[1].contains("Beta hCG inválido"));
+        assertTrue(linhas[2].contains("Data inválida"));
+        assertTrue(linhas[3].startsWith("p3;;;LINHA_INVALIDA;;;;"));
+        assertTrue(linhas[4].contains("DUM_NAO_INFORMADA"));
+        assertTrue(linhas[5].contains("COMPATIVEL"));
+    }
+
+    @Test
+    public void testMetricasIgnoramLinhasInvalidas() throws IOException {
+        MetricasClassificacao metricas = new MetricasClassificacao();
+        processador = new ProcessadorLoteCsv(new CalculadoraInstrumentada(metricas), 4, true, false);
+        String csv = "paciente;betaHcg;dum\n" +
+                "p1;abc;" + dataSemanasAtras(6) + "\n" +
+                "p2;20000;" + dataSemanasAtras(6) + "\n" +
+                "p3;20000;31/02/2024\n" +
+                "p4;20000;\n" +
+                "p5\n" +
+                "p6;500;" + dataSemanasAtras(6) + "\n";
+
+        String[] linhas = processar(csv);
+
+        assertTrue(linhas[1].contains("LINHA_INVALIDA"));
+        assertTrue(linhas[2].contains("COMPATIVEL"));
+        assertTrue(linhas[6].contains("ABAIXO_DO_ESPERADO"));
+        InstantaneoMetricas instantaneo = metricas.instantaneo();
+        assertEquals(3, instantaneo.total());
+        assertEquals(1, instantaneo.contagem(Classificacao.COMPATIVEL));
+        assertEquals(1, instantaneo.contagem(Classificacao.DUM_NAO_INFORMADA));
+        assertEquals(1, instantaneo.contagem(Classificacao.ABAIXO_DO_ESPERADO));
+    }
+
+    @Test
+    public void testSemMensagemNaoGeraTexto() throws IOException {
+        processador = new ProcessadorLoteCsv(new CalculadoraIdadeGestacional(), 16, true, false);
+        String csv = "paciente;betaHcg;dum\n" +
+                "p1;50000;" + dataSemanasAtras(5) + "\n";
+
+        String[] linhas = processar(csv);
+
+        assertEquals(ProcessadorLoteCsv.CABECALHO_SAIDA, linhas[0]);
+        assertEquals("p1;50000;" + dataSemanasAtras(5) + ";ACIMA_DO_ESPERADO;5;18;7340", linhas[1]);
+    }
+}
@@ -0,0 +1,71 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.example.ProcessadorLoteCsv;
+import org.example.ProcessadorLoteParalelo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * Testes do processamento paralelo de CSV
+ */
+public class TestesProcessadorLoteParalelo {
+
+    private String gerarCsv(int linhas) {
+        Random aleatorio = new Random(3);
+        DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        StringBuilder csv = new StringBuilder("paciente;betaHcg;dum\n");
+        for (int i = 0; i < linhas; i++) {
+            csv.append('p').append(i).append(';')
+                    .append(aleatorio.nextInt(300000)).append(';')
+                    .append(LocalDate.now().minusDays(aleatorio.nextInt(140)).format(formato)).append('\n');
+            if (i % 50 == 0) {
+                csv.append("linha quebrada\n");
+            }
+        }
+        return csv.toString();
+    }
+
+    @Test
+    public void testSaidaIgualAoProcessamentoSequencial() throws IOException {
+        String csv = gerarCsv(5000);
+        CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+
+        StringWriter sequencial = new StringWriter();
+        long linhasSequencial = new ProcessadorLoteCsv(calculadora, 128, true, true)
+                .processar(new StringReader(csv), sequencial);
+
+        for (int paralelismo : new int[]{1, 3, 8}) {
+            StringWriter paralelo = new StringWriter();
+            long linhasParalelo = new ProcessadorLoteParalelo(calculadora, paralelismo, 37, true, true)
+                    .processar(new StringReader(csv), paralelo);
+
+            assertEquals(linhasSequencial, linhasParalelo);
+            assertEquals(sequencial.toString(), paralelo.toString());
+        }
+    }
+
+    @Test
+    public void testEntradaVazia() throws IOException {
+        StringWriter saida = new StringWriter();
+        long linhas = new ProcessadorLoteParalelo(new CalculadoraIdadeGestacional(), 4, 10, true, false)
+                .processar(new StringReader("paciente;betaHcg;dum\n"), saida);
+
+        assertEquals(0, linhas);
+        assertEquals(ProcessadorLoteCsv.CABECALHO_SAIDA + System.lineSeparator(), saida.toString());
+    }
+
+    @Test
+    public void testParametrosInvalidos() {
+        CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+        assertThrows(IllegalArgumentException.class,
+                () -> new ProcessadorLoteParalelo(calculadora, 0, 10, true, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ProcessadorLoteParalelo(calculadora, 2, 0, true, false));
+    }
+}
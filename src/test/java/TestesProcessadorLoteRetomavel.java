@@ -0,0 +1,134 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.example.Classificacao;
+import org.example.ContextoAvaliacao;
+import org.example.ProcessadorLoteCsv;
+import org.example.ProcessadorLoteRetomavel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * Testes do processamento em lote com checkpoints e retomada
+ */
+public class TestesProcessadorLoteRetomavel {
+
+    private static final int HOJE = 20000;
+
+    private final CalculadoraIdadeGestacional calculadora =
+            new CalculadoraIdadeGestacional(ContextoAvaliacao.emDia(HOJE));
+
+    @TempDir
+    Path diretorio;
+
+    /**
+     * CSV com mais de 64 KB, nomes acentuados, quebras \r\n, linhas em branco e linhas inválidas
+     */
+    private Path gerarEntrada(int linhas) throws IOException {
+        Random aleatorio = new Random(3);
+        DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        StringBuilder csv = new StringBuilder("paciente;betaHcg;dum\r\n");
+        for (int i = 0; i < linhas; i++) {
+            if (i % 250 == 0) {
+                csv.append("\n");
+            }
+            if (i % 333 == 0) {
+                csv.append("joão ").append(i).append(";abc;01/01/2020\r\n");
+                continue;
+            }
+            String dum = LocalDate.ofEpochDay(HOJE - aleatorio.nextInt(20 * 7)).format(formato);
+            csv.append("paciente-ç-").append(i).append(';').append(aleatorio.nextInt(300000)).append(',')
+                    .append(aleatorio.nextInt(10)).append(';').append(i % 500 == 1 ? "" : dum)
+                    .append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        Path entrada = diretorio.resolve("entrada.csv");
+        Files.writeString(entrada, csv, StandardCharsets.UTF_8);
+        return entrada;
+    }
+
+    private String processarSemInterrupcao(Path entrada) throws IOException {
+        StringWriter saida = new StringWriter();
+        new ProcessadorLoteCsv(calculadora, 100, true, true)
+                .processar(new StringReader(Files.readString(entrada, StandardCharsets.UTF_8)), saida);
+        return saida.toString();
+    }
+
+    @Test
+    public void testSaidaIgualAoProcessamentoComum() throws IOException {
+        Path entrada = gerarEntrada(5000);
+        Path saida = diretorio.resolve("saida.csv");
+        Path checkpoint = diretorio.resolve("lote.checkpoint");
+
+        ProcessadorLoteRetomavel.Resumo resumo = new ProcessadorLoteRetomavel(calculadora, 100, 1000, true, true)
+                .processar(entrada, saida, checkpoint);
+
+        assertEquals(processarSemInterrupcao(entrada), Files.readString(saida, StandardCharsets.UTF_8));
+        assertEquals(5000, resumo.linhas());
+        assertEquals(0, resumo.linhasRetomadas());
+        assertEquals(6, resumo.checkpoints());
+        long soma = resumo.linhasInvalidas();
+        for (Classificacao classificacao : Classificacao.values()) {
+            soma += resumo.contagem(classificacao);
+        }
+        assertEquals(5000, soma);
+        assertEquals(16, resumo.linhasInvalidas());
+        assertTrue(resumo.contagem(Classificacao.COMPATIVEL) > 0);
+        assertTrue(Files.readString(checkpoint).contains("concluido=true"));
+    }
+
+    @Test
+    public void testRetomadaAposFalhaNaoDuplicaNemPerdeLinhas() throws IOException {
+        Path entrada = gerarEntrada(5000);
+        Path saida = diretorio.resolve("saida.csv");
+        Path checkpoint = diretorio.resolve("lote.checkpoint");
+        ProcessadorLoteRetomavel processador = new ProcessadorLoteRetomavel(calculadora, 100, 1000, true, true);
+
+        RuntimeException falha = new RuntimeException("falha simulada");
+        assertThrows(RuntimeException.class, () -> processador.processar(entrada, saida, checkpoint,
+                (primeiro, valores, dums, codigos, semanas, quantidade) -> {
+                    if (primeiro == 2700) {
+                        throw falha;
+                    }
+                }));
+        assertTrue(Files.readString(checkpoint).contains("linhas=2000"));
+        // Simula linhas gravadas depois do checkpoint, a última pela metade
+        Files.writeString(saida, "linha1;já gravada\nlinha2;pela me", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        ProcessadorLoteRetomavel.Resumo resumo = processador.processar(entrada, saida, checkpoint);
+
+        assertEquals(processarSemInterrupcao(entrada), Files.readString(saida, StandardCharsets.UTF_8));
+        assertEquals(5000, resumo.linhas());
+        assertEquals(2000, resumo.linhasRetomadas());
+        assertEquals(16, resumo.linhasInvalidas());
+
+        ProcessadorLoteRetomavel.Resumo repetido = processador.processar(entrada, saida, checkpoint);
+        assertEquals(5000, repetido.linhasRetomadas());
+        assertEquals(0, repetido.checkpoints());
+        assertArrayEquals(resumo.contagens(), repetido.contagens());
+    }
+
+    @Test
+    public void testCheckpointIncompativel() throws IOException {
+        Path entrada = gerarEntrada(500);
+        Path saida = diretorio.resolve("saida.csv");
+        Path checkpoint = diretorio.resolve("lote.checkpoint");
+        new ProcessadorLoteRetomavel(calculadora, 100, 100, true, false).processar(entrada, saida, checkpoint);
+
+        assertThrows(IOException.class, () -> new ProcessadorLoteRetomavel(calculadora, 100, 100, true, true)
+                .processar(entrada, saida, checkpoint));
+        Files.writeString(entrada, "p;100;01/01/2020\n", StandardOpenOption.APPEND);
+        assertThrows(IOException.class, () -> new ProcessadorLoteRetomavel(calculadora, 100, 100, true, false)
+                .processar(entrada, saida, checkpoint));
+    }
+}
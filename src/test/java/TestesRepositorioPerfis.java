@@ -0,0 +1,160 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.example.Classificacao;
+import org.example.PerfilReferencia;
+import org.example.RepositorioPerfis;
+import org.example.ResultadoClassificacao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Testes dos perfis de referência carregados de arquivo e da recarga a quente
+ */
+public class TestesRepositorioPerfis {
+
+    private static final int HOJE = 20000;
+
+    @TempDir
+    Path diretorio;
+
+    private final CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+
+    private void gravar(String id, String conteudo) throws IOException {
+        Path temporario = diretorio.resolve(id + ".tmp");
+        Files.writeString(temporario, conteudo);
+        Files.move(temporario, diretorio.resolve(id + RepositorioPerfis.EXTENSAO), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Test
+    public void testPerfilSelecionadoPorChamada() throws IOException {
+        gravar("labA", "# semana;minimo;maximo\n6;100;2000\n7;1500,5;9000\n");
+        RepositorioPerfis perfis = new RepositorioPerfis(diretorio);
+        perfis.carregarTodos();
+
+        ResultadoClassificacao padrao =
+                calculadora.classificar(perfis.perfil(PerfilReferencia.ID_PADRAO), 1500.0, HOJE - 42, HOJE);
+        ResultadoClassificacao labA = calculadora.classificar(perfis.perfil("labA"), 1500.0, HOJE - 42, HOJE);
+
+        assertEquals(Classificacao.COMPATIVEL, padrao.classificacao());
+        assertEquals(1080, padrao.valorMinimo());
+        assertEquals(Classificacao.COMPATIVEL, labA.classificacao());
+        assertEquals(2000, labA.valorMaximo());
+        assertEquals(Classificacao.SEM_FAIXA_REFERENCIA,
+                calculadora.classificar(perfis.perfil("labA"), 1500.0, HOJE - 35, HOJE).classificacao());
+        assertEquals(Classificacao.ABAIXO_DO_ESPERADO,
+                calculadora.classificar(perfis.perfil("labA"), 1500.0, HOJE - 49, HOJE).classificacao());
+        assertEquals("6-7", calculadora.estimarSemanas(perfis.perfil("labA"), 1600.0).toString());
+        assertThrows(IllegalArgumentException.class, () -> perfis.perfil("labB"));
+    }
+
+    @Test
+    public void testArquivoInvalidoMantemVersaoAnterior() throws IOException {
+        gravar("labA", "6;100;2000\n");
+        RepositorioPerfis perfis = new RepositorioPerfis(diretorio);
+        perfis.carregarTodos();
+        PerfilReferencia anterior = perfis.perfil("labA");
+
+        gravar("labA", "6;100;2000\n7;9000;100\n");
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> perfis.carregar(diretorio.resolve("labA" + RepositorioPerfis.EXTENSAO)));
+
+        assertTrue(erro.getMessage().contains("7"));
+        assertSame(anterior, perfis.perfil("labA"));
+    }
+
+    @Test
+    public void testRecargaAQuente() throws Exception {
+        gravar("labA", "6;100;2000\n");
+        try (RepositorioPerfis perfis = new RepositorioPerfis(diretorio)) {
+            perfis.carregarTodos();
+            perfis.monitorar();
+
+            gravar("labA", "6;100;5000\n");
+            long limite = System.nanoTime() + 20_000_000_000L;
+            while (perfis.perfil("labA").tabela().maximo(6) != 5000 && System.nanoTime() < limite) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(5000, perfis.perfil("labA").tabela().maximo(6));
+        }
+    }
+
+    @Test
+    public void testRecarregarTodosSincronizaComDiretorio() throws IOException {
+        gravar("labA", "6;100;2000\n");
+        gravar("labB", "6;100;2000\n");
+        RepositorioPerfis perfis = new RepositorioPerfis(diretorio);
+        perfis.carregarTodos();
+        perfis.publicar(PerfilReferencia.compilar("labC", new double[][]{{6, 100, 1000}}));
+
+        gravar("labA", "6;100;5000\n");
+        Files.delete(diretorio.resolve("labB" + RepositorioPerfis.EXTENSAO));
+        perfis.recarregarTodos();
+
+        assertEquals(5000, perfis.perfil("labA").tabela().maximo(6));
+        assertFalse(perfis.ids().contains("labB"));
+        assertTrue(perfis.ids().contains("labC"));
+    }
+
+    @Test
+    public void testFalhasDoMonitorVaoParaOTratador() throws Exception {
+        Path observado = Files.createDirectory(diretorio.resolve("perfis"));
+        BlockingQueue<Path> falhas = new ArrayBlockingQueue<>(16);
+        try (RepositorioPerfis perfis = new RepositorioPerfis(observado)) {
+            perfis.aoFalhar((caminho, e) -> falhas.add(caminho));
+            perfis.monitorar();
+
+            Path invalido = observado.resolve("labA" + RepositorioPerfis.EXTENSAO);
+            Files.writeString(invalido, "6;9000;100\n");
+            assertEquals(invalido, falhas.poll(20, TimeUnit.SECONDS));
+
+            // Sem o diretório a chave é cancelada e o monitor avisa e termina, em vez de esperar para sempre
+            Files.delete(invalido);
+            Files.delete(observado);
+            Path falha;
+            do {
+                falha = falhas.poll(20, TimeUnit.SECONDS);
+            } while (invalido.equals(falha));
+            assertEquals(observado, falha);
+        }
+    }
+
+    @Test
+    public void testLeitoresNuncaVeemTabelaMisturada() throws Exception {
+        PerfilReferencia versao1 = PerfilReferencia.compilar("lab", new double[][]{{6, 100, 1000}, {7, 100, 1000}});
+        PerfilReferencia versao2 = PerfilReferencia.compilar("lab", new double[][]{{6, 200, 2000}, {7, 200, 2000}});
+        RepositorioPerfis perfis = new RepositorioPerfis(diretorio);
+        perfis.publicar(versao1);
+
+        AtomicBoolean executando = new AtomicBoolean(true);
+        AtomicReference<String> falha = new AtomicReference<>();
+        Thread leitor = Thread.ofPlatform().start(() -> {
+            while (executando.get()) {
+                PerfilReferencia perfil = perfis.perfil("lab");
+                ResultadoClassificacao semana6 = calculadora.classificar(perfil, 500.0, HOJE - 42, HOJE);
+                ResultadoClassificacao semana7 = calculadora.classificar(perfil, 500.0, HOJE - 49, HOJE);
+                if (semana6.valorMinimo() != semana7.valorMinimo()
+                        || semana6.valorMinimo() * 10 != semana6.valorMaximo()) {
+                    falha.set(semana6 + " / " + semana7);
+                }
+            }
+        });
+        for (int i = 0; i < 20000; i++) {
+            perfis.publicar(i % 2 == 0 ? versao2 : versao1);
+        }
+        executando.set(false);
+        leitor.join();
+
+        assertNull(falha.get());
+    }
+}
@@ -0,0 +1,93 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.example.ResultadoClassificacao;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Testes dos modelos de mensagem: o texto deve ser idêntico ao montado com String.format
+ */
+public class TestesResultadoClassificacao {
+
+    private static final int HOJE = 20000;
+
+    private final CalculadoraIdadeGestacional calculadora = new CalculadoraIdadeGestacional();
+
+    /**
+     * Mensagem dos resultados positivos como era montada antes dos modelos
+     */
+    private static String esperada(ResultadoClassificacao resultado) {
+        String hcg = String.format("%.1f", resultado.betaHcg());
+        String faixa = String.format("%.0f", resultado.valorMinimo()) + "-"
+                + String.format("%.0f", resultado.valorMaximo());
+        long semanas = resultado.semanasGestacionais();
+        return switch (resultado.classificacao()) {
+            case COMPATIVEL -> "Resultado positivo compatível com a idade gestacional: o valor de hCG (" + hcg
+                    + " mUI/mL) está dentro do intervalo esperado para " + semanas + " semanas de gestação ("
+                    + faixa + " mUI/mL).";
+            case ABAIXO_DO_ESPERADO -> "Resultado positivo abaixo do esperado: o valor de hCG (" + hcg
+                    + " mUI/mL) está abaixo do intervalo esperado para " + semanas + " semanas (" + faixa
+                    + " mUI/mL). Pode indicar problemas na evolução da gravidez ou datação incorreta; "
+                    + "é necessário acompanhamento médico.";
+            case ACIMA_DO_ESPERADO -> "Resultado positivo acima do esperado: o valor de hCG (" + hcg
+                    + " mUI/mL) está acima do intervalo esperado para " + semanas + " semanas (" + faixa
+                    + " mUI/mL). Pode sugerir uma gestação gemelar ou erro de datação; também deve ser "
+                    + "avaliado por um profissional de saúde.";
+            default -> resultado.mensagem();
+        };
+    }
+
+    private void verificar(double valor, int dias) {
+        ResultadoClassificacao resultado = calculadora.classificar(valor, HOJE - dias, HOJE);
+        assertEquals(esperada(resultado), resultado.mensagem(), "hCG " + valor);
+    }
+
+    @Test
+    public void testArredondamentoIgualAoStringFormat() {
+        double[] empates = {25.05, 25.15, 25.25, 100.45, 1234.55, 9999.95, 12.25, 30.0, 99999.99, 1e12, 2.5e9,
+                Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN, Math.nextUp(25.05), Math.nextDown(25.05)};
+        for (double valor : empates) {
+            verificar(valor, 45);
+        }
+
+        Random aleatorio = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            double valor = switch (i % 3) {
+                case 0 -> 25 + aleatorio.nextInt(300_000) / 100.0;
+                case 1 -> 25 + aleatorio.nextDouble() * 300_000;
+                default -> 25 + aleatorio.nextInt(6_000_000) * 0.05;
+            };
+            verificar(valor, 21 + aleatorio.nextInt(100));
+        }
+    }
+
+    @Test
+    public void testSeparadorDaLocalidade() {
+        Locale original = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            for (Locale localidade : new Locale[]{Locale.US, Locale.GERMANY, Locale.forLanguageTag("pt-BR"),
+                    Locale.forLanguageTag("ar-EG"), Locale.forLanguageTag("hi-IN-u-nu-deva")}) {
+                Locale.setDefault(Locale.Category.FORMAT, localidade);
+                verificar(20000.25, 45);
+                verificar(1234.5, 45);
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, original);
+        }
+    }
+
+    @Test
+    public void testAnexarEmAppendable() throws Exception {
+        ResultadoClassificacao resultado = calculadora.classificar(20000.0, HOJE - 45, HOJE);
+        StringWriter escritor = new StringWriter();
+        resultado.anexarMensagem(escritor);
+        StringBuilder construtor = new StringBuilder("x");
+        resultado.anexarMensagem(construtor);
+
+        assertEquals(resultado.mensagem(), escritor.toString());
+        assertEquals("x" + resultado.mensagem(), construtor.toString());
+    }
+}
@@ -0,0 +1,134 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.example.ServidorHttp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Testes do serviço HTTP de classificação
+ */
+public class TestesServidorHttp {
+
+    private ServidorHttp servidor;
+    private HttpClient cliente;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        servidor = new ServidorHttp(new CalculadoraIdadeGestacional(), 0);
+        servidor.iniciar();
+        cliente = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cliente.close();
+        servidor.parar(0);
+    }
+
+    private String dataSemanasAtras(int semanas) {
+        return LocalDate.now().minusWeeks(semanas).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+    }
+
+    private HttpResponse<String> enviar(HttpRequest.Builder requisicao) throws Exception {
+        return cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String caminho) {
+        return URI.create("http://localhost:" + servidor.porta() + caminho);
+    }
+
+    @Test
+    public void testClassificacaoIndividual() throws Exception {
+        HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(
+                uri("/classificar?betaHcg=20000&dum=" + dataSemanasAtras(6))));
+
+        assertEquals(200, resposta.statusCode());
+        assertTrue(resposta.body().startsWith(
+                "{\"classificacao\":\"COMPATIVEL\",\"semanas\":6,\"minimo\":1080,\"maximo\":56500,\"mensagem\":"));
+        assertTrue(resposta.body().contains("compatível com a idade gestacional"));
+    }
+
+    @Test
+    public void testDataIso() throws Exception {
+        String dum = LocalDate.now().minusWeeks(5).toString();
+        HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(
+                uri("/classificar?betaHcg=50000&dum=" + dum)));
+
+        assertEquals(200, resposta.statusCode());
+        assertTrue(resposta.body().contains("\"ACIMA_DO_ESPERADO\""));
+    }
+
+    @Test
+    public void testParametrosInvalidos() throws Exception {
+        assertEquals(400, enviar(HttpRequest.newBuilder(uri("/classificar?dum=01/01/2024"))).statusCode());
+        assertEquals(400, enviar(HttpRequest.newBuilder(
+                uri("/classificar?betaHcg=abc&dum=01/01/2024"))).statusCode());
+        assertEquals(400, enviar(HttpRequest.newBuilder(
+                uri("/classificar?betaHcg=100&dum=31/02/2024"))).statusCode());
+    }
+
+    @Test
+    public void testLote() throws Exception {
+        String corpo = "20000;" + dataSemanasAtras(6) + "\n" +
+                "10;" + dataSemanasAtras(10) + "\n" +
+                "abc;" + dataSemanasAtras(6) + "\n" +
+                "100;\n";
+        HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(uri("/classificar/lote"))
+                .POST(HttpRequest.BodyPublishers.ofString(corpo)));
+
+        assertEquals(200, resposta.statusCode());
+        assertEquals("{\"resultados\":["
+                + "{\"classificacao\":\"COMPATIVEL\",\"semanas\":6,\"minimo\":1080,\"maximo\":56500},"
+                + "{\"classificacao\":\"NEGATIVO\",\"semanas\":10},"
+                + "{\"erro\":\"Valor de Beta hCG inválido\"},"
+                + "{\"classificacao\":\"DUM_NAO_INFORMADA\"}"
+                + "]}", resposta.body());
+    }
+
+    @Test
+    public void testMensagemApenasComParametroExato() throws Exception {
+        String corpo = "20000;" + dataSemanasAtras(6) + "\n";
+        for (String consulta : new String[]{"?semmensagem=true", "?mensagem=trueish", "?mensagem=false"}) {
+            HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(uri("/classificar/lote" + consulta))
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo)));
+            assertFalse(resposta.body().contains("\"mensagem\""), consulta);
+        }
+
+        HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(uri("/classificar/lote?perfil=&mensagem=true"))
+                .POST(HttpRequest.BodyPublishers.ofString(corpo)));
+        assertTrue(resposta.body().contains("\"mensagem\":\"Resultado positivo compatível"), resposta.body());
+    }
+
+    @Test
+    public void testLimiteDoLoteEmBytes() throws Exception {
+        // Menos caracteres que o limite, mas dois bytes por caractere em UTF-8
+        String corpo = "ç".repeat(ServidorHttp.TAMANHO_MAXIMO_LOTE / 2 + 1);
+        HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(uri("/classificar/lote"))
+                .POST(HttpRequest.BodyPublishers.ofString(corpo)));
+
+        assertEquals(413, resposta.statusCode());
+    }
+
+    @Test
+    public void testMetodoNaoPermitido() throws Exception {
+        assertEquals(405, enviar(HttpRequest.newBuilder(uri("/classificar/lote"))).statusCode());
+    }
+
+    @Test
+    public void testPerfilDesconhecido() throws Exception {
+        HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(
+                uri("/classificar?betaHcg=20000&perfil=labX&dum=" + dataSemanasAtras(6))));
+
+        assertEquals(400, resposta.statusCode());
+        assertTrue(resposta.body().contains("labX"));
+    }
+}
@@ -0,0 +1,115 @@
+import org.example.CalculadoraIdadeGestacional;
+import org.example.ServidorLinhas;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Testes do servidor NIO de protocolo de linhas
+ */
+public class TestesServidorLinhas {
+
+    private ServidorLinhas servidor;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        servidor = new ServidorLinhas(new CalculadoraIdadeGestacional(), 0, 2);
+        servidor.iniciar();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        servidor.close();
+    }
+
+    /**
+     * Envia todo o texto, encerra a escrita e devolve tudo o que o servidor respondeu até fechar
+     */
+    private String trocar(String requisicao) throws Exception {
+        try (Socket socket = new Socket("localhost", servidor.porta())) {
+            OutputStream saida = socket.getOutputStream();
+            CompletableFuture<Void> envio = CompletableFuture.runAsync(() -> {
+                try {
+                    saida.write(requisicao.getBytes(StandardCharsets.UTF_8));
+                    socket.shutdownOutput();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            InputStream entrada = socket.getInputStream();
+            ByteArrayOutputStream resposta = new ByteArrayOutputStream();
+            entrada.transferTo(resposta);
+            envio.join();
+            return resposta.toString(StandardCharsets.US_ASCII);
+        }
+    }
+
+    @Test
+    public void testLinhasEmPipeline() throws Exception {
+        String dum = LocalDate.now().minusWeeks(6).toString();
+        String requisicao = "20000;" + dum + "\n"
+                + "500,5;" + LocalDate.now().minusWeeks(6).format(java.time.format.DateTimeFormatter
+                .ofPattern("dd/MM/yyyy")) + "\r\n"
+                + "\n"
+                + "100;\n"
+                + "abc;" + dum + "\n"
+                + "20000;31/02/2024\n"
+                + "1".repeat(ServidorLinhas.TAMANHO_MAXIMO_LINHA * 3) + ";" + dum + "\n"
+                + "10;" + dum;
+
+        String resposta = trocar(requisicao);
+
+        assertEquals("COMPATIVEL;6;1080;56500\n"
+                + "ABAIXO_DO_ESPERADO;6;1080;56500\n"
+                + "DUM_NAO_INFORMADA;;;\n"
+                + "LINHA_INVALIDA;;;\n"
+                + "LINHA_INVALIDA;;;\n"
+                + "LINHA_INVALIDA;;;\n"
+                + "NEGATIVO;6;;\n", resposta);
+    }
+
+    @Test
+    public void testVolumeGrandeSemLeituraImediata() throws Exception {
+        String linha = "20000;" + LocalDate.now().minusWeeks(6) + "\n";
+        int linhas = 200_000;
+
+        // O cliente envia tudo antes de ler: o servidor precisa parar de ler enquanto a saída está cheia
+        String resposta = trocar(linha.repeat(linhas));
+
+        assertEquals(linhas, resposta.split("\n").length);
+        assertTrue(resposta.startsWith("COMPATIVEL;6;1080;56500\n"));
+        assertEquals(linhas, servidor.linhasProcessadas());
+    }
+
+    @Test
+    public void testConexoesOciosas() throws Exception {
+        List<Socket> ociosas = new ArrayList<>();
+        try {
+            for (int i = 0; i < 500; i++) {
+                ociosas.add(new Socket("localhost", servidor.porta()));
+            }
+            assertEquals("COMPATIVEL;6;1080;56500\n", trocar("20000;" + LocalDate.now().minusWeeks(6) + "\n"));
+            long limite = System.currentTimeMillis() + 5000;
+            while (servidor.conexoesAbertas() < 500 && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            assertEquals(500, servidor.conexoesAbertas());
+        } finally {
+            for (Socket socket : ociosas) {
+                socket.close();
+            }
+        }
+    }
+}
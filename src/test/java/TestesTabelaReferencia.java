@@ -0,0 +1,49 @@
+import org.example.TabelaReferencia;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da compilação das faixas de referência
+ */
+public class TestesTabelaReferencia {
+
+    @Test
+    public void testConsultaPorSemana() {
+        TabelaReferencia tabela = TabelaReferencia.compilar(new double[][]{
+                {6, 1080, 56500},
+                {5, 18, 7340}
+        });
+
+        assertEquals(5, tabela.semanaInicial());
+        assertEquals(6, tabela.semanaFinal());
+        assertEquals(18, tabela.minimo(5));
+        assertEquals(7340, tabela.maximo(5));
+        assertEquals(1080, tabela.minimo(6));
+        assertEquals(56500, tabela.maximo(6));
+    }
+
+    @Test
+    public void testSemanaSemFaixa() {
+        TabelaReferencia tabela = TabelaReferencia.compilar(new double[][]{
+                {3, 5, 50},
+                {5, 18, 7340}
+        });
+
+        assertTrue(tabela.possuiFaixa(3));
+        assertFalse(tabela.possuiFaixa(4));
+        assertFalse(tabela.possuiFaixa(2));
+        assertFalse(tabela.possuiFaixa(6));
+        assertFalse(tabela.possuiFaixa(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testFaixasInvalidas() {
+        assertThrows(IllegalArgumentException.class, () -> TabelaReferencia.compilar(new double[0][]));
+        assertThrows(IllegalArgumentException.class,
+                () -> TabelaReferencia.compilar(new double[][]{{5, 7340, 18}}));
+        assertThrows(IllegalArgumentException.class,
+                () -> TabelaReferencia.compilar(new double[][]{{5.5, 18, 7340}}));
+        assertThrows(IllegalArgumentException.class,
+                () -> TabelaReferencia.compilar(new double[][]{{5, 18, 7340}, {5, 20, 8000}}));
+    }
+}
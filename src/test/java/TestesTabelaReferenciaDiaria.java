@@ -0,0 +1,45 @@
+import org.example.TabelaReferencia;
+import org.example.TabelaReferenciaDiaria;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da interpolação diária das faixas de referência
+ */
+public class TestesTabelaReferenciaDiaria {
+
+    private final TabelaReferenciaDiaria tabela = TabelaReferenciaDiaria.interpolar(TabelaReferencia.compilar(
+            new double[][]{{5, 18, 7340}, {6, 1080, 56500}, {8, 7650, 229000}}));
+
+    @Test
+    public void testPrimeiroDiaDaSemanaUsaFaixaSemanal() {
+        assertEquals(35, tabela.diaInicial());
+        assertEquals(62, tabela.diaFinal());
+        assertEquals(18, tabela.minimo(35));
+        assertEquals(7340, tabela.maximo(35));
+        assertEquals(1080, tabela.minimo(42));
+        assertEquals(56500, tabela.maximo(42));
+    }
+
+    @Test
+    public void testInterpolacaoLogaritmica() {
+        // Dia 38, 3 dias depois do início da semana 5: 3/7 do caminho entre os logaritmos das semanas 5 e 6
+        double minimo = tabela.minimo(38);
+        assertTrue(minimo > 18 && minimo < 1080);
+        assertEquals(18 * Math.pow(1080.0 / 18, 3 / 7.0), minimo, 1e-9);
+        for (int dia = 35; dia < 41; dia++) {
+            assertTrue(tabela.minimo(dia) < tabela.minimo(dia + 1));
+            assertTrue(tabela.maximo(dia) < tabela.maximo(dia + 1));
+        }
+    }
+
+    @Test
+    public void testSemanaSeguinteSemFaixaRepeteFaixa() {
+        assertEquals(1080, tabela.minimo(48));
+        assertEquals(56500, tabela.maximo(48));
+        assertFalse(tabela.possuiFaixa(49));
+        assertTrue(tabela.possuiFaixa(62));
+        assertEquals(229000, tabela.maximo(62));
+        assertFalse(tabela.possuiFaixa(63));
+    }
+}